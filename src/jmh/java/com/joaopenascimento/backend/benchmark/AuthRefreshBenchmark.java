@@ -0,0 +1,73 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.joaopenascimento.backend.BackendApplication;
+import com.joaopenascimento.backend.controllers.AuthController;
+import com.joaopenascimento.backend.dto.auth.LoginDTO;
+import com.joaopenascimento.backend.dto.auth.RefreshTokenDTO;
+import com.joaopenascimento.backend.dto.auth.TokenDTO;
+
+/**
+ * Custo de uma renovação por login (BCrypt + JWT + refresh token) contra uma por refresh token (select, update,
+ * insert + JWT), chamando o AuthController com a aplicação inteira sobre o H2 do perfil {@code embedded}.
+ * Com 5 mil clientes ativos, o access token de 2 minutos exigia 150 mil logins por hora; com access token de
+ * 15 minutos e refresh, são 20 mil refreshes por hora e um login por cliente a cada 14 dias. A CPU por hora
+ * sai de multiplicar essas contagens pelo tempo médio de cada operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 15, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthRefreshBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AuthController authController;
+    private LoginDTO credentials;
+    private String refreshToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("embedded")
+                .properties("server.port=0")
+                .run();
+        authController = context.getBean(AuthController.class);
+        credentials = new LoginDTO("corretor@imobiliaria.com", "123456");
+        refreshToken = authController.login(credentials).getBody().refreshToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TokenDTO login() {
+        return authController.login(credentials).getBody();
+    }
+
+    @Benchmark
+    public TokenDTO refresh() {
+        TokenDTO tokens = authController.refresh(new RefreshTokenDTO(refreshToken)).getBody();
+        refreshToken = tokens.refreshToken();
+        return tokens;
+    }
+}
@@ -0,0 +1,141 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+import com.joaopenascimento.backend.search.CatalogPage;
+import com.joaopenascimento.backend.search.PropertyCatalogRow;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compara o snapshot colunar com a varredura + ordenação que o banco faz quando nenhum índice cobre a combinação
+ * de filtros, sobre 1M de imóveis. 2% das linhas ficam no delta para medir a intercalação com a base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PropertyCatalogBenchmark {
+
+    private static final PropertyType[] TYPES = PropertyType.values();
+
+    @Param({"1000000"})
+    private int listings;
+
+    @Param({"latest", "casaPriceBedrooms", "terrenoByArea", "deepPage"})
+    private String query;
+
+    private PropertyCatalogSnapshot catalog;
+    private List<PropertyCatalogRow> rows;
+    private PropertyFilter filter;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rows = new ArrayList<>(listings);
+        for (int i = 0; i < listings; i++) {
+            rows.add(new PropertyCatalogRow((long) i + 1,
+                    50_000.0 + random.nextInt(3_000_000),
+                    30 + random.nextInt(600),
+                    random.nextInt(6),
+                    TYPES[random.nextInt(TYPES.length)]));
+        }
+
+        List<PropertyCatalogRow> loaded = rows.subList(0, listings - listings / 50);
+        PropertyRepository repository = mock(PropertyRepository.class);
+        when(repository.findCatalogChunk(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            int from = (int) Math.min(invocation.<Long>getArgument(0), loaded.size());
+            int size = invocation.<Pageable>getArgument(1).getPageSize();
+            return loaded.subList(from, Math.min(from + size, loaded.size()));
+        });
+
+        catalog = new PropertyCatalogSnapshot(repository, false);
+        catalog.rebuild();
+        for (PropertyCatalogRow row : rows.subList(listings - listings / 50, listings)) {
+            catalog.upsert(row);
+        }
+
+        switch (query) {
+            case "latest" -> {
+                filter = PropertyFilter.of(null, null, null, null, null, null);
+                pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+            }
+            case "casaPriceBedrooms" -> {
+                filter = PropertyFilter.of(null, PropertyType.CASA, 300_000.0, 600_000.0, 3, null);
+                pageable = PageRequest.of(0, 20, Sort.by("value"));
+            }
+            case "terrenoByArea" -> {
+                filter = PropertyFilter.of(null, PropertyType.TERRENO, null, null, null, null);
+                pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "area"));
+            }
+            default -> {
+                filter = PropertyFilter.of(null, PropertyType.APARTAMENTO, null, 1_000_000.0, 2, null);
+                pageable = PageRequest.of(250, 20, Sort.by("value"));
+            }
+        }
+    }
+
+    @Benchmark
+    public CatalogPage columnarSnapshot() {
+        return catalog.query(filter, null, pageable);
+    }
+
+    @Benchmark
+    public List<Long> scanAndSort() {
+        Sort.Order order = pageable.getSort().iterator().next();
+        Comparator<PropertyCatalogRow> comparator = switch (order.getProperty()) {
+            case "value" -> Comparator.comparingDouble(PropertyCatalogRow::value);
+            case "area" -> Comparator.comparingInt(PropertyCatalogRow::area);
+            default -> Comparator.comparingLong(PropertyCatalogRow::id);
+        };
+        comparator = comparator.thenComparingLong(PropertyCatalogRow::id);
+        if (order.isDescending()) {
+            comparator = comparator.reversed();
+        }
+
+        List<PropertyCatalogRow> matches = new ArrayList<>();
+        for (PropertyCatalogRow row : rows) {
+            if ((filter.type() == null || row.type() == filter.type())
+                    && (filter.minPrice() == null || row.value() >= filter.minPrice())
+                    && (filter.maxPrice() == null || row.value() <= filter.maxPrice())
+                    && (filter.minBedrooms() == null || row.bedrooms() >= filter.minBedrooms())) {
+                matches.add(row);
+            }
+        }
+        matches.sort(comparator);
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return matches.subList(from, to).stream().map(PropertyCatalogRow::id).toList();
+    }
+}
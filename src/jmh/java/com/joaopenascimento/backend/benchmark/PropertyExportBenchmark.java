@@ -0,0 +1,92 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.joaopenascimento.backend.BackendApplication;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.services.PropertyExportService;
+
+/**
+ * Export completo do catálogo para um stream que descarta os bytes, com a aplicação inteira sobre o H2 do perfil
+ * {@code embedded}. Rodar com {@code -prof gc}: a alocação por export cresce com o catálogo, mas o heap vivo não,
+ * já que cada bloco é desanexado e o heap do fork é pequeno de propósito.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx768m")
+public class PropertyExportBenchmark {
+
+    private static final PropertyType[] TYPES = PropertyType.values();
+
+    @Param({"200000"})
+    private int listings;
+
+    private ConfigurableApplicationContext context;
+    private PropertyExportService exportService;
+    private PropertyFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("embedded")
+                .web(WebApplicationType.NONE)
+                .run();
+        exportService = context.getBean(PropertyExportService.class);
+        filter = PropertyFilter.of(null, null, null, null, null, null);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long brokerId = jdbcTemplate.queryForObject(
+                "select id from tb_users where email = 'corretor@imobiliaria.com'", Long.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < listings; i++) {
+            rows.add(new Object[]{1_000_000L + i, "Imóvel exportado " + i, "Descrição do imóvel " + i,
+                    TYPES[random.nextInt(TYPES.length)].name(), 50_000.0 + random.nextInt(3_000_000),
+                    30 + random.nextInt(600), 1 + random.nextInt(5), "Rua " + i, "Recife", "PE",
+                    "https://img.com/" + i + ".jpg", brokerId});
+            if (rows.size() == 5000 || i == listings - 1) {
+                jdbcTemplate.batchUpdate("insert into tb_properties (id, name, description, type, value, area, bedrooms,"
+                        + " address, city, state, property_images, broker_id, active) values (?,?,?,?,?,?,?,?,?,?,?,?,true)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long exportAll() throws IOException {
+        return exportService.export(filter, OutputStream.nullOutputStream());
+    }
+}
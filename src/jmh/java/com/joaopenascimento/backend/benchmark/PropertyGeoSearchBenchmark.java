@@ -0,0 +1,105 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.joaopenascimento.backend.dto.property.GeoArea;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+
+/**
+ * Compara a grade do {@link PropertyGeoIndex} com a varredura de todos os pontos (o seq scan sem índice)
+ * sobre 1M de imóveis: 70% concentrados em capitais e o restante espalhado pelo país.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PropertyGeoSearchBenchmark {
+
+    private static final double[][] CITIES = {
+            {-8.05, -34.88}, {-23.55, -46.63}, {-22.91, -43.17}, {-19.92, -43.94}, {-12.97, -38.50},
+            {-3.73, -38.52}, {-15.79, -47.88}, {-30.03, -51.23}, {-25.43, -49.27}, {-1.46, -48.50},
+            {-3.12, -60.02}, {-16.68, -49.25}, {-2.53, -44.30}, {-9.67, -35.74}, {-5.79, -35.21},
+            {-7.12, -34.86}, {-10.91, -37.07}, {-27.60, -48.55}, {-20.32, -40.34}, {-5.09, -42.80}
+    };
+
+    @Param({"1000000"})
+    private int listings;
+
+    @Param({"radius2km", "radius10km", "radius50km", "box"})
+    private String query;
+
+    private PropertyGeoIndex index;
+    private double[] latitudes;
+    private double[] longitudes;
+    private GeoArea area;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new PropertyGeoIndex(null, 0.05, Integer.MAX_VALUE);
+        latitudes = new double[listings];
+        longitudes = new double[listings];
+
+        for (int i = 0; i < listings; i++) {
+            double lat;
+            double lon;
+            if (random.nextInt(10) < 7) {
+                double[] city = CITIES[random.nextInt(CITIES.length)];
+                lat = city[0] + gaussian(random) * 0.15;
+                lon = city[1] + gaussian(random) * 0.15;
+            } else {
+                lat = -33.0 + random.nextDouble() * 38.0;
+                lon = -73.0 + random.nextDouble() * 38.0;
+            }
+            latitudes[i] = lat;
+            longitudes[i] = lon;
+            index.put((long) i + 1, lat, lon);
+        }
+
+        area = switch (query) {
+            case "radius2km" -> GeoArea.radius(-8.06, -34.87, 2);
+            case "radius10km" -> GeoArea.radius(-8.06, -34.87, 10);
+            case "radius50km" -> GeoArea.radius(-8.06, -34.87, 50);
+            default -> GeoArea.box(-8.20, -35.00, -7.95, -34.80);
+        };
+    }
+
+    @Benchmark
+    public List<Long> gridIndex() {
+        return index.search(area);
+    }
+
+    @Benchmark
+    public List<Long> linearScan() {
+        double scale = area.isRadius() ? area.longitudeScale() : 1.0;
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < latitudes.length; i++) {
+            if (area.contains(latitudes[i], longitudes[i], scale)) {
+                result.add((long) i + 1);
+            }
+        }
+        return result;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2.0 * Math.log(1.0 - random.nextDouble())) * Math.cos(2.0 * Math.PI * random.nextDouble());
+    }
+}
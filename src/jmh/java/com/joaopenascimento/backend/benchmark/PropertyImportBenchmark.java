@@ -0,0 +1,122 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaopenascimento.backend.BackendApplication;
+import com.joaopenascimento.backend.dto.property.PropertyCreateDTO;
+import com.joaopenascimento.backend.dto.property.PropertyImportResultDTO;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.services.PropertyImportService;
+import com.joaopenascimento.backend.services.PropertyService;
+
+/**
+ * Vazão em linhas/s do import em lote contra um {@code POST /api/property} por linha, com a aplicação inteira
+ * (índices, snapshot e cache escutando os eventos) sobre o H2 do perfil {@code embedded}.
+ * O H2 em memória não tem ida e volta de rede, então o ganho no Postgres tende a ser maior que o medido aqui.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PropertyImportBenchmark {
+
+    private static final int ROWS = 2000;
+    private static final PropertyType[] TYPES = PropertyType.values();
+
+    private ConfigurableApplicationContext context;
+    private PropertyImportService importService;
+    private PropertyService propertyService;
+    private List<PropertyCreateDTO> rows;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("embedded")
+                .web(WebApplicationType.NONE)
+                .run();
+        importService = context.getBean(PropertyImportService.class);
+        propertyService = context.getBean(PropertyService.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        rows = new ArrayList<>(ROWS);
+        StringBuilder body = new StringBuilder();
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        for (int i = 0; i < ROWS; i++) {
+            PropertyCreateDTO dto = new PropertyCreateDTO(
+                    "Imóvel importado " + i,
+                    "Descrição do imóvel importado número " + i,
+                    TYPES[random.nextInt(TYPES.length)],
+                    50_000.0 + random.nextInt(3_000_000),
+                    30 + random.nextInt(600),
+                    1 + random.nextInt(5),
+                    "Rua " + i,
+                    "Recife",
+                    "PE",
+                    -8.0 - random.nextDouble(),
+                    -34.8 - random.nextDouble(),
+                    "https://img.com/" + i + ".jpg");
+            rows.add(dto);
+            body.append(objectMapper.writeValueAsString(dto)).append('\n');
+        }
+        ndjson = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public PropertyImportResultDTO batchedImport() {
+        authenticate();
+        return importService.importProperties(new ByteArrayInputStream(ndjson), MediaType.APPLICATION_NDJSON);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int createPerRow() {
+        authenticate();
+        int created = 0;
+        for (PropertyCreateDTO dto : rows) {
+            propertyService.create(dto);
+            created++;
+        }
+        return created;
+    }
+
+    // Corretor do DataSeeder; o SecurityContext é por thread
+    private static void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("corretor@imobiliaria.com", null));
+    }
+}
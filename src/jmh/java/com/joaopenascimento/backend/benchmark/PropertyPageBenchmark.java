@@ -0,0 +1,132 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaopenascimento.backend.BackendApplication;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import com.joaopenascimento.backend.services.PropertyService;
+
+/**
+ * As etapas de um {@code GET /api/property}, separadas, com a aplicação inteira sobre o H2 do perfil
+ * {@code embedded}: a busca pelo caminho da Specification (texto no índice, {@code id in} e filtros no banco),
+ * o mapeamento das entidades para {@link PropertyDTO} e a serialização da {@code Page} pelo ObjectMapper
+ * do Spring. O cache de consultas fica desligado para toda busca chegar ao banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class PropertyPageBenchmark {
+
+    private static final PropertyType[] TYPES = PropertyType.values();
+
+    private static final String[] NAMES = {"Casa com piscina", "Apartamento vista mar", "Terreno em condomínio",
+            "Sala comercial no centro"};
+
+    @Param({"10000"})
+    private int listings;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private PropertyService propertyService;
+    private ObjectMapper objectMapper;
+    private Pageable pageable;
+    private List<Property> entities;
+    private Page<PropertyDTO> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("embedded")
+                .web(WebApplicationType.NONE)
+                .run("--api.cache.property-query.enabled=false");
+        propertyService = context.getBean(PropertyService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        pageable = PageRequest.of(0, pageSize);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long brokerId = jdbcTemplate.queryForObject(
+                "select id from tb_users where email = 'corretor@imobiliaria.com'", Long.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < listings; i++) {
+            rows.add(new Object[]{1_000_000L + i, NAMES[i % NAMES.length] + " " + i, "Descrição do imóvel " + i,
+                    TYPES[random.nextInt(TYPES.length)].name(), 50_000.0 + random.nextInt(3_000_000),
+                    30 + random.nextInt(600), 1 + random.nextInt(5), "Rua " + i, "Recife", "PE",
+                    "https://img.com/" + i + ".jpg", brokerId});
+            if (rows.size() == 5000 || i == listings - 1) {
+                jdbcTemplate.batchUpdate("insert into tb_properties (id, name, description, type, value, area, bedrooms,"
+                        + " address, city, state, property_images, broker_id, active) values (?,?,?,?,?,?,?,?,?,?,?,?,true)", rows);
+                rows.clear();
+            }
+        }
+
+        // As linhas entraram por fora do serviço: os índices e o snapshot precisam ser refeitos
+        context.getBean(PropertyTextIndex.class).rebuild();
+        context.getBean(PropertyGeoIndex.class).rebuild();
+        context.getBean(PropertyCatalogSnapshot.class).rebuild();
+
+        List<Long> ids = LongStream.range(1_000_000L, 1_000_000L + pageSize).boxed().toList();
+        entities = context.getBean(PropertyRepository.class).findWithBrokerByIdIn(ids);
+        page = mapPage();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<PropertyDTO> findAllSpecification() {
+        return propertyService.findAll("piscina", null, 100_000.0, null, null, null, pageable);
+    }
+
+    @Benchmark
+    public Page<PropertyDTO> mapPage() {
+        return new PageImpl<>(entities, pageable, listings).map(PropertyDTO::new);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
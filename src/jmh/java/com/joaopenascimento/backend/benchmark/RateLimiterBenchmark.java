@@ -0,0 +1,55 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.joaopenascimento.backend.config.RateLimiter;
+
+/**
+ * Checagens de limite por segundo com 8 threads. Com {@code keys = 1} todas disputam o CAS do mesmo bucket;
+ * com mais chaves o custo é o do lookup no cache, como com muitos usuários e IPs distintos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000", "100000"})
+    private int keys;
+
+    private RateLimiter limiter;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new RateLimiter(100, 20, 100_000, Ticker.systemTicker());
+        ids = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            ids[i] = "u:" + i;
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return limiter.tryAcquire(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+}
@@ -0,0 +1,96 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.FilterChainProxy;
+
+import com.joaopenascimento.backend.BackendApplication;
+import com.joaopenascimento.backend.config.SecurityFilter;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.services.TokenService;
+import com.joaopenascimento.backend.services.UserService;
+
+import jakarta.servlet.ServletException;
+
+/**
+ * Custo de autenticar uma requisição, sem o controller: {@code securityFilter} é só o SecurityFilter
+ * (JWT, cache de tokens verificados e filtro de revogações) e {@code filterChain} a cadeia inteira do Spring
+ * Security, com log de requisições, limite de taxa e autorização, até um {@code GET /api/property/{id}}.
+ * {@code token = none} mede a requisição anônima, recusada na autorização.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    @Param({"valid", "none"})
+    private String token;
+
+    private ConfigurableApplicationContext context;
+    private SecurityFilter securityFilter;
+    private FilterChainProxy filterChainProxy;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("embedded")
+                .run("--server.port=0", "--api.rate-limit.enabled=false", "--api.request-log.sample-rate=0");
+        securityFilter = context.getBean(SecurityFilter.class);
+        filterChainProxy = context.getBean(FilterChainProxy.class);
+
+        User user = context.getBean(UserService.class).findByEmail("corretor@imobiliaria.com");
+        authorization = "valid".equals(token) ? "Bearer " + context.getBean(TokenService.class).generateToken(user) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse securityFilter() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityFilter.doFilter(request(), response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterChain() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChainProxy.doFilter(request(), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/property/1");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,89 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+import com.joaopenascimento.backend.services.TokenService;
+
+/**
+ * Vazão de emissão e verificação de JWT com 8 threads, como no SecurityFilter sob carga.
+ * {@code verifyPerCall} reproduz o validateToken antigo (algoritmo e verificador novos a cada chamada),
+ * {@code verifySingleton} só o verificador único, como numa falta de cache, e {@code verifyCached} o
+ * validateToken atual com o mesmo token chegando repetidas vezes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "meuSegredoSuperSecreto123";
+
+    private TokenService tokenService;
+    private JWTVerifier verifier;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenService = new TokenService(SECRET, Duration.ofMinutes(15), 10_000);
+        verifier = JWT.require(Algorithm.HMAC256(SECRET))
+                .withIssuer("imobiliaria-api")
+                .withClaimPresence("id")
+                .withClaimPresence("role")
+                .build();
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("corretor@imobiliaria.com");
+        user.setRole(UserRole.CORRETOR);
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String verifyPerCall() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer("imobiliaria-api")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String verifySingleton() {
+        return verifier.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyCached() {
+        return tokenService.validateToken(token);
+    }
+}
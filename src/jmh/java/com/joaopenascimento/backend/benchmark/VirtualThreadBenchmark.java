@@ -0,0 +1,184 @@
+package com.joaopenascimento.backend.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.HdrHistogram.Histogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaopenascimento.backend.BackendApplication;
+import com.joaopenascimento.backend.dto.auth.TokenDTO;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+
+/**
+ * {@code GET /api/property/{id}} por HTTP com {@value #CONCURRENCY} clientes simultâneos, com o Tomcat em threads de
+ * plataforma (200 no máximo) e em threads virtuais. O H2 em memória não bloqueia, então cada statement espera
+ * {@value #STATEMENT_LATENCY_MS} ms antes de executar, como a ida e volta até o Postgres; a rota faz dois.
+ * A vazão sai do JMH, em requisições por segundo; os percentis de cada requisição, fila incluída, saem de um
+ * HdrHistogram impresso no fim de cada iteração, com as respostas que não foram 200. O pool do Hikari fica em 50 nos dois modos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int CONCURRENCY = 400;
+
+    private static final long STATEMENT_LATENCY_MS = 5;
+
+    @Param({"false", "true"})
+    private boolean virtual;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private ExecutorService clients;
+    private HttpRequest request;
+    private Histogram latencies;
+    private final AtomicInteger errors = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("embedded")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new StatementLatency()))
+                // Argumentos e não properties(): estas são padrões e perderiam para o application.properties
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--server.tomcat.accept-count=" + CONCURRENCY,
+                        "--spring.datasource.hikari.maximum-pool-size=50",
+                        "--spring.datasource.hikari.minimum-idle=50",
+                        "--api.rate-limit.enabled=false",
+                        "--api.request-log.sample-rate=0");
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        Long id = context.getBean(PropertyRepository.class).findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build();
+
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"corretor@imobiliaria.com\",\"password\":\"123456\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String token = objectMapper.readValue(login.body(), TokenDTO.class).token();
+
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/property/" + id))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        latencies = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLatencies() {
+        latencies.reset();
+        errors.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatencies() {
+        System.out.printf("  virtual=%s p50=%.1f ms p99=%.1f ms p99.9=%.1f ms max=%.1f ms erros=%d%n", virtual,
+                latencies.getValueAtPercentile(50) / 1e6, latencies.getValueAtPercentile(99) / 1e6,
+                latencies.getValueAtPercentile(99.9) / 1e6, latencies.getMaxValue() / 1e6, errors.get());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.close();
+        context.close();
+    }
+
+    // Uma rajada com todos os clientes ao mesmo tempo; cada requisição conta como uma operação
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public int burst() throws Exception {
+        List<Future<Long>> pending = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            pending.add(clients.submit(() -> {
+                long start = System.nanoTime();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                // 503 é o pool esgotado até o connection-timeout: conta como erro, mas a latência entra
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                }
+                return System.nanoTime() - start;
+            }));
+        }
+
+        for (Future<Long> latency : pending) {
+            latencies.recordValue(latency.get());
+        }
+        return pending.size();
+    }
+
+    // Espera antes de cada execução de statement, como a latência de rede até o banco
+    private static final class StatementLatency implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    Thread.sleep(STATEMENT_LATENCY_MS);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return switch (result) {
+                    case CallableStatement statement -> proxy(CallableStatement.class, statement);
+                    case PreparedStatement statement -> proxy(PreparedStatement.class, statement);
+                    case Statement statement -> proxy(Statement.class, statement);
+                    case Connection connection -> proxy(Connection.class, connection);
+                    case null, default -> result;
+                };
+            });
+        }
+    }
+}
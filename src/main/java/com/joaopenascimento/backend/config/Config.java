@@ -1,15 +1,52 @@
 package com.joaopenascimento.backend.config;
 
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Configuration
 public class Config {
 
+    /**
+     * Os hashes gravados levam o prefixo do algoritmo ({@code {bcrypt}}); os antigos, sem prefixo, são BCrypt.
+     * Um hash em outro algoritmo ou com custo menor que o atual é refeito no próximo login que acertar a senha.
+     * Threads = 0 usa um por núcleo. A força do BCrypt fica fixa no custo 10 de sempre; 0 liga a calibração pela
+     * latência alvo na subida, que nunca desce do mínimo e, acima dele, encarece todo login e o rehash de cada senha.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.password.threads:0}") int threads,
+                                           @Value("${api.security.password.queue-capacity:32}") int queueCapacity,
+                                           @Value("${api.security.password.retry-after:1s}") Duration retryAfter,
+                                           @Value("${api.security.password.encoding-id:bcrypt}") String encodingId,
+                                           @Value("${api.security.password.bcrypt.strength:10}") int bcryptStrength,
+                                           @Value("${api.security.password.bcrypt.target-latency:75ms}") Duration targetLatency,
+                                           @Value("${api.security.password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${api.security.password.bcrypt.max-strength:16}") int maxStrength,
+                                           MeterRegistry meterRegistry){
+        int strength = bcryptStrength;
+        if (strength == 0) {
+            strength = PasswordHashCalibration.bcryptStrength(targetLatency, minStrength, maxStrength);
+            log.info("Custo do BCrypt calibrado para {} (alvo de {} ms por hash)", strength, targetLatency.toMillis());
+        }
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, retryAfter, meterRegistry);
     }
 }
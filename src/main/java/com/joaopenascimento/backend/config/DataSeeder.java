@@ -71,6 +71,8 @@ public class DataSeeder implements CommandLineRunner {
         prop1.setAddress("Av. Boa Viagem, 1000");
         prop1.setCity("Recife");
         prop1.setState("PE");
+        prop1.setLatitude(-8.1196);
+        prop1.setLongitude(-34.9005);
         prop1.setActive(true);
         prop1.setBroker(corretor);
         prop1.setImageUrls(
@@ -88,6 +90,8 @@ public class DataSeeder implements CommandLineRunner {
         prop2.setAddress("Praça de Casa Forte");
         prop2.setCity("Recife");
         prop2.setState("PE");
+        prop2.setLatitude(-8.0339);
+        prop2.setLongitude(-34.9197);
         prop2.setActive(true);
         prop2.setBroker(corretor);
         prop2.setImageUrls(
@@ -105,6 +109,8 @@ public class DataSeeder implements CommandLineRunner {
         prop3.setAddress("BR 232, Km 10");
         prop3.setCity("Gravatá");
         prop3.setState("PE");
+        prop3.setLatitude(-8.2010);
+        prop3.setLongitude(-35.5650);
         prop3.setActive(true);
         prop3.setBroker(corretor);
         prop3.setImageUrls(
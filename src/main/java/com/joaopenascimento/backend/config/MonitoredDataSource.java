@@ -0,0 +1,90 @@
+package com.joaopenascimento.backend.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Envolve o pool de conexões para medir cada execução de comando, venha do Hibernate, do JdbcTemplate ou do
+ * Flyway: a execução entra no {@link SqlStatementCounter} da requisição e, se for lenta, vai ao
+ * {@link SlowQueryLog}. Um lote ({@code executeBatch}) conta como um comando. O {@code unwrap} continua
+ * chegando ao pool, então as métricas do Hikari enxergam o HikariDataSource de baixo.
+ */
+public class MonitoredDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Class<?>[] CONNECTION = {Connection.class};
+
+    private final SlowQueryLog slowQueryLog;
+
+    public MonitoredDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitor(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitor(super.getConnection(username, password));
+    }
+
+    // O bean do contexto passa a ser este; sem repassar o close, o pool de baixo não fecharia no desligamento
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection monitor(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), CONNECTION, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        });
+    }
+
+    // sql é o do prepare; num Statement simples vem como argumento de cada execute
+    private Statement statement(Class<? extends Statement> type, Statement statement, String sql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                String executed = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : "batch";
+                SqlStatementCounter.record(executed);
+                slowQueryLog.record(executed, System.nanoTime() - start);
+            }
+        };
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.joaopenascimento.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Escolhe o custo do BCrypt pela latência desta máquina: mede um custo baixo e extrapola, já que cada ponto de
+ * custo dobra o trabalho. Fica com o maior custo que não passa do alvo, dentro dos limites configurados.
+ */
+final class PasswordHashCalibration {
+
+    private static final int PROBE_STRENGTH = 8;
+
+    private static final int SAMPLES = 5;
+
+    private static final String PROBE_PASSWORD = "calibracao-do-hash";
+
+    private PasswordHashCalibration() {
+    }
+
+    static int bcryptStrength(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        String hash = probe.encode(PROBE_PASSWORD);
+
+        // O menor tempo é o que menos sofre com GC e JIT durante a subida
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.matches(PROBE_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        return strengthFor(target, Duration.ofNanos(best), PROBE_STRENGTH, minStrength, maxStrength);
+    }
+
+    static int strengthFor(Duration target, Duration probe, int probeStrength, int minStrength, int maxStrength) {
+        double doublings = Math.log((double) target.toNanos() / Math.max(1, probe.toNanos())) / Math.log(2);
+        int strength = probeStrength + (int) Math.floor(doublings);
+        return Math.max(minStrength, Math.min(maxStrength, strength));
+    }
+}
@@ -0,0 +1,34 @@
+package com.joaopenascimento.backend.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Fixa no primário as transações somente leitura abertas pela thread dentro de {@link #call}. Serve às leituras
+ * pequenas que não podem ver o passado: a confirmação de uma revogação, a versão do catálogo por trás do ETag e
+ * os imóveis que o snapshot do catálogo já tem e a réplica ainda não. Sem réplicas não muda nada.
+ * Só vale para conexões pegas dentro do bloco; uma transação já aberta segue onde está.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        if (PINNED.get() != null) {
+            return reads.get();
+        }
+
+        PINNED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    public static boolean pinned() {
+        return PINNED.get() != null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.joaopenascimento.backend.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Orçamento de comandos SQL por rota. Cada entrada de {@code api.sql.budget.routes} é
+ * {@code MÉTODO padrão=máximo}, como {@code GET /api/property/{id}=3}; rotas sem entrada usam
+ * {@code api.sql.budget.default} e máximo 0 desliga o limite da rota. Requisição acima do orçamento soma em
+ * {@code sql.budget.exceeded} e, na fração {@code sample-rate}, vai ao logger {@code sql.budget} com o
+ * comando que mais se repetiu, que num N+1 é o que roda uma vez por linha.
+ */
+@Component
+public class QueryBudgetGuard {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.budget");
+
+    private final int defaultBudget;
+
+    private final Map<String, Integer> budgets = new HashMap<>();
+
+    private final double sampleRate;
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetGuard(@Value("${api.sql.budget.default:20}") int defaultBudget,
+                            @Value("${api.sql.budget.routes:}") String[] routes,
+                            @Value("${api.sql.budget.sample-rate:0.1}") double sampleRate,
+                            MeterRegistry meterRegistry) {
+        this.defaultBudget = defaultBudget;
+        this.sampleRate = sampleRate;
+        this.meterRegistry = meterRegistry;
+
+        for (String route : routes) {
+            if (route.isBlank()) {
+                continue;
+            }
+            int separator = route.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Orçamento de SQL sem '=máximo': " + route);
+            }
+            budgets.put(route.substring(0, separator).trim(), Integer.parseInt(route.substring(separator + 1).trim()));
+        }
+    }
+
+    public int budget(String method, String route) {
+        return budgets.getOrDefault(method + " " + route, defaultBudget);
+    }
+
+    /**
+     * Retorna {@code false} quando a requisição passou do orçamento da rota.
+     */
+    public boolean check(String method, String route, SqlStatementCounter.Statements statements) {
+        int budget = budget(method, route);
+        if (budget <= 0 || statements.total() <= budget) {
+            return true;
+        }
+
+        Counter.builder("sql.budget.exceeded")
+                .description("Requisições acima do orçamento de comandos SQL da rota")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .increment();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+
+        SqlStatementCounter.Repeated repeated = statements.mostRepeated();
+        log.warn("method={} route={} statements={} budget={} repeated={} sql={}", method, route, statements.total(),
+                budget, repeated != null ? repeated.count() : 0, repeated != null ? repeated.sql() : null);
+        return false;
+    }
+}
@@ -0,0 +1,250 @@
+package com.joaopenascimento.backend.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.joaopenascimento.backend.exception.StandardError;
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita as requisições da API por usuário autenticado ou, sem token, por IP. Roda depois do SecurityFilter,
+ * então o usuário já vem das claims do JWT e o excesso é recusado antes de qualquer consulta ao banco.
+ * Cada grupo de rotas tem seu próprio limite: login e cadastro (sempre por IP), renovação (pelo refresh token),
+ * leitura do catálogo e o resto da API, onde também caem o logout e o teto por IP da renovação.
+ * <p>
+ * O IP é o {@code getRemoteAddr}: atrás de proxy ou balanceador ele só é o do cliente com
+ * {@code server.forward-headers-strategy} ligado, que aceita o X-Forwarded-For apenas dos proxies confiáveis
+ * ({@code server.tomcat.remoteip.internal-proxies}). Sem isso todos os clientes dividiriam o balde do proxy.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REFRESH_PATH = "/api/auth/refresh";
+
+    // Um refresh token cabe com folga; um corpo maior só não serve de chave
+    private static final int MAX_REFRESH_BODY = 4096;
+
+    private final boolean enabled;
+
+    private final Group auth;
+
+    private final Group refresh;
+
+    private final Group catalog;
+
+    private final Group api;
+
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(@Value("${api.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${api.rate-limit.max-buckets:100000}") long maxBuckets,
+                           @Value("${api.rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${api.rate-limit.auth.per-second:1}") double authPerSecond,
+                           @Value("${api.rate-limit.refresh.capacity:5}") int refreshCapacity,
+                           @Value("${api.rate-limit.refresh.per-second:0.1}") double refreshPerSecond,
+                           @Value("${api.rate-limit.catalog.capacity:100}") int catalogCapacity,
+                           @Value("${api.rate-limit.catalog.per-second:20}") double catalogPerSecond,
+                           @Value("${api.rate-limit.api.capacity:60}") int apiCapacity,
+                           @Value("${api.rate-limit.api.per-second:10}") double apiPerSecond,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.auth = new Group("auth", new RateLimiter(authCapacity, authPerSecond, maxBuckets, Ticker.systemTicker()), meterRegistry);
+        this.refresh = new Group("refresh", new RateLimiter(refreshCapacity, refreshPerSecond, maxBuckets, Ticker.systemTicker()), meterRegistry);
+        this.catalog = new Group("catalog", new RateLimiter(catalogCapacity, catalogPerSecond, maxBuckets, Ticker.systemTicker()), meterRegistry);
+        this.api = new Group("api", new RateLimiter(apiCapacity, apiPerSecond, maxBuckets, Ticker.systemTicker()), meterRegistry);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI();
+        boolean get = HttpMethod.GET.matches(request.getMethod());
+
+        if (path.equals(REFRESH_PATH)) {
+            // O corpo é lido aqui para virar chave, então segue adiante numa cópia
+            CachedBodyRequest cached = new CachedBodyRequest(request);
+            String token = refreshToken(cached.prefix);
+            if ((token == null || acquire(refresh, "rt:" + digest(token), path, response))
+                    && acquire(api, "ip:" + request.getRemoteAddr(), path, response)) {
+                filterChain.doFilter(cached, response);
+            }
+            return;
+        }
+
+        Group group;
+        String key;
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")) {
+            // Ainda não há usuário; um token válido também não deve liberar tentativas extras
+            group = auth;
+            key = request.getRemoteAddr();
+        } else {
+            group = get && path.startsWith("/api/property") ? catalog : api;
+            key = clientKey(request);
+        }
+
+        if (acquire(group, key, path, response)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    // false quando a requisição foi recusada e a resposta 429 já está escrita
+    private boolean acquire(Group group, String key, String path, HttpServletResponse response) throws IOException {
+        long waitNanos = group.limiter().tryAcquire(key);
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        group.rejections().increment();
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        StandardError err = new StandardError(Instant.now().toEpochMilli(), status.value(), "Limite de requisições",
+                "Muitas requisições, tente novamente em " + retryAfter + " s", path);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), err);
+        return false;
+    }
+
+    // O refresh token é opaco: ele mesmo identifica a sessão. Cada cliente tem seu balde, mesmo atrás do mesmo NAT,
+    // e tentativas com tokens inventados esbarram no teto por IP do grupo da API
+    private String refreshToken(byte[] body) {
+        if (body.length > MAX_REFRESH_BODY) {
+            return null;
+        }
+        try {
+            JsonNode token = objectMapper.readTree(body).path("refreshToken");
+            return token.isTextual() && !token.asText().isBlank() ? token.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Não guarda o token em claro como chave do balde
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "u:" + user.id();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Guarda o começo do corpo e entrega o mesmo conteúdo, inteiro, a quem vier depois
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+
+        private final ServletInputStream input;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            ServletInputStream original = request.getInputStream();
+            this.prefix = original.readNBytes(MAX_REFRESH_BODY + 1);
+            InputStream body = new SequenceInputStream(new ByteArrayInputStream(prefix), original);
+            this.input = new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int next = body.read();
+                    finished = next == -1;
+                    return next;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = body.read(buffer, offset, length);
+                    finished = read == -1;
+                    return read;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return input;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(input, charset));
+        }
+    }
+
+    private record Group(RateLimiter limiter, Counter rejections) {
+
+        private Group(String name, RateLimiter limiter, MeterRegistry meterRegistry) {
+            this(limiter, Counter.builder("http.ratelimit.rejected")
+                    .description("Requisições recusadas pelo limite de taxa")
+                    .tag("group", name)
+                    .register(meterRegistry));
+        }
+    }
+}
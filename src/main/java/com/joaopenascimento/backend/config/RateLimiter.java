@@ -0,0 +1,57 @@
+package com.joaopenascimento.backend.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Token buckets por chave, sem lock. Cada bucket é um único {@code long} atualizado por CAS: o instante em que
+ * ele volta a ficar vazio (GCRA), o que equivale a um bucket de {@code capacity} fichas repostas a
+ * {@code perSecond} por segundo. Os buckets ficam num cache do Caffeine, que divide o mapa em faixas, limita o
+ * total e descarta o bucket parado pelo tempo de encher de novo, o que não muda nenhuma decisão.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    private final Ticker ticker;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(int capacity, double perSecond, long maxBuckets, Ticker ticker) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / perSecond));
+        this.toleranceNanos = (capacity - 1) * intervalNanos;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofNanos(capacity * intervalNanos))
+                .ticker(ticker)
+                .build();
+    }
+
+    // 0 quando a requisição passa; senão, quantos nanos faltam para a próxima ficha
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = ticker.read();
+
+        while (true) {
+            long emptyAt = bucket.get();
+            long from = Math.max(emptyAt, now);
+            if (from - now > toleranceNanos) {
+                return from - now - toleranceNanos;
+            }
+            if (bucket.compareAndSet(emptyAt, from + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public long estimatedBuckets() {
+        return buckets.estimatedSize();
+    }
+}
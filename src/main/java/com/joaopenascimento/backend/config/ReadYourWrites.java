@@ -0,0 +1,89 @@
+package com.joaopenascimento.backend.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+
+/**
+ * Janela de leitura das próprias escritas: depois que um usuário confirma uma transação de escrita, as leituras
+ * dele vão ao primário por {@code window}, tempo para a réplica alcançar. Os outros usuários seguem nas
+ * réplicas. Janela zero desliga: toda leitura somente leitura vai às réplicas.
+ */
+public class ReadYourWrites {
+
+    // null com a janela desligada
+    private final Cache<Long, Boolean> writers;
+
+    public ReadYourWrites(Duration window, long maxUsers, Ticker ticker) {
+        this.writers = window.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .ticker(ticker)
+                .build();
+    }
+
+    public boolean mustReadPrimary() {
+        if (writers == null) {
+            return false;
+        }
+        Long userId = currentUserId();
+        return userId != null && writers.getIfPresent(userId) != null;
+    }
+
+    /**
+     * Envolve o primário para marcar o usuário quando uma transação de escrita pega conexão. A marca vale a
+     * partir do commit: antes dele a réplica não tem mesmo o que mostrar, e um rollback não deve marcar nada.
+     */
+    public DataSource trackWrites(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                recordWrite();
+                return super.getConnection();
+            }
+        };
+    }
+
+    void recordWrite() {
+        if (writers == null || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        Long userId = currentUserId();
+        if (userId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writers.put(userId, Boolean.TRUE);
+                }
+            });
+        } else {
+            writers.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        return null;
+    }
+}
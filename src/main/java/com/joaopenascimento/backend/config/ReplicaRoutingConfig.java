@@ -0,0 +1,78 @@
+package com.joaopenascimento.backend.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Só com {@code api.datasource.replicas} preenchido; sem réplicas o DataSource continua o do Spring Boot.
+ * O primário e as réplicas são pools do Hikari com as mesmas opções de {@code spring.datasource.hikari}, e só
+ * o roteador é bean DataSource, para o {@link MonitoredDataSource} envolver e contar cada comando uma vez.
+ * O Flyway e toda escrita usam o primário.
+ */
+@Configuration
+@ConditionalOnExpression("!'${api.datasource.replicas:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWrites readYourWrites(@Value("${api.datasource.read-your-writes.window:0s}") Duration window,
+                                         @Value("${api.datasource.read-your-writes.max-users:100000}") long maxUsers) {
+        return new ReadYourWrites(window, maxUsers, Ticker.systemTicker());
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties properties, Environment environment,
+                                 @Value("${api.datasource.replicas}") String[] urls,
+                                 @Value("${api.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                 @Value("${api.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                 @Value("${api.datasource.replica.eject-for:30s}") Duration ejectFor,
+                                 MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.length; i++) {
+            String name = "replica-" + i;
+            HikariDataSource pool = pool(name, urls[i].trim(), username, password, properties, environment);
+            pool.setReadOnly(true);
+            // O Boot só publica as métricas do pool que é bean; as réplicas registram as suas
+            pool.setMetricRegistry(meterRegistry);
+            replicas.put(name, pool);
+        }
+        return new ReplicaSet(replicas, ejectFor, Ticker.systemTicker(), meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, ReplicaSet replicaSet,
+                                 ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        HikariDataSource primary = pool("primary", properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), properties, environment);
+        return new ReplicaRoutingDataSource(primary, replicaSet, readYourWrites, meterRegistry);
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password,
+                                         DataSourceProperties properties, Environment environment) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+}
@@ -0,0 +1,97 @@
+package com.joaopenascimento.backend.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Transações {@code readOnly} vão às réplicas e o resto ao primário. A conexão só é pega no primeiro comando,
+ * depois que o JpaTransactionManager marcou a transação como somente leitura; é essa marca que escolhe o
+ * destino. Leituras de quem está na janela do {@link ReadYourWrites}, dentro de {@link PrimaryReads}, ou sem
+ * réplica disponível, vão ao primário. O {@code db.read-only.connections} conta cada destino.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicas, ReadYourWrites readYourWrites,
+                                    MeterRegistry meterRegistry) {
+        super(readYourWrites.trackWrites(primary));
+        this.primary = primary;
+        setReadOnlyDataSource(new ReadOnlyRoute(primary, replicas, readYourWrites, meterRegistry));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class ReadOnlyRoute extends AbstractDataSource {
+
+        private final DataSource primary;
+
+        private final ReplicaSet replicas;
+
+        private final ReadYourWrites readYourWrites;
+
+        private final Counter toReplica;
+
+        private final Counter toPrimaryAfterWrite;
+
+        private final Counter toPrimaryPinned;
+
+        private final Counter toPrimaryFallback;
+
+        ReadOnlyRoute(DataSource primary, ReplicaSet replicas, ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+            this.primary = primary;
+            this.replicas = replicas;
+            this.readYourWrites = readYourWrites;
+            this.toReplica = counter(meterRegistry, "replica");
+            this.toPrimaryAfterWrite = counter(meterRegistry, "primary-read-your-writes");
+            this.toPrimaryPinned = counter(meterRegistry, "primary-pinned");
+            this.toPrimaryFallback = counter(meterRegistry, "primary-fallback");
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (PrimaryReads.pinned()) {
+                toPrimaryPinned.increment();
+                return primary.getConnection();
+            }
+            if (readYourWrites.mustReadPrimary()) {
+                toPrimaryAfterWrite.increment();
+                return primary.getConnection();
+            }
+
+            Connection connection = replicas.getConnection();
+            if (connection != null) {
+                toReplica.increment();
+                return connection;
+            }
+            toPrimaryFallback.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("As réplicas usam as credenciais da configuração");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String target) {
+            return Counter.builder("db.read-only.connections")
+                    .description("Conexões de transações somente leitura, por destino")
+                    .tag("target", target)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.joaopenascimento.backend.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Réplicas de leitura em round-robin. Uma réplica que recusa conexão, ou falha na sonda periódica, sai da roda
+ * por {@code ejectFor}; passado o prazo ela volta a receber uma tentativa, e a sonda a readmite assim que
+ * responder. Sem nenhuma réplica disponível {@link #getConnection()} devolve null e quem chamou usa o primário.
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final long ejectForNanos;
+
+    private final Ticker ticker;
+
+    public ReplicaSet(Map<String, DataSource> replicas, Duration ejectFor, Ticker ticker, MeterRegistry meterRegistry) {
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.ejectForNanos = ejectFor.toNanos();
+        this.ticker = ticker;
+
+        Gauge.builder("db.replicas.available", this, ReplicaSet::available)
+                .description("Réplicas de leitura recebendo conexões")
+                .register(meterRegistry);
+    }
+
+    // Próxima réplica disponível; null se todas estão fora da roda
+    public Connection getConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        long now = ticker.read();
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available(now)) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                eject(replica, now, e);
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${api.datasource.replica.health-check-interval:10s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            long now = ticker.read();
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    readmit(replica);
+                } else {
+                    eject(replica, now, null);
+                }
+            } catch (SQLException e) {
+                eject(replica, now, e);
+            }
+        }
+    }
+
+    public int available() {
+        long now = ticker.read();
+        return (int) replicas.stream().filter(replica -> replica.available(now)).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void eject(Replica replica, long now, SQLException cause) {
+        replica.ejectedAt = now;
+        if (!replica.ejected) {
+            replica.ejected = true;
+            log.warn("Réplica {} fora da roda por {} ms: {}", replica.name, ejectForNanos / 1_000_000,
+                    cause != null ? cause.getMessage() : "conexão inválida");
+        }
+    }
+
+    private void readmit(Replica replica) {
+        if (replica.ejected) {
+            replica.ejected = false;
+            log.info("Réplica {} de volta à roda", replica.name);
+        }
+    }
+
+    private final class Replica {
+
+        final String name;
+
+        final DataSource dataSource;
+
+        volatile boolean ejected;
+
+        volatile long ejectedAt;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        boolean available(long now) {
+            return !ejected || now - ejectedAt >= ejectForNanos;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.joaopenascimento.backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Log de requisições assíncrono. A thread da requisição só sorteia a amostra e tenta pôr a entrada num buffer
+ * circular limitado; uma thread própria escreve no logger {@code api.request}. Com o buffer cheio a entrada é
+ * descartada e contada, nunca espera. Erros têm taxa de amostragem própria, por padrão todos entram.
+ * As entradas levam o id do usuário, nunca o e-mail.
+ */
+@Component
+public class RequestLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger("api.request");
+
+    private static final int BATCH_SIZE = 256;
+
+    private final ArrayBlockingQueue<Entry> buffer;
+
+    private final double sampleRate;
+
+    private final double errorSampleRate;
+
+    private final Counter dropped;
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public RequestLog(@Value("${api.request-log.capacity:8192}") int capacity,
+                      @Value("${api.request-log.sample-rate:0.1}") double sampleRate,
+                      @Value("${api.request-log.error-sample-rate:1.0}") double errorSampleRate,
+                      MeterRegistry meterRegistry) {
+        this(capacity, sampleRate, errorSampleRate, meterRegistry, true);
+    }
+
+    // Sem a thread de escrita, para os testes controlarem o buffer
+    RequestLog(int capacity, double sampleRate, double errorSampleRate, MeterRegistry meterRegistry, boolean startWriter) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.sampleRate = sampleRate;
+        this.errorSampleRate = errorSampleRate;
+        this.dropped = Counter.builder("http.request-log.dropped")
+                .description("Entradas descartadas com o buffer do log cheio")
+                .register(meterRegistry);
+        Gauge.builder("http.request-log.pending", buffer, ArrayBlockingQueue::size)
+                .description("Entradas esperando a escrita")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::write, "request-log");
+        this.writer.setDaemon(true);
+        if (startWriter) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Registra a requisição se ela cair na amostra. Retorna {@code false} só quando a entrada foi sorteada
+     * mas descartada por falta de espaço.
+     */
+    public boolean record(Entry entry) {
+        double rate = entry.status() >= 400 ? errorSampleRate : sampleRate;
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return true;
+        }
+
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    int pending() {
+        return buffer.size();
+    }
+
+    // Escreve o que ainda está no buffer antes de sair
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void write() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Entry first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Só acorda para sair: o laço drena o que sobrou
+            }
+
+            buffer.drainTo(batch, BATCH_SIZE - batch.size());
+            for (Entry entry : batch) {
+                log.info("method={} route={} status={} user={} auth={} latencyMs={}", entry.method(), entry.route(),
+                        entry.status(), entry.userId(), entry.auth(), String.format("%.1f", entry.latencyNanos() / 1_000_000.0));
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * @param route padrão da rota mapeada ({@code /api/property/{id}}), ou o URI quando nenhuma rota casou
+     * @param userId null sem usuário autenticado
+     * @param auth resultado do SecurityFilter: {@code token}, {@code invalid}, {@code revoked} ou {@code none}
+     */
+    public record Entry(String method, String route, int status, Long userId, String auth, long latencyNanos) {
+    }
+}
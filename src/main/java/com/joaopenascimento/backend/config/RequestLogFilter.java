@@ -0,0 +1,72 @@
+package com.joaopenascimento.backend.config;
+
+import java.io.IOException;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mede cada requisição da API e entrega a entrada ao {@link RequestLog}. Roda entre o SecurityFilter, que deixa
+ * o resultado da autenticação no atributo {@link #AUTH_ATTRIBUTE}, e o limite de taxa, para que os 429 também
+ * apareçam no log.
+ */
+@Component
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String AUTH_ATTRIBUTE = RequestLogFilter.class.getName() + ".auth";
+
+    private final RequestLog requestLog;
+
+    public RequestLogFilter(RequestLog requestLog) {
+        this.requestLog = requestLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            // Exceção que escapa da cadeia vira 500 no container, depois deste filtro
+            int status = failed && response.getStatus() < 400 ? 500 : response.getStatus();
+            requestLog.record(new RequestLog.Entry(request.getMethod(), route(request), status, userId(),
+                    auth(request), System.nanoTime() - start));
+        }
+    }
+
+    // O padrão mapeado evita um id por rota; sem mapeamento, como num 429, fica o URI
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    private static Long userId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        return null;
+    }
+
+    private static String auth(HttpServletRequest request) {
+        Object auth = request.getAttribute(AUTH_ATTRIBUTE);
+        return auth != null ? auth.toString() : "none";
+    }
+}
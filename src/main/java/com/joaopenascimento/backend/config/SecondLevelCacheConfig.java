@@ -0,0 +1,100 @@
+package com.joaopenascimento.backend.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cache de segundo nível do Hibernate em memória, pelo Caffeine via JCache. Cada região tem tamanho e TTL em
+ * {@code api.cache.l2.<região>.max-size} e {@code .ttl}; como cada instância tem o seu cache, o TTL limita a
+ * defasagem de uma escrita feita por outra instância. Uma região sem configuração aqui derruba a subida, em vez
+ * de virar um cache sem limite.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.cache.l2.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    // Nomes usados em @Cache e @NaturalIdCache nas entidades
+    static final List<String> REGIONS = List.of("property", "user", "user-favorites", "user-email");
+
+    /**
+     * Um URI por contexto: o provider devolve o mesmo CacheManager para o mesmo URI, e dois contextos de teste
+     * no mesmo processo não podem dividir regiões.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : REGIONS) {
+            long maxSize = environment.getProperty("api.cache.l2." + region + ".max-size", Long.class, 10_000L);
+            Duration ttl = environment.getProperty("api.cache.l2." + region + ".ttl", Duration.class, Duration.ofMinutes(10));
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * {@code hibernate.cache.region.hit.ratio} por região, das estatísticas do Hibernate; os acertos e faltas
+     * absolutos já saem do hibernate-micrometer em {@code hibernate.second.level.cache.requests}.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String region : REGIONS) {
+                Gauge.builder("hibernate.cache.region.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                        .description("Fração das leituras da região atendidas pelo cache de segundo nível")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long hits = regionStatistics.getHitCount();
+        long requests = hits + regionStatistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+}
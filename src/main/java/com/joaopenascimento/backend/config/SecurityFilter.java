@@ -4,12 +4,12 @@ import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.joaopenascimento.backend.repositories.UserRepository;
+import com.joaopenascimento.backend.services.TokenRevocationService;
 import com.joaopenascimento.backend.services.TokenService;
 
 import jakarta.servlet.FilterChain;
@@ -24,7 +24,7 @@ public class SecurityFilter extends OncePerRequestFilter {
     TokenService tokenService;
 
     @Autowired
-    UserRepository userRepository;
+    TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -37,27 +37,19 @@ public class SecurityFilter extends OncePerRequestFilter {
         var token = this.recoverToken(request);
         
         if(token != null){
-            var login = tokenService.validateToken(token);
-            System.out.println("Token encontrado. Login extraído: " + login);
-
-            if(login != null && !login.isEmpty()) {
-                var userEntity = userRepository.findByEmail(login).orElseThrow(() -> new RuntimeException("User Not Found"));
-                
-                UserDetails userDetails = org.springframework.security.core.userdetails.User
-                        .builder()
-                        .username(userEntity.getEmail())
-                        .password(userEntity.getPassword())
-                        .roles(userEntity.getRole().name())
-                        .build();
-
-                var authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            var user = tokenService.validateToken(token);
+
+            // O principal vem das claims do token: nenhuma consulta ao banco por requisição
+            if(user != null && tokenRevocationService.isRevoked(user)) {
+                request.setAttribute(RequestLogFilter.AUTH_ATTRIBUTE, "revoked");
+            } else if(user != null) {
+                var authorities = AuthorityUtils.createAuthorityList("ROLE_" + user.role().name());
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                System.out.println("Usuário autenticado no contexto: " + login);
+                request.setAttribute(RequestLogFilter.AUTH_ATTRIBUTE, "token");
             } else {
-                System.out.println("Token inválido ou expirado.");
+                request.setAttribute(RequestLogFilter.AUTH_ATTRIBUTE, "invalid");
             }
-        } else {
-            System.out.println("Header Authorization não encontrado ou vazio.");
         }
         
         filterChain.doFilter(request, response);
@@ -0,0 +1,55 @@
+package com.joaopenascimento.backend.config;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Substitui o {@code show-sql}: só os comandos que passam de {@code threshold} entram, e desses só a fração
+ * {@code sample-rate} é escrita no logger {@code sql.slow}. O contador {@code sql.slow-queries} soma todos,
+ * escritos ou não, para a taxa de consultas lentas não depender da amostragem.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.slow");
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    private final Counter slow;
+
+    public SlowQueryLog(@Value("${api.sql.slow-query.threshold:200ms}") Duration threshold,
+                        @Value("${api.sql.slow-query.sample-rate:0.1}") double sampleRate,
+                        MeterRegistry meterRegistry) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.slow = Counter.builder("sql.slow-queries")
+                .description("Comandos SQL acima do limite do log de consultas lentas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retorna {@code true} quando o comando foi escrito no log.
+     */
+    public boolean record(String sql, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos) {
+            return false;
+        }
+        slow.increment();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+
+        log.warn("latencyMs={} sql={}", String.format("%.1f", elapsedNanos / 1_000_000.0), sql);
+        return true;
+    }
+}
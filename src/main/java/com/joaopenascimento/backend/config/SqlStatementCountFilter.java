@@ -0,0 +1,68 @@
+package com.joaopenascimento.backend.config;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Publica quantos comandos SQL cada rota da API executa, em {@code http.server.requests.sql}, com as mesmas
+ * tags {@code method} e {@code uri} do {@code http.server.requests}. Fica antes da cadeia do Spring Security
+ * para contar também o que os filtros consultam. O export em streaming escreve noutra thread e não entra.
+ * Ao fim de cada requisição o {@link QueryBudgetGuard} confere o total contra o orçamento da rota.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    // Faixas que separam uma consulta por requisição de um N+1
+    private static final double[] BUCKETS = {1, 2, 3, 5, 10, 20, 50, 100};
+
+    private final QueryBudgetGuard queryBudgetGuard;
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementCountFilter(QueryBudgetGuard queryBudgetGuard, MeterRegistry meterRegistry) {
+        this.queryBudgetGuard = queryBudgetGuard;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.Statements statements = SqlStatementCounter.stop();
+            String route = route(request);
+            DistributionSummary.builder("http.server.requests.sql")
+                    .description("Comandos SQL executados por requisição")
+                    .tags("method", request.getMethod(), "uri", route)
+                    .serviceLevelObjectives(BUCKETS)
+                    .register(meterRegistry)
+                    .record(statements.total());
+            queryBudgetGuard.check(request.getMethod(), route, statements);
+        }
+    }
+
+    // Sem rota mapeada (404, 429) o URI viraria uma série por id; fica UNKNOWN, como no http.server.requests
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
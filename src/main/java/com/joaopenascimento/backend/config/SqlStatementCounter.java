@@ -0,0 +1,76 @@
+package com.joaopenascimento.backend.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conta os comandos SQL executados pela thread da requisição. O {@link SqlStatementCountFilter} abre e fecha a
+ * contagem em volta de cada requisição e o {@link MonitoredDataSource} registra cada execução; fora de uma
+ * requisição (tarefas agendadas, subida da aplicação) nada é contado. Além do total, guarda quantas vezes cada
+ * comando se repetiu, para apontar o responsável por um N+1.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Statements> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Statements());
+    }
+
+    // Encerra a contagem da thread e devolve o que foi executado; vazio se nenhuma contagem estava aberta
+    public static Statements stop() {
+        Statements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements != null ? statements : new Statements();
+    }
+
+    public static long current() {
+        Statements statements = CURRENT.get();
+        return statements != null ? statements.total : 0;
+    }
+
+    static void record(String sql) {
+        Statements statements = CURRENT.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    public static final class Statements {
+
+        // Limita a memória de uma requisição com muitos comandos distintos; os novos só entram no total
+        private static final int MAX_DISTINCT = 256;
+
+        private final Map<String, Integer> bySql = new HashMap<>();
+
+        private long total;
+
+        private void add(String sql) {
+            total++;
+            if (bySql.size() < MAX_DISTINCT || bySql.containsKey(sql)) {
+                bySql.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        public long total() {
+            return total;
+        }
+
+        // null sem nenhum comando
+        public Repeated mostRepeated() {
+            Repeated most = null;
+            for (Map.Entry<String, Integer> entry : bySql.entrySet()) {
+                if (most == null || entry.getValue() > most.count()) {
+                    most = new Repeated(entry.getKey(), entry.getValue());
+                }
+            }
+            return most;
+        }
+    }
+
+    public record Repeated(String sql, int count) {
+    }
+}
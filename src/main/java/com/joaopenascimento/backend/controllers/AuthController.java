@@ -1,9 +1,13 @@
 package com.joaopenascimento.backend.controllers;
 
 import com.joaopenascimento.backend.dto.auth.LoginDTO;
+import com.joaopenascimento.backend.dto.auth.RefreshTokenDTO;
 import com.joaopenascimento.backend.dto.auth.RegisterDTO;
 import com.joaopenascimento.backend.dto.auth.TokenDTO;
 import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+import com.joaopenascimento.backend.services.RefreshTokenService;
+import com.joaopenascimento.backend.services.TokenRevocationService;
 import com.joaopenascimento.backend.services.TokenService;
 import com.joaopenascimento.backend.services.UserService;
 import jakarta.validation.Valid;
@@ -11,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -29,6 +34,12 @@ public class AuthController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     public AuthController(UserService userService) {
         this.userService = userService;
     }
@@ -40,8 +51,30 @@ public class AuthController {
         var userDetails = (UserDetails) auth.getPrincipal();
         User user = userService.findByEmail(userDetails.getUsername());
         var token = tokenService.generateToken(user);
+        var refreshToken = refreshTokenService.issue(user);
+
+        return ResponseEntity.ok(new TokenDTO(token, refreshToken));
+    }
+
+    // Renova o access token sem senha e, portanto, sem BCrypt; o refresh token recebido deixa de valer
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenDTO> refresh(@RequestBody @Valid RefreshTokenDTO data) {
+        TokenDTO tokens = refreshTokenService.rotate(data.refreshToken())
+                .orElseThrow(() -> new RuntimeException("Refresh token inválido ou expirado, faça login novamente"));
+
+        return ResponseEntity.ok(tokens);
+    }
+
+    // Encerra a sessão: o access token atual e, se enviado, a família do refresh token deixam de valer
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser user,
+                                       @RequestBody(required = false) RefreshTokenDTO data) {
+        tokenRevocationService.revokeToken(user);
+        if (data != null && data.refreshToken() != null) {
+            refreshTokenService.revoke(data.refreshToken());
+        }
 
-        return ResponseEntity.ok(new TokenDTO(token));
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/register")
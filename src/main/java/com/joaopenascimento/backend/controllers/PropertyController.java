@@ -1,12 +1,18 @@
 package com.joaopenascimento.backend.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,16 +21,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.joaopenascimento.backend.dto.property.GeoArea;
 import com.joaopenascimento.backend.dto.property.PropertyCreateDTO;
 import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.dto.property.PropertyImportResultDTO;
+import com.joaopenascimento.backend.dto.property.PropertySliceDTO;
 import com.joaopenascimento.backend.dto.property.PropertyUpdateDTO;
+import com.joaopenascimento.backend.dto.property.PropertyVersion;
+import com.joaopenascimento.backend.dto.property.VersionedPropertyDTO;
 import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.search.PropertyCatalogVersion;
+import com.joaopenascimento.backend.services.PropertyExportService;
+import com.joaopenascimento.backend.services.PropertyImportService;
 import com.joaopenascimento.backend.services.PropertyService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 
@@ -34,8 +52,18 @@ public class PropertyController {
     
     private final PropertyService propertyService;
 
-    public PropertyController(PropertyService propertyService){
+    private final PropertyImportService propertyImportService;
+
+    private final PropertyExportService propertyExportService;
+
+    private final PropertyCatalogVersion catalogVersion;
+
+    public PropertyController(PropertyService propertyService, PropertyImportService propertyImportService,
+                              PropertyExportService propertyExportService, PropertyCatalogVersion catalogVersion){
         this.propertyService = propertyService;
+        this.propertyImportService = propertyImportService;
+        this.propertyExportService = propertyExportService;
+        this.catalogVersion = catalogVersion;
     }
 
     @GetMapping
@@ -45,17 +73,97 @@ public class PropertyController {
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Integer minBedrooms,
-            @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon,
+            @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request
+    ) {
+        if (catalogNotModified(request)) {
+            return notModified();
+        }
+
+        GeoArea area = GeoArea.of(lat, lon, radiusKm, minLat, minLon, maxLat, maxLon);
+        Page<PropertyDTO> page = propertyService.findAll(name, type, minPrice, maxPrice, minBedrooms, area, pageable);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(page);
+    }
+
+    @GetMapping(params = "mode=cursor")
+    public ResponseEntity<PropertySliceDTO> getAllByCursor(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) PropertyType type,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minBedrooms,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @SortDefault(sort = "id", direction = Sort.Direction.DESC) Sort sort,
+            WebRequest request
     ) {
-        Page<PropertyDTO> page = propertyService.findAll(name, type, minPrice, maxPrice, minBedrooms, pageable);
-        return ResponseEntity.ok(page);
+        if (catalogNotModified(request)) {
+            return notModified();
+        }
+
+        GeoArea area = GeoArea.of(lat, lon, radiusKm, minLat, minLon, maxLat, maxLon);
+        PropertySliceDTO slice = propertyService.findAllByCursor(name, type, minPrice, maxPrice, minBedrooms, area, after, size, sort);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(slice);
+    }
+
+    // Escrita síncrona direto na resposta: um StreamingResponseBody cairia no timeout de requisições assíncronas
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) PropertyType type,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer minBedrooms,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon,
+            HttpServletResponse response
+    ) throws IOException {
+        GeoArea area = GeoArea.of(lat, lon, radiusKm, minLat, minLon, maxLat, maxLon);
+        PropertyFilter filter = PropertyFilter.of(name, type, minPrice, maxPrice, minBedrooms, area);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        propertyExportService.export(filter, response.getOutputStream());
     }
 
+    // Sem validador no pedido não há 304 possível: imóvel e versão saem de uma leitura só. Com validador a versão
+    // sai de uma projeção, e um 304 não carrega o imóvel nem serializa o DTO
     @GetMapping("/{id}")
-    public ResponseEntity<PropertyDTO> getPropertyById(@PathVariable Long id) {
+    public ResponseEntity<PropertyDTO> getPropertyById(@PathVariable Long id, WebRequest request) {
+        if (!isConditional(request)) {
+            VersionedPropertyDTO found = propertyService.findVersionedPropertyById(id);
+            request.checkNotModified(found.version().etag(), found.version().lastModified());
+
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(found.property());
+        }
+
+        PropertyVersion version = propertyService.findVersion(id);
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            return notModified();
+        }
+
         PropertyDTO property = propertyService.findPropertyById(id);
 
-        return ResponseEntity.ok(property);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(property);
     }
 
     @GetMapping("/getUserProperties")
@@ -74,6 +182,17 @@ public class PropertyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(newProperty);
     }
 
+    // O corpo é lido direto do stream da requisição, sem passar por um conversor que o carregaria inteiro
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<PropertyImportResultDTO> importProperties(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        PropertyImportResultDTO result = propertyImportService.importProperties(body, contentType);
+
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<PropertyDTO> update(
             @PathVariable Long id,
@@ -98,4 +217,20 @@ public class PropertyController {
         
         return ResponseEntity.ok(property);
     }
+
+    // A versão é lida antes da consulta, então a página nunca fica mais velha que o ETag enviado junto
+    private boolean catalogNotModified(WebRequest request) {
+        PropertyCatalogVersion.Current current = catalogVersion.current();
+        return request.checkNotModified(current.etag(), current.lastModified().toEpochMilli());
+    }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // checkNotModified já definiu o status e os cabeçalhos de validação na resposta
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+    }
 }
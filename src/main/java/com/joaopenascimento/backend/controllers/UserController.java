@@ -57,6 +57,15 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(newUser);
     }
 
+    @PostMapping("/{id}/revoke-sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeSessions(@PathVariable Long id) {
+
+        userService.revokeSessions(id);
+
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/favorites")
     public ResponseEntity<List<PropertyDTO>> getFavorites() {
 
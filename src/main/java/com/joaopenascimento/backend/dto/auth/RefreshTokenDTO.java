@@ -0,0 +1,6 @@
+package com.joaopenascimento.backend.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenDTO(@NotBlank String refreshToken) {
+}
@@ -1,4 +1,4 @@
 package com.joaopenascimento.backend.dto.auth;
 
-public record TokenDTO(String token) {
+public record TokenDTO(String token, String refreshToken) {
 }
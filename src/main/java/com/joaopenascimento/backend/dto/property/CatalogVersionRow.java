@@ -0,0 +1,15 @@
+package com.joaopenascimento.backend.dto.property;
+
+import java.time.Instant;
+
+/**
+ * Versão do catálogo lida por projeção: um select novo a cada listagem, sem passar pela entidade que a própria
+ * transação pode ter carregado antes de avançar a versão.
+ */
+public record CatalogVersionRow(Long version, Instant updatedAt) {
+
+    // O instante entra no ETag: um banco recriado recomeça a contagem com outro instante
+    public String etag() {
+        return version + "-" + Long.toString(updatedAt.toEpochMilli(), 36);
+    }
+}
@@ -0,0 +1,114 @@
+package com.joaopenascimento.backend.dto.property;
+
+/**
+ * Área da busca geográfica: um raio em km a partir de um ponto ou um retângulo de latitude/longitude.
+ * Para o raio, o bounding box é o retângulo que envolve o círculo.
+ * A distância usa a projeção equiretangular centrada no ponto. Até {@link #MAX_RADIUS_KM} o erro é desprezível,
+ * e a mesma conta roda no índice em memória e no SQL.
+ */
+public record GeoArea(
+        double minLatitude,
+        double minLongitude,
+        double maxLatitude,
+        double maxLongitude,
+        Double centerLatitude,
+        Double centerLongitude,
+        Double radiusKm
+) {
+    public static final double MAX_RADIUS_KM = 100.0;
+
+    public static final double KM_PER_DEGREE = 111.195;
+
+    public static GeoArea of(Double lat, Double lon, Double radiusKm,
+                             Double minLat, Double minLon, Double maxLat, Double maxLon) {
+        boolean anyRadius = lat != null || lon != null || radiusKm != null;
+        boolean anyBox = minLat != null || minLon != null || maxLat != null || maxLon != null;
+
+        if (anyRadius && anyBox) {
+            throw new RuntimeException("Use a busca por raio ou por área, não as duas");
+        }
+
+        if (anyRadius) {
+            if (lat == null || lon == null || radiusKm == null) {
+                throw new RuntimeException("Informe lat, lon e radiusKm juntos para a busca por raio");
+            }
+            return radius(lat, lon, radiusKm);
+        }
+
+        if (anyBox) {
+            if (minLat == null || minLon == null || maxLat == null || maxLon == null) {
+                throw new RuntimeException("Informe minLat, minLon, maxLat e maxLon juntos para a busca por área");
+            }
+            return box(minLat, minLon, maxLat, maxLon);
+        }
+
+        return null;
+    }
+
+    public static GeoArea radius(double lat, double lon, double radiusKm) {
+        checkPoint(lat, lon);
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new RuntimeException("radiusKm deve ser maior que 0 e no máximo " + (int) MAX_RADIUS_KM);
+        }
+
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lonDelta = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 1e-6));
+
+        return new GeoArea(
+                Math.max(lat - latDelta, -90.0),
+                Math.max(lon - lonDelta, -180.0),
+                Math.min(lat + latDelta, 90.0),
+                Math.min(lon + lonDelta, 180.0),
+                lat, lon, radiusKm);
+    }
+
+    public static GeoArea box(double minLat, double minLon, double maxLat, double maxLon) {
+        checkPoint(minLat, minLon);
+        checkPoint(maxLat, maxLon);
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new RuntimeException("minLat e minLon devem ser menores ou iguais a maxLat e maxLon");
+        }
+        return new GeoArea(minLat, minLon, maxLat, maxLon, null, null, null);
+    }
+
+    public boolean isRadius() {
+        return radiusKm != null;
+    }
+
+    // Fator que converte graus de longitude em graus de latitude na latitude do centro
+    public double longitudeScale() {
+        return Math.cos(Math.toRadians(centerLatitude));
+    }
+
+    public boolean contains(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return false;
+        }
+        return contains(latitude.doubleValue(), longitude.doubleValue(), isRadius() ? longitudeScale() : 1.0);
+    }
+
+    /**
+     * Versão sem alocação para laços quentes: {@code longitudeScale} deve vir de {@link #longitudeScale()}.
+     */
+    public boolean contains(double latitude, double longitude, double longitudeScale) {
+        if (latitude < minLatitude || latitude > maxLatitude || longitude < minLongitude || longitude > maxLongitude) {
+            return false;
+        }
+        if (!isRadius()) {
+            return true;
+        }
+
+        double dy = (latitude - centerLatitude) * KM_PER_DEGREE;
+        double dx = (longitude - centerLongitude) * KM_PER_DEGREE * longitudeScale;
+        return dx * dx + dy * dy <= radiusKm * radiusKm;
+    }
+
+    private static void checkPoint(double lat, double lon) {
+        if (!(lat >= -90.0 && lat <= 90.0)) {
+            throw new RuntimeException("Latitude deve estar entre -90 e 90");
+        }
+        if (!(lon >= -180.0 && lon <= 180.0)) {
+            throw new RuntimeException("Longitude deve estar entre -180 e 180");
+        }
+    }
+}
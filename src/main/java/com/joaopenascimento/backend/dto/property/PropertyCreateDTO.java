@@ -2,6 +2,8 @@ package com.joaopenascimento.backend.dto.property;
 
 import com.joaopenascimento.backend.model.enums.PropertyType;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -17,5 +19,7 @@ public record PropertyCreateDTO(
         @NotBlank String address,
         @NotBlank String city,
         @NotBlank String state,
+        @DecimalMin("-90.0") @DecimalMax("90.0") Double latitude,
+        @DecimalMin("-180.0") @DecimalMax("180.0") Double longitude,
         @NotBlank String imageUrls
 ) {}
\ No newline at end of file
@@ -14,6 +14,8 @@ public record PropertyDTO(
         String address,
         String city,
         String state,
+        Double latitude,
+        Double longitude,
         Boolean active,
         Long brokerId,
         String brokerName,
@@ -31,6 +33,8 @@ public record PropertyDTO(
                 entity.getAddress(),
                 entity.getCity(),
                 entity.getState(),
+                entity.getLatitude(),
+                entity.getLongitude(),
                 entity.getActive(),
                 entity.getBroker().getId(),
                 entity.getBroker().getName(), 
@@ -0,0 +1,20 @@
+package com.joaopenascimento.backend.dto.property;
+
+import java.util.Locale;
+
+import com.joaopenascimento.backend.model.enums.PropertyType;
+
+public record PropertyFilter(
+        String name,
+        PropertyType type,
+        Double minPrice,
+        Double maxPrice,
+        Integer minBedrooms,
+        GeoArea area
+) {
+    public static PropertyFilter of(String name, PropertyType type, Double minPrice, Double maxPrice, Integer minBedrooms,
+                                    GeoArea area) {
+        String normalizedName = name == null || name.isBlank() ? null : name.strip().toLowerCase(Locale.ROOT);
+        return new PropertyFilter(normalizedName, type, minPrice, maxPrice, minBedrooms, area);
+    }
+}
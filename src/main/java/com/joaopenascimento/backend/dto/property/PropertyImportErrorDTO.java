@@ -0,0 +1,6 @@
+package com.joaopenascimento.backend.dto.property;
+
+public record PropertyImportErrorDTO(
+        long line,
+        String message
+) {}
@@ -0,0 +1,9 @@
+package com.joaopenascimento.backend.dto.property;
+
+import java.util.List;
+
+public record PropertyImportResultDTO(
+        long imported,
+        long failed,
+        List<PropertyImportErrorDTO> errors
+) {}
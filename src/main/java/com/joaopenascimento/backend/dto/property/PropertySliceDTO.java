@@ -0,0 +1,10 @@
+package com.joaopenascimento.backend.dto.property;
+
+import java.util.List;
+
+public record PropertySliceDTO(
+        List<PropertyDTO> content,
+        Integer size,
+        Boolean hasNext,
+        String nextCursor
+) {}
@@ -2,6 +2,8 @@ package com.joaopenascimento.backend.dto.property;
 
 import com.joaopenascimento.backend.model.enums.PropertyType;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
@@ -15,5 +17,7 @@ public record PropertyUpdateDTO(
      String address,
      String city,
      String state,
+     @DecimalMin("-90.0") @DecimalMax("90.0") Double latitude,
+     @DecimalMin("-180.0") @DecimalMax("180.0") Double longitude,
      Long brokerId
 ) {}
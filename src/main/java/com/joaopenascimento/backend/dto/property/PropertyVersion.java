@@ -0,0 +1,24 @@
+package com.joaopenascimento.backend.dto.property;
+
+import java.time.Instant;
+
+import com.joaopenascimento.backend.model.Property;
+
+/**
+ * Só o que forma o ETag e o Last-Modified de um imóvel, lido sem carregar a entidade.
+ * O nome do corretor entra porque aparece no {@link PropertyDTO} e muda sem mexer na versão do imóvel.
+ */
+public record PropertyVersion(Long id, Long version, Instant updatedAt, String brokerName) {
+
+    public PropertyVersion(Property entity) {
+        this(entity.getId(), entity.getVersion(), entity.getUpdatedAt(), entity.getBroker().getName());
+    }
+
+    public String etag() {
+        return id + "-" + version + "-" + Integer.toHexString(brokerName == null ? 0 : brokerName.hashCode());
+    }
+
+    public long lastModified() {
+        return updatedAt == null ? -1 : updatedAt.toEpochMilli();
+    }
+}
@@ -0,0 +1,13 @@
+package com.joaopenascimento.backend.dto.property;
+
+import com.joaopenascimento.backend.model.Property;
+
+/**
+ * O imóvel e a versão dele tirados da mesma entidade: o 200 do detalhe sai de uma leitura só.
+ */
+public record VersionedPropertyDTO(PropertyVersion version, PropertyDTO property) {
+
+    public VersionedPropertyDTO(Property entity) {
+        this(new PropertyVersion(entity), new PropertyDTO(entity));
+    }
+}
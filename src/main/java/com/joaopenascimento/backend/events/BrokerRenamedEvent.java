@@ -0,0 +1,7 @@
+package com.joaopenascimento.backend.events;
+
+/**
+ * Publicado pelo UserService quando um usuário troca de nome: as listagens embutem o nome do corretor.
+ */
+public record BrokerRenamedEvent(Long brokerId) {
+}
@@ -0,0 +1,9 @@
+package com.joaopenascimento.backend.events;
+
+import java.util.List;
+
+/**
+ * Publicado pelo import em lote a cada lote confirmado, no lugar de um {@link PropertyChangedEvent} por linha.
+ */
+public record PropertiesImportedEvent(List<PropertySnapshot> properties) {
+}
@@ -0,0 +1,27 @@
+package com.joaopenascimento.backend.events;
+
+import com.joaopenascimento.backend.model.Property;
+
+/**
+ * Publicado pelo PropertyService a cada escrita. {@code before} é nulo na criação e {@code after} na exclusão.
+ */
+public record PropertyChangedEvent(Type type, Long propertyId, PropertySnapshot before, PropertySnapshot after) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static PropertyChangedEvent created(Property property) {
+        return new PropertyChangedEvent(Type.CREATED, property.getId(), null, PropertySnapshot.of(property));
+    }
+
+    public static PropertyChangedEvent updated(PropertySnapshot before, Property property) {
+        return new PropertyChangedEvent(Type.UPDATED, property.getId(), before, PropertySnapshot.of(property));
+    }
+
+    public static PropertyChangedEvent deleted(Property property) {
+        return new PropertyChangedEvent(Type.DELETED, property.getId(), PropertySnapshot.of(property), null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.joaopenascimento.backend.events;
+
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+
+public record PropertySnapshot(
+        Long id,
+        String name,
+        String description,
+        PropertyType type,
+        Double value,
+        Integer area,
+        Integer bedrooms,
+        Double latitude,
+        Double longitude,
+        Boolean active
+) {
+    public static PropertySnapshot of(Property entity) {
+        return new PropertySnapshot(
+                entity.getId(),
+                entity.getName(),
+                entity.getDescription(),
+                entity.getType(),
+                entity.getValue(),
+                entity.getArea(),
+                entity.getBedrooms(),
+                entity.getLatitude(),
+                entity.getLongitude(),
+                entity.getActive()
+        );
+    }
+}
@@ -3,9 +3,11 @@ package com.joaopenascimento.backend.exception;
 import java.time.Instant;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -38,6 +40,25 @@ public class GlobalExceptionHaandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<StandardError> handlePasswordHashingBusy(PasswordHashingBusyException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS; // 429
+        StandardError err = new StandardError(Instant.now().toEpochMilli(), status.value(), "Servidor ocupado", e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(err);
+    }
+
+    // Pool de conexões esgotado até o connection-timeout do Hikari: sobrecarga, não erro do cliente
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<StandardError> handleConnectionUnavailable(CannotCreateTransactionException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE; // 503
+        StandardError err = new StandardError(Instant.now().toEpochMilli(), status.value(), "Servidor ocupado", "Banco de dados indisponível no momento, tente novamente", request.getRequestURI());
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(err);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<StandardError> handleAccessDenied(AccessDeniedException e, HttpServletRequest request) {
         HttpStatus status = HttpStatus.FORBIDDEN; // 403
@@ -0,0 +1,18 @@
+package com.joaopenascimento.backend.exception;
+
+import java.time.Duration;
+
+// A fila do hash de senhas está cheia: vira 429 com Retry-After em vez de segurar a thread da requisição
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(Duration retryAfter) {
+        super("Muitas autenticações em andamento, tente novamente em instantes");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
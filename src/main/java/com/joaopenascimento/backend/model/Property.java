@@ -1,6 +1,14 @@
 package com.joaopenascimento.backend.model;
 
+import java.time.Instant;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.search.TextNormalizer;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,7 +20,13 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -31,10 +45,14 @@ import lombok.Setter;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
 @Table(name = "tb_properties")
+// Cache de segundo nível: findById e o broker pelo PropertyDTO saem da memória; ver SecondLevelCacheConfig
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "property")
 public class Property {
 
+    // Sequência com blocos de 100 ids: o Hibernate só agrupa inserts em lote quando o id não vem do próprio insert
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_seq")
+    @SequenceGenerator(name = "property_seq", sequenceName = "tb_properties_seq", allocationSize = 100)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -82,6 +100,15 @@ public class Property {
     @Column(nullable = false)
     private String state;
 
+    // Opcionais: imóveis sem coordenadas só não aparecem nas buscas por raio/área
+    @DecimalMin(value = "-90.0", message = "A latitude deve estar entre -90 e 90")
+    @DecimalMax(value = "90.0", message = "A latitude deve estar entre -90 e 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "A longitude deve estar entre -180 e 180")
+    @DecimalMax(value = "180.0", message = "A longitude deve estar entre -180 e 180")
+    private Double longitude;
+
     @NotBlank
     @Column(name = "property_images", nullable = false)
     private String imageUrls;
@@ -90,5 +117,26 @@ public class Property {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "broker_id", nullable = false)
     private User broker;
+
+    // Termos normalizados de nome e descrição para o filtro de texto no banco, quando o índice em memória
+    // não responde; mantido aqui para seguir a mesma normalização do PropertyTextIndex
+    @Column(name = "search_text", columnDefinition = "TEXT")
+    private String searchText;
+
+    // Base do ETag do GET /api/property/{id}; o default preenche as linhas que já existiam ao criar a coluna
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Base do Last-Modified; nulo só em linhas que não foram alteradas desde que a coluna existe
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void updateSearchText() {
+        searchText = TextNormalizer.searchText(name, description);
+    }
 }
 
@@ -7,6 +7,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -18,13 +22,18 @@ import java.util.Set;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
 @Table(name = "tb_users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-email")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "tb_users_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
+    // Id natural: o findByEmail resolve e-mail -> id pelo cache e o usuário pelo cache da entidade
+    @NaturalId
     @NotBlank
     @Email
     @Column(nullable = false, unique = true)
@@ -45,6 +54,7 @@ public class User {
     private UserRole role;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-favorites")
     @JoinTable(
             name = "tb_user_favorites",
             joinColumns = @JoinColumn(name = "user_id"),
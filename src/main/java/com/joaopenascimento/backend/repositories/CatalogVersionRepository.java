@@ -0,0 +1,27 @@
+package com.joaopenascimento.backend.repositories;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.joaopenascimento.backend.dto.property.CatalogVersionRow;
+import com.joaopenascimento.backend.model.CatalogVersion;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    @Query("""
+            select new com.joaopenascimento.backend.dto.property.CatalogVersionRow(c.version, c.updatedAt)
+            from CatalogVersion c
+            where c.id = :id
+            """)
+    Optional<CatalogVersionRow> findRowById(@Param("id") Long id);
+
+    // Chamado na transação própria do PropertyCatalogVersion, depois do commit da escrita: a trava dura só este update
+    @Modifying
+    @Query("update CatalogVersion c set c.version = c.version + 1, c.updatedAt = :now where c.id = :id")
+    int bump(@Param("id") Long id, @Param("now") Instant now);
+}
@@ -1,12 +1,81 @@
 package com.joaopenascimento.backend.repositories;
 
+import com.joaopenascimento.backend.dto.property.PropertyVersion;
 import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.search.PropertyCatalogRow;
+import com.joaopenascimento.backend.search.PropertyPoint;
+import com.joaopenascimento.backend.search.PropertyText;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property> {
+
+    // O broker é carregado no mesmo select para o PropertyDTO não disparar um select por linha
+    @EntityGraph(attributePaths = "broker")
     List<Property> findByBrokerId(Long brokerId);
+
+    @Override
+    @EntityGraph(attributePaths = "broker")
+    Page<Property> findAll(Specification<Property> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "broker")
+    List<Property> findAll(Specification<Property> spec);
+
+    @Query("""
+            select new com.joaopenascimento.backend.dto.property.PropertyVersion(p.id, p.version, p.updatedAt, b.name)
+            from Property p
+            join p.broker b
+            where p.id = :id
+            """)
+    Optional<PropertyVersion> findVersionById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "broker")
+    List<Property> findWithBrokerByIdIn(Collection<Long> ids);
+
+    @Query("""
+            select p
+            from User u
+            join u.favorites p
+            join fetch p.broker
+            where u.id = :userId
+            """)
+    List<Property> findFavoritesByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.joaopenascimento.backend.search.PropertyText(p.id, p.name, p.description)
+            from Property p
+            where p.id > :afterId
+            order by p.id
+            """)
+    List<PropertyText> findTextChunk(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+            select new com.joaopenascimento.backend.search.PropertyPoint(p.id, p.latitude, p.longitude)
+            from Property p
+            where p.id > :afterId
+              and p.latitude is not null
+              and p.longitude is not null
+            order by p.id
+            """)
+    List<PropertyPoint> findPointChunk(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+            select new com.joaopenascimento.backend.search.PropertyCatalogRow(p.id, p.value, p.area, p.bedrooms, p.type)
+            from Property p
+            where p.id > :afterId
+            order by p.id
+            """)
+    List<PropertyCatalogRow> findCatalogChunk(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,38 @@
+package com.joaopenascimento.backend.repositories;
+
+import com.joaopenascimento.backend.model.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // O usuário vem no mesmo select: é dele que sai o novo access token
+    @EntityGraph(attributePaths = "user")
+    Optional<RefreshToken> findWithUserByTokenHash(String tokenHash);
+
+    // Condicional no próprio update: de duas rotações simultâneas do mesmo token, só uma marca a linha
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt = :now where t.id = :id and t.usedAt is null and t.revokedAt is null")
+    int markUsed(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.user.id = :userId and t.revokedAt is null")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") Instant now);
+
+    // Os usados e ainda válidos ficam: é por eles que o reuso de um token trocado é detectado
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt <= :now or t.revokedAt is not null")
+    int deleteExpired(@Param("now") Instant now);
+}
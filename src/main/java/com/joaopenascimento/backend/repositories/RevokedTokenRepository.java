@@ -0,0 +1,26 @@
+package com.joaopenascimento.backend.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.joaopenascimento.backend.model.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    boolean existsByTokenIdAndExpiresAtAfter(String tokenId, Instant now);
+
+    // Revogação mais recente de todos os tokens do usuário que ainda vale
+    @Query("select max(t.revokedAt) from RevokedToken t where t.userId = :userId and t.tokenId is null and t.expiresAt > :now")
+    Instant findUserRevokedAt(@Param("userId") Long userId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,10 @@
+package com.joaopenascimento.backend.repositories;
+
+import com.joaopenascimento.backend.model.User;
+
+import java.util.Optional;
+
+public interface UserEmailLookup {
+
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,28 @@
+package com.joaopenascimento.backend.repositories;
+
+import com.joaopenascimento.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Busca por e-mail pelo id natural em vez de uma consulta derivada: com os caches {@code user-email} e
+ * {@code user} quentes, o login e o UserDetailsService não vão ao banco. Numa falta, o Hibernate resolve o id
+ * por e-mail e carrega o usuário, preenchendo os dois caches.
+ */
+class UserEmailLookupImpl implements UserEmailLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
@@ -2,11 +2,18 @@ package com.joaopenascimento.backend.repositories;
 
 import com.joaopenascimento.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+// findByEmail vem do UserEmailLookup, pelo id natural
+public interface UserRepository extends JpaRepository<User, Long>, UserEmailLookup {
 
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Só troca o hash que foi verificado: uma troca de senha concorrente prevalece
+    @Modifying
+    @Query("update User u set u.password = :newPassword where u.email = :email and u.password = :oldPassword")
+    int rehashPassword(@Param("email") String email, @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
 }
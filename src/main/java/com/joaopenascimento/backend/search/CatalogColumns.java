@@ -0,0 +1,235 @@
+package com.joaopenascimento.backend.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.joaopenascimento.backend.model.enums.PropertyType;
+
+/**
+ * Colunas imutáveis do catálogo. A linha {@code r} de cada array é o mesmo imóvel e as linhas seguem a ordem dos ids,
+ * então o id resolve a linha por busca binária. Cada coluna numérica tem uma permutação das linhas ordenada
+ * por (valor, id) para buscas por faixa e ordenação, e cada tipo um bitset das suas linhas.
+ */
+final class CatalogColumns {
+
+    static final CatalogColumns EMPTY = new CatalogColumns(new long[0], new double[0], new int[0], new int[0], new byte[0], 0);
+
+    static final byte NO_TYPE = -1;
+
+    final int size;
+    final long[] ids;
+    final double[] values;
+    final int[] areas;
+    final int[] bedrooms;
+    final byte[] types;
+
+    private final int[] byValue;
+    private final int[] byArea;
+    private final int[] byBedrooms;
+    private final BitSet[] byType;
+    private final int[] typeCounts;
+
+    CatalogColumns(long[] ids, double[] values, int[] areas, int[] bedrooms, byte[] types, int size) {
+        this.size = size;
+        this.ids = ids;
+        this.values = values;
+        this.areas = areas;
+        this.bedrooms = bedrooms;
+        this.types = types;
+
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = sortable(values[row]);
+        }
+        this.byValue = order(keys, size, 4);
+        for (int row = 0; row < size; row++) {
+            keys[row] = sortable(areas[row]);
+        }
+        this.byArea = order(keys, size, 2);
+        for (int row = 0; row < size; row++) {
+            keys[row] = sortable(bedrooms[row]);
+        }
+        this.byBedrooms = order(keys, size, 2);
+
+        this.byType = new BitSet[PropertyType.values().length];
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new BitSet(size);
+        }
+        for (int row = 0; row < size; row++) {
+            if (types[row] != NO_TYPE) {
+                byType[types[row]].set(row);
+            }
+        }
+        this.typeCounts = new int[byType.length];
+        for (int i = 0; i < byType.length; i++) {
+            typeCounts[i] = byType[i].cardinality();
+        }
+    }
+
+    int rowOf(long id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        return row >= 0 ? row : -1;
+    }
+
+    BitSet rowsOfType(PropertyType type) {
+        return byType[type.ordinal()];
+    }
+
+    int countOfType(PropertyType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Posição da primeira linha com {@code coluna >= min} na permutação da coluna.
+     */
+    int lowerBound(String column, double min) {
+        int[] order = orderOf(column);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(key(column, order[mid]), min) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Posição seguinte à última linha com {@code coluna <= max} na permutação da coluna.
+     */
+    int upperBound(String column, double max) {
+        int[] order = orderOf(column);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(key(column, order[mid]), max) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int[] orderOf(String column) {
+        return switch (column) {
+            case "value" -> byValue;
+            case "area" -> byArea;
+            case "bedrooms" -> byBedrooms;
+            default -> throw new IllegalArgumentException("Coluna sem ordenação: " + column);
+        };
+    }
+
+    double key(String column, int row) {
+        return switch (column) {
+            case "id" -> ids[row];
+            case "value" -> values[row];
+            case "area" -> areas[row];
+            case "bedrooms" -> bedrooms[row];
+            default -> throw new IllegalArgumentException("Coluna desconhecida: " + column);
+        };
+    }
+
+    /**
+     * Junta as linhas vivas da base com as linhas do delta (já em ordem de id) numa nova base.
+     */
+    static CatalogColumns merge(CatalogColumns base, BitSet shadowed, List<PropertyCatalogRow> delta) {
+        int size = base.size - shadowed.cardinality() + delta.size();
+        long[] ids = new long[size];
+        double[] values = new double[size];
+        int[] areas = new int[size];
+        int[] bedrooms = new int[size];
+        byte[] types = new byte[size];
+
+        int out = 0;
+        int next = 0;
+        for (int row = shadowed.nextClearBit(0); row < base.size; row = shadowed.nextClearBit(row + 1)) {
+            while (next < delta.size() && delta.get(next).id() < base.ids[row]) {
+                copy(delta.get(next++), out++, ids, values, areas, bedrooms, types);
+            }
+            ids[out] = base.ids[row];
+            values[out] = base.values[row];
+            areas[out] = base.areas[row];
+            bedrooms[out] = base.bedrooms[row];
+            types[out] = base.types[row];
+            out++;
+        }
+        while (next < delta.size()) {
+            copy(delta.get(next++), out++, ids, values, areas, bedrooms, types);
+        }
+
+        return new CatalogColumns(ids, values, areas, bedrooms, types, size);
+    }
+
+    /**
+     * Monta a base a partir de linhas em ordem de id. Colunas nulas (só em dados inconsistentes) viram NaN ou
+     * {@code Integer.MIN_VALUE} e nunca casam com uma faixa.
+     */
+    static CatalogColumns of(List<PropertyCatalogRow> rows) {
+        return merge(EMPTY, new BitSet(), rows);
+    }
+
+    private static void copy(PropertyCatalogRow row, int out, long[] ids, double[] values, int[] areas,
+                             int[] bedrooms, byte[] types) {
+        ids[out] = row.id();
+        values[out] = row.value() != null ? row.value() : Double.NaN;
+        areas[out] = row.area() != null ? row.area() : Integer.MIN_VALUE;
+        bedrooms[out] = row.bedrooms() != null ? row.bedrooms() : Integer.MIN_VALUE;
+        types[out] = row.type() != null ? (byte) row.type().ordinal() : NO_TYPE;
+    }
+
+    // Ordenação indireta e estável (radix LSD de 16 bits): empates ficam na ordem das linhas, ou seja, do id
+    private static int[] order(long[] keys, int size, int passes) {
+        long[] sortedKeys = Arrays.copyOf(keys, size);
+        long[] keyBuffer = new long[size];
+        int[] order = new int[size];
+        int[] rowBuffer = new int[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = row;
+        }
+
+        int[] offsets = new int[(1 << 16) + 1];
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = pass * 16;
+            Arrays.fill(offsets, 0);
+            for (int i = 0; i < size; i++) {
+                offsets[digit(sortedKeys[i], shift) + 1]++;
+            }
+            for (int d = 0; d < 1 << 16; d++) {
+                offsets[d + 1] += offsets[d];
+            }
+            for (int i = 0; i < size; i++) {
+                int target = offsets[digit(sortedKeys[i], shift)]++;
+                keyBuffer[target] = sortedKeys[i];
+                rowBuffer[target] = order[i];
+            }
+
+            long[] keySwap = sortedKeys;
+            sortedKeys = keyBuffer;
+            keyBuffer = keySwap;
+            int[] rowSwap = order;
+            order = rowBuffer;
+            rowBuffer = rowSwap;
+        }
+        return order;
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) ((key >>> shift) & 0xFFFF);
+    }
+
+    // Chaves comparáveis como inteiros sem sinal, com a mesma ordem do Double.compare
+    private static long sortable(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    private static long sortable(int value) {
+        return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+}
@@ -0,0 +1,9 @@
+package com.joaopenascimento.backend.search;
+
+import java.util.List;
+
+/**
+ * Ids da página na ordem pedida e o total de imóveis que atendem ao filtro.
+ */
+public record CatalogPage(List<Long> ids, long total) {
+}
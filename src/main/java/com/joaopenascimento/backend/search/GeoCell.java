@@ -0,0 +1,56 @@
+package com.joaopenascimento.backend.search;
+
+import java.util.Arrays;
+
+/**
+ * Pontos de uma célula da grade em arrays paralelos. A ordem não importa, então a remoção troca pelo último.
+ */
+final class GeoCell {
+
+    private long[] ids = new long[4];
+    private double[] latitudes = new double[4];
+    private double[] longitudes = new double[4];
+    private int size;
+
+    void add(long id, double latitude, double longitude) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+        }
+        ids[size] = id;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        size++;
+    }
+
+    boolean remove(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                size--;
+                ids[i] = ids[size];
+                latitudes[i] = latitudes[size];
+                longitudes[i] = longitudes[size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    double latitudeAt(int index) {
+        return latitudes[index];
+    }
+
+    double longitudeAt(int index) {
+        return longitudes[index];
+    }
+}
@@ -0,0 +1,65 @@
+package com.joaopenascimento.backend.search;
+
+import java.util.Arrays;
+
+class PostingList {
+
+    private long[] ids = new long[4];
+    private int[] weights = new int[4];
+    private int size;
+
+    void put(long id, int weight) {
+        // Ids novos são sempre maiores, então o caso comum é um append
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+            return;
+        }
+
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            weights[pos] = weight;
+            return;
+        }
+
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        weights[insertAt] = weight;
+        size++;
+    }
+
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        System.arraycopy(weights, pos + 1, weights, pos, size - pos - 1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    int weightAt(int index) {
+        return weights[index];
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            int capacity = ids.length + (ids.length >> 1) + 1;
+            ids = Arrays.copyOf(ids, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.joaopenascimento.backend.search;
+
+import com.joaopenascimento.backend.model.enums.PropertyType;
+
+public record PropertyCatalogRow(Long id, Double value, Integer area, Integer bedrooms, PropertyType type) {
+}
@@ -0,0 +1,554 @@
+package com.joaopenascimento.backend.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.events.PropertiesImportedEvent;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snapshot colunar do catálogo para os filtros numéricos e de tipo do {@code GET /api/property}.
+ * A base ({@link CatalogColumns}) é imutável; as escritas vão para um delta pequeno que sombreia as linhas antigas
+ * e é compactado na base quando cresce. A consulta cruza bitsets da base e avalia o delta linha a linha.
+ * A compactação roda numa thread própria, fora do commit de quem escreveu; até ela terminar a consulta
+ * segue respondendo da base antiga com o delta.
+ */
+@Slf4j
+@Component
+public class PropertyCatalogSnapshot implements AutoCloseable {
+
+    private static final int LOAD_CHUNK_SIZE = 5000;
+    private static final int MIN_COMPACTION_THRESHOLD = 1024;
+    private static final int COMPACTION_DIVISOR = 32;
+    private static final Set<String> SORTABLE = Set.of("id", "value", "area", "bedrooms");
+
+    private final PropertyRepository propertyRepository;
+    private final Executor compactor;
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock maintenance = new ReentrantLock();
+    private CatalogColumns base = CatalogColumns.EMPTY;
+    private final BitSet shadowed = new BitSet();
+    private final Map<Long, PropertyCatalogRow> delta = new HashMap<>();
+    private int pendingChanges;
+    private List<PropertyCatalogRow> replay;
+    private Set<Long> replayRemovals;
+    private volatile boolean ready;
+
+    // A compactação segue o modo de threads da aplicação (spring.threads.virtual.enabled), como o Tomcat e o @Async
+    @Autowired
+    public PropertyCatalogSnapshot(PropertyRepository propertyRepository,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(propertyRepository, Executors.newSingleThreadExecutor(virtualThreads
+                ? Thread.ofVirtual().name("catalog-compaction").factory()
+                : Thread.ofPlatform().name("catalog-compaction").daemon(true).factory()));
+    }
+
+    PropertyCatalogSnapshot(PropertyRepository propertyRepository, Executor compactor) {
+        this.propertyRepository = propertyRepository;
+        this.compactor = compactor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int loaded;
+
+        maintenance.lock();
+        try {
+            startReplay();
+
+            List<PropertyCatalogRow> rows = new ArrayList<>();
+            long afterId = 0L;
+            List<PropertyCatalogRow> chunk;
+            do {
+                chunk = propertyRepository.findCatalogChunk(afterId, PageRequest.ofSize(LOAD_CHUNK_SIZE));
+                rows.addAll(chunk);
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).id();
+                }
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+            loaded = rows.size();
+            install(CatalogColumns.of(rows));
+        } finally {
+            maintenance.unlock();
+        }
+
+        ready = true;
+        log.info("Snapshot do catálogo carregado: {} imóveis em {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        PropertySnapshot after = event.after();
+        if (after == null) {
+            remove(event.propertyId());
+        } else {
+            upsert(rowOf(after));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        for (PropertySnapshot property : event.properties()) {
+            upsert(rowOf(property));
+        }
+    }
+
+    public boolean canAnswer() {
+        return ready;
+    }
+
+    public void upsert(PropertyCatalogRow row) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            if (replay != null) {
+                replay.add(row);
+                replayRemovals.remove(row.id());
+            }
+            upsertLocked(row);
+            compact = needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            scheduleCompaction();
+        }
+    }
+
+    public void remove(Long id) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            if (replay != null) {
+                replay.removeIf(row -> row.id().equals(id));
+                replayRemovals.add(id);
+            }
+            removeLocked(id);
+            compact = needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            scheduleCompaction();
+        }
+    }
+
+    /**
+     * Resolve filtro, ordenação e contagem sem o banco. Retorna {@code null} quando não sabe responder:
+     * snapshot frio, filtro de texto, página sem limite ou ordenação por coluna fora de {@code id/value/area/bedrooms}.
+     * {@code nearby} são os ids da busca geográfica (ou {@code null} sem área).
+     */
+    public CatalogPage query(PropertyFilter filter, List<Long> nearby, Pageable pageable) {
+        if (!ready || filter.name() != null || (filter.area() != null && nearby == null) || pageable.isUnpaged()) {
+            return null;
+        }
+
+        Sort.Order order = singleOrder(pageable.getSort());
+        if (order == null) {
+            return null;
+        }
+        String column = order.getProperty();
+        boolean ascending = order.isAscending();
+        Set<Long> nearbyIds = nearby == null ? null : new HashSet<>(nearby);
+
+        lock.readLock().lock();
+        try {
+            BitSet rows = baseRows(filter, nearby);
+
+            ToDoubleFunction<PropertyCatalogRow> key = keyOf(column);
+            Comparator<PropertyCatalogRow> comparator = Comparator.comparingDouble(key)
+                    .thenComparingLong(PropertyCatalogRow::id);
+            if (!ascending) {
+                comparator = comparator.reversed();
+            }
+
+            // Do delta só interessam as primeiras offset + size linhas na ordem pedida
+            long wanted = pageable.getOffset() + pageable.getPageSize();
+            int matched = 0;
+            PriorityQueue<PropertyCatalogRow> top = new PriorityQueue<>(comparator.reversed());
+            for (PropertyCatalogRow row : delta.values()) {
+                if (!matches(filter, nearbyIds, row)) {
+                    continue;
+                }
+                matched++;
+                if (top.size() < wanted) {
+                    top.add(row);
+                } else if (comparator.compare(row, top.peek()) < 0) {
+                    top.poll();
+                    top.add(row);
+                }
+            }
+            List<PropertyCatalogRow> extra = new ArrayList<>(top);
+            extra.sort(comparator);
+
+            long total = rows.cardinality() + (long) matched;
+            List<Long> ids = collect(rows, extra, column, key, ascending, pageable.getOffset(), pageable.getPageSize());
+            return new CatalogPage(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return base.size - shadowed.cardinality() + delta.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A faixa mais estreita vira bitset e cruza com o bitset do tipo; as faixas largas são conferidas só nas
+    // linhas que sobraram, a menos que ainda sobrem mais linhas do que a própria faixa cobre
+    private BitSet baseRows(PropertyFilter filter, List<Long> nearby) {
+        List<RangeFilter> ranges = new ArrayList<>(2);
+        if (filter.minPrice() != null || filter.maxPrice() != null) {
+            ranges.add(new RangeFilter(base, "value",
+                    filter.minPrice() != null ? filter.minPrice() : Double.NEGATIVE_INFINITY,
+                    filter.maxPrice() != null ? filter.maxPrice() : Double.POSITIVE_INFINITY));
+        }
+        if (filter.minBedrooms() != null) {
+            ranges.add(new RangeFilter(base, "bedrooms", filter.minBedrooms(), Double.POSITIVE_INFINITY));
+        }
+        ranges.sort(Comparator.comparingInt(RangeFilter::span));
+
+        BitSet rows = new BitSet(base.size);
+        if (nearby != null) {
+            for (Long id : nearby) {
+                int row = base.rowOf(id);
+                if (row >= 0) {
+                    rows.set(row);
+                }
+            }
+        } else if (!ranges.isEmpty()) {
+            ranges.remove(0).addTo(rows);
+        } else {
+            rows.set(0, base.size);
+        }
+
+        if (filter.type() != null) {
+            rows.and(base.rowsOfType(filter.type()));
+        }
+        rows.andNot(shadowed);
+
+        for (RangeFilter range : ranges) {
+            int remaining = rows.cardinality();
+            if (remaining == 0) {
+                break;
+            }
+            if (remaining < range.span()) {
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    if (!range.accepts(row)) {
+                        rows.clear(row);
+                    }
+                }
+            } else {
+                BitSet bits = new BitSet(base.size);
+                range.addTo(bits);
+                rows.and(bits);
+            }
+        }
+
+        return rows;
+    }
+
+    // Faixa [min, max] de uma coluna, já resolvida em posições da permutação ordenada
+    private record RangeFilter(CatalogColumns columns, String column, double min, double max, int from, int to) {
+
+        RangeFilter(CatalogColumns columns, String column, double min, double max) {
+            this(columns, column, min, max, columns.lowerBound(column, min), columns.upperBound(column, max));
+        }
+
+        int span() {
+            return to - from;
+        }
+
+        void addTo(BitSet rows) {
+            int[] order = columns.orderOf(column);
+            for (int i = from; i < to; i++) {
+                rows.set(order[i]);
+            }
+        }
+
+        // Mesma comparação da busca binária: NaN (valor nulo) fica depois de +infinito e nunca entra
+        boolean accepts(int row) {
+            double key = columns.key(column, row);
+            return Double.compare(key, min) >= 0 && Double.compare(key, max) <= 0;
+        }
+    }
+
+    // Intercala a base (já ordenada pela permutação da coluna) com o delta ordenado, pulando o offset
+    private List<Long> collect(BitSet rows, List<PropertyCatalogRow> extra, String column,
+                               ToDoubleFunction<PropertyCatalogRow> key, boolean ascending, long offset, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        BaseCursor cursor = new BaseCursor(rows, column, ascending);
+        int row = cursor.next();
+        int next = 0;
+        long skip = offset;
+
+        while (ids.size() < limit && (row >= 0 || next < extra.size())) {
+            boolean fromDelta;
+            if (row < 0) {
+                fromDelta = true;
+            } else if (next >= extra.size()) {
+                fromDelta = false;
+            } else {
+                PropertyCatalogRow candidate = extra.get(next);
+                int cmp = Double.compare(key.applyAsDouble(candidate), base.key(column, row));
+                if (cmp == 0) {
+                    cmp = Long.compare(candidate.id(), base.ids[row]);
+                }
+                fromDelta = ascending ? cmp < 0 : cmp > 0;
+            }
+
+            long id;
+            if (fromDelta) {
+                id = extra.get(next++).id();
+            } else {
+                id = base.ids[row];
+                row = cursor.next();
+            }
+
+            if (skip > 0) {
+                skip--;
+            } else {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private final class BaseCursor {
+        private final BitSet rows;
+        private final int[] order;
+        private final boolean ascending;
+        private int position;
+
+        BaseCursor(BitSet rows, String column, boolean ascending) {
+            this.rows = rows;
+            this.order = column.equals("id") ? null : base.orderOf(column);
+            this.ascending = ascending;
+            this.position = ascending ? 0 : base.size - 1;
+        }
+
+        int next() {
+            if (order == null) {
+                int row = ascending ? rows.nextSetBit(position) : rows.previousSetBit(position);
+                if (row >= 0) {
+                    position = ascending ? row + 1 : row - 1;
+                }
+                return row;
+            }
+
+            while (position >= 0 && position < order.length) {
+                int row = order[position];
+                position += ascending ? 1 : -1;
+                if (rows.get(row)) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (compactor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    // Uma compactação na fila basta: ela absorve todo o delta que houver quando começar
+    private void scheduleCompaction() {
+        if (!compactionQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactor.execute(() -> {
+                compactionQueued.set(false);
+                try {
+                    compact();
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao compactar o snapshot do catálogo; segue respondendo com o delta", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Aplicação encerrando: o delta continua valendo
+            compactionQueued.set(false);
+        }
+    }
+
+    /**
+     * Incorpora o delta numa nova base. A base é montada fora do lock de escrita, então consultas e escritas
+     * seguem normalmente; as escritas feitas nesse meio tempo são reaplicadas sobre a nova base, como na carga.
+     */
+    void compact() {
+        // Outra compactação (ou a carga) já está em andamento e vai absorver o delta
+        if (!maintenance.tryLock()) {
+            return;
+        }
+        try {
+            CatalogColumns current;
+            BitSet hidden;
+            List<PropertyCatalogRow> changes;
+            lock.writeLock().lock();
+            try {
+                if (pendingChanges == 0) {
+                    return;
+                }
+                startReplay();
+                current = base;
+                hidden = (BitSet) shadowed.clone();
+                changes = new ArrayList<>(delta.values());
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            changes.sort(Comparator.comparingLong(PropertyCatalogRow::id));
+            install(CatalogColumns.merge(current, hidden, changes));
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    private void startReplay() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+            replayRemovals = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Troca a base e reaplica as escritas registradas desde o startReplay
+    private void install(CatalogColumns columns) {
+        lock.writeLock().lock();
+        try {
+            base = columns;
+            shadowed.clear();
+            delta.clear();
+            pendingChanges = 0;
+
+            List<PropertyCatalogRow> upserts = replay;
+            Set<Long> removals = replayRemovals;
+            replay = null;
+            replayRemovals = null;
+            for (PropertyCatalogRow row : upserts) {
+                upsertLocked(row);
+            }
+            for (Long id : removals) {
+                removeLocked(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsertLocked(PropertyCatalogRow row) {
+        int baseRow = base.rowOf(row.id());
+        if (baseRow >= 0) {
+            shadowed.set(baseRow);
+        }
+        delta.put(row.id(), row);
+        pendingChanges++;
+    }
+
+    private void removeLocked(Long id) {
+        int baseRow = base.rowOf(id);
+        if (baseRow >= 0) {
+            shadowed.set(baseRow);
+        }
+        delta.remove(id);
+        pendingChanges++;
+    }
+
+    // Compacta quando o delta passa de ~3% do catálogo
+    private boolean needsCompaction() {
+        return pendingChanges >= Math.max(MIN_COMPACTION_THRESHOLD, base.size / COMPACTION_DIVISOR);
+    }
+
+    private static PropertyCatalogRow rowOf(PropertySnapshot property) {
+        return new PropertyCatalogRow(property.id(), property.value(), property.area(), property.bedrooms(), property.type());
+    }
+
+    private static boolean matches(PropertyFilter filter, Set<Long> nearbyIds, PropertyCatalogRow row) {
+        if (filter.type() != null && filter.type() != row.type()) {
+            return false;
+        }
+        if (filter.minPrice() != null && (row.value() == null || row.value() < filter.minPrice())) {
+            return false;
+        }
+        if (filter.maxPrice() != null && (row.value() == null || row.value() > filter.maxPrice())) {
+            return false;
+        }
+        if (filter.minBedrooms() != null && (row.bedrooms() == null || row.bedrooms() < filter.minBedrooms())) {
+            return false;
+        }
+        return nearbyIds == null || nearbyIds.contains(row.id());
+    }
+
+    // Mesmos valores que a base guarda para colunas nulas, para a intercalação concordar com a ordem da base
+    private static ToDoubleFunction<PropertyCatalogRow> keyOf(String column) {
+        return switch (column) {
+            case "id" -> row -> row.id();
+            case "value" -> row -> row.value() != null ? row.value() : Double.NaN;
+            case "area" -> row -> row.area() != null ? row.area() : Integer.MIN_VALUE;
+            default -> row -> row.bedrooms() != null ? row.bedrooms() : Integer.MIN_VALUE;
+        };
+    }
+
+    // Sem ordenação vale o padrão do endpoint (id desc); com mais de uma ordem, só se a segunda for o próprio id
+    private static Sort.Order singleOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return Sort.Order.desc("id");
+        }
+
+        Sort.Order first = orders.get(0);
+        if (!SORTABLE.contains(first.getProperty()) || first.isIgnoreCase()) {
+            return null;
+        }
+        if (orders.size() == 1) {
+            return first;
+        }
+        if (orders.size() == 2 && orders.get(1).getProperty().equals("id") && orders.get(1).getDirection() == first.getDirection()) {
+            return first;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.joaopenascimento.backend.search;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.joaopenascimento.backend.config.PrimaryReads;
+import com.joaopenascimento.backend.events.BrokerRenamedEvent;
+import com.joaopenascimento.backend.events.PropertiesImportedEvent;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.model.CatalogVersion;
+import com.joaopenascimento.backend.repositories.CatalogVersionRepository;
+
+/**
+ * Versão do catálogo inteiro, base do ETag e do Last-Modified das listagens. Fica no banco, numa linha só, e
+ * avança depois do commit de cada escrita do PropertyService, lote do import ou troca de nome de corretor
+ * (as listagens embutem o nome), numa transação própria e curta: a trava da linha dura só o update dela, não a
+ * escrita inteira, então escritas no catálogo de instâncias diferentes não se enfileiram nela. Como a versão
+ * avança depois dos dados, quem lê uma versão nova já enxerga os dados dela, em qualquer instância; no intervalo
+ * entre o commit e o avanço uma revalidação ainda pode receber 304 sobre a versão anterior.
+ */
+@Component
+public class PropertyCatalogVersion {
+
+    private final CatalogVersionRepository repository;
+    private final Clock clock;
+
+    @Autowired
+    public PropertyCatalogVersion(CatalogVersionRepository repository) {
+        this(repository, Clock.systemUTC());
+    }
+
+    PropertyCatalogVersion(CatalogVersionRepository repository, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    /**
+     * Deve ser lida antes de montar a resposta: a página pode sair mais nova que a versão, nunca mais velha.
+     */
+    public Current current() {
+        // Numa réplica atrasada a versão velha casaria com o ETag do cliente e responderia 304 sobre dados velhos
+        return PrimaryReads.call(() -> repository.findRowById(CatalogVersion.ID))
+                .map(row -> new Current(row.etag(), row.updatedAt()))
+                .orElse(new Current("0", Instant.EPOCH));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        if (!event.properties().isEmpty()) {
+            bump();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBrokerRenamed(BrokerRenamedEvent event) {
+        bump();
+    }
+
+    // Sem a linha da migração (esquema criado pelo Hibernate nos testes), a primeira escrita a cria
+    private void bump() {
+        Instant now = clock.instant();
+        if (repository.bump(CatalogVersion.ID, now) == 0) {
+            repository.save(new CatalogVersion(CatalogVersion.ID, 1L, now));
+        }
+    }
+
+    public record Current(String etag, Instant lastModified) {
+    }
+}
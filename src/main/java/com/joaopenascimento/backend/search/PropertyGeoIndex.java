@@ -0,0 +1,275 @@
+package com.joaopenascimento.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.joaopenascimento.backend.dto.property.GeoArea;
+import com.joaopenascimento.backend.events.PropertiesImportedEvent;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grade uniforme em memória sobre as coordenadas dos imóveis.
+ * Cada célula cobre {@code api.search.geo.cell-degrees} graus e a busca só visita as células que cruzam a área.
+ */
+@Slf4j
+@Component
+public class PropertyGeoIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 5000;
+
+    private final PropertyRepository propertyRepository;
+    private final double cellDegrees;
+    private final int maxCandidates;
+
+    private final Map<Long, GeoCell> cells = new HashMap<>();
+    private final Map<Long, Long> cellOf = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Set<Long> changedDuringLoad;
+    private volatile boolean ready;
+
+    public PropertyGeoIndex(PropertyRepository propertyRepository,
+                            @Value("${api.search.geo.cell-degrees:0.05}") double cellDegrees,
+                            @Value("${api.search.geo.max-candidates:1000}") int maxCandidates) {
+        this.propertyRepository = propertyRepository;
+        this.cellDegrees = cellDegrees;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Carrega a grade em blocos enquanto os eventos de escrita já são aplicados; como no índice de texto,
+     * o imóvel movido ou removido por evento durante a carga não volta à posição lida no bloco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long afterId = 0L;
+        List<PropertyPoint> chunk;
+
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            do {
+                chunk = propertyRepository.findPointChunk(afterId, PageRequest.ofSize(LOAD_CHUNK_SIZE));
+                for (PropertyPoint point : chunk) {
+                    load(point);
+                }
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).id();
+                }
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        ready = true;
+        log.info("Índice geográfico carregado: {} imóveis em {} células em {} ms",
+                size(), cellCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        PropertySnapshot after = event.after();
+        if (after == null || after.latitude() == null || after.longitude() == null) {
+            remove(event.propertyId());
+        } else {
+            put(event.propertyId(), after.latitude(), after.longitude());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        for (PropertySnapshot property : event.properties()) {
+            if (property.latitude() != null && property.longitude() != null) {
+                put(property.id(), property.latitude(), property.longitude());
+            }
+        }
+    }
+
+    public boolean canAnswer() {
+        return ready;
+    }
+
+    public void put(Long id, double latitude, double longitude) {
+        long key = cellKey(latitude, longitude);
+
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(id);
+            }
+            putLocked(id, key, latitude, longitude);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(id);
+            }
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os ids dentro da área em ordem crescente, ou {@code null} quando passam de
+     * {@code api.search.geo.max-candidates}: nesse caso o filtro fica só no banco.
+     */
+    public List<Long> search(GeoArea area) {
+        int minRow = row(area.minLatitude());
+        int maxRow = row(area.maxLatitude());
+        int minCol = col(area.minLongitude());
+        int maxCol = col(area.maxLongitude());
+        double scale = area.isRadius() ? area.longitudeScale() : 1.0;
+
+        long[] found = new long[16];
+        int count = 0;
+
+        lock.readLock().lock();
+        try {
+            long cellsInRange = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+
+            // Áreas grandes e esparsas: mais barato percorrer as células ocupadas do que o retângulo inteiro
+            List<GeoCell> candidates = new ArrayList<>();
+            if (cellsInRange <= cells.size()) {
+                for (int row = minRow; row <= maxRow; row++) {
+                    for (int col = minCol; col <= maxCol; col++) {
+                        GeoCell cell = cells.get(cellKey(row, col));
+                        if (cell != null) {
+                            candidates.add(cell);
+                        }
+                    }
+                }
+            } else {
+                for (Map.Entry<Long, GeoCell> entry : cells.entrySet()) {
+                    int row = (int) (entry.getKey() >> 32);
+                    int col = (int) entry.getKey().longValue();
+                    if (row >= minRow && row <= maxRow && col >= minCol && col <= maxCol) {
+                        candidates.add(entry.getValue());
+                    }
+                }
+            }
+
+            for (GeoCell cell : candidates) {
+                for (int i = 0; i < cell.size(); i++) {
+                    if (!area.contains(cell.latitudeAt(i), cell.longitudeAt(i), scale)) {
+                        continue;
+                    }
+                    if (count == maxCandidates) {
+                        return null;
+                    }
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = cell.idAt(i);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Arrays.sort(found, 0, count);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(found[i]);
+        }
+        return ids;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cellCount() {
+        lock.readLock().lock();
+        try {
+            return cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ponto lido pela carga: perde para qualquer evento aplicado desde o início dela
+    private void load(PropertyPoint point) {
+        long key = cellKey(point.latitude(), point.longitude());
+
+        lock.writeLock().lock();
+        try {
+            if (!changedDuringLoad.contains(point.id())) {
+                putLocked(point.id(), key, point.latitude(), point.longitude());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Long id, long key, double latitude, double longitude) {
+        removeLocked(id);
+        cells.computeIfAbsent(key, k -> new GeoCell()).add(id, latitude, longitude);
+        cellOf.put(id, key);
+    }
+
+    private void removeLocked(Long id) {
+        Long key = cellOf.remove(id);
+        if (key == null) {
+            return;
+        }
+
+        GeoCell cell = cells.get(key);
+        if (cell != null && cell.remove(id) && cell.size() == 0) {
+            cells.remove(key);
+        }
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellDegrees);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / cellDegrees);
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return cellKey(row(latitude), col(longitude));
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+}
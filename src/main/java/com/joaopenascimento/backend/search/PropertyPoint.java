@@ -0,0 +1,4 @@
+package com.joaopenascimento.backend.search;
+
+public record PropertyPoint(Long id, Double latitude, Double longitude) {
+}
@@ -0,0 +1,193 @@
+package com.joaopenascimento.backend.search;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.events.BrokerRenamedEvent;
+import com.joaopenascimento.backend.events.PropertiesImportedEvent;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache das páginas do {@code GET /api/property}, chaveado pelo filtro normalizado + Pageable.
+ * Uma escrita só derruba as entradas cujo filtro casa com o estado anterior ou novo do imóvel alterado.
+ * <p>
+ * As faltas são carregadas como qualquer leitura, das réplicas quando há. A invalidação acontece no commit do
+ * primário e uma réplica pode ainda não ter a escrita, então uma página carregada até {@code replicaLag} depois
+ * da última invalidação é devolvida mas não guardada; também não é guardada a que cruzou uma invalidação.
+ * Limite de defasagem de uma página guardada: o atraso real da réplica além de {@code replicaLag} para escritas
+ * desta instância; até o TTL para as de outras instâncias, que não passam pelos eventos daqui.
+ */
+@Component
+public class PropertyQueryCache {
+
+    private final boolean enabled;
+    private final Cache<Key, Page<PropertyDTO>> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final long replicaLagNanos;
+    private final Ticker ticker;
+    private volatile long invalidatedAt;
+    private final Counter invalidations;
+
+    // Sem réplicas toda leitura vai ao primário e não há atraso a esperar
+    @Autowired
+    public PropertyQueryCache(@Value("${api.cache.property-query.enabled:true}") boolean enabled,
+                              @Value("${api.cache.property-query.max-size:10000}") long maxSize,
+                              @Value("${api.cache.property-query.ttl:60s}") Duration ttl,
+                              @Value("${api.datasource.replicas:}") String replicas,
+                              @Value("${api.datasource.replica.max-lag:5s}") Duration replicaMaxLag,
+                              MeterRegistry meterRegistry) {
+        this(enabled, maxSize, ttl, replicas.isBlank() ? Duration.ZERO : replicaMaxLag, meterRegistry, Ticker.systemTicker());
+    }
+
+    public PropertyQueryCache(boolean enabled, long maxSize, Duration ttl, Duration replicaLag,
+                              MeterRegistry meterRegistry, Ticker ticker) {
+        this.enabled = enabled;
+        this.replicaLagNanos = replicaLag.toNanos();
+        this.ticker = ticker;
+        this.invalidatedAt = ticker.read() - replicaLagNanos;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", "propertyQuery")
+                .description("Entradas removidas por escritas em imóveis")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "propertyQuery");
+    }
+
+    public Page<PropertyDTO> get(PropertyFilter filter, Pageable pageable, Supplier<Page<PropertyDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key = new Key(filter, pageable);
+        Page<PropertyDTO> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startedAt = generation.get();
+        boolean replicaCaughtUp = ticker.read() - invalidatedAt >= replicaLagNanos;
+        Page<PropertyDTO> page = loader.get();
+        if (!replicaCaughtUp) {
+            return page;
+        }
+        cache.put(key, page);
+
+        // Uma escrita confirmada durante a consulta pode ter deixado a página desatualizada
+        if (generation.get() != startedAt) {
+            cache.invalidate(key);
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        invalidated();
+        cache.asMap().keySet().removeIf(key -> {
+            boolean affected = affects(key.filter(), event.before()) || affects(key.filter(), event.after());
+            if (affected) {
+                invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    // Um lote importado costuma cair em quase todos os filtros: limpar sai mais barato que conferir entrada por entrada
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        if (!enabled || event.properties().isEmpty()) {
+            return;
+        }
+
+        invalidated();
+        invalidations.increment(cache.estimatedSize());
+        cache.invalidateAll();
+    }
+
+    // As páginas embutem o nome do corretor: cai só o que mostra algum imóvel dele
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBrokerRenamed(BrokerRenamedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        invalidated();
+        cache.asMap().values().removeIf(page -> {
+            boolean affected = page.getContent().stream()
+                    .anyMatch(property -> event.brokerId().equals(property.brokerId()));
+            if (affected) {
+                invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    private void invalidated() {
+        invalidatedAt = ticker.read();
+        generation.incrementAndGet();
+    }
+
+    private static boolean affects(PropertyFilter filter, PropertySnapshot property) {
+        if (property == null) {
+            return false;
+        }
+
+        if (filter.name() != null && !matchesName(filter.name(), property)) {
+            return false;
+        }
+
+        if (filter.type() != null && filter.type() != property.type()) {
+            return false;
+        }
+
+        if (filter.minPrice() != null && (property.value() == null || property.value() < filter.minPrice())) {
+            return false;
+        }
+
+        if (filter.maxPrice() != null && (property.value() == null || property.value() > filter.maxPrice())) {
+            return false;
+        }
+
+        if (filter.area() != null && !filter.area().contains(property.latitude(), property.longitude())) {
+            return false;
+        }
+
+        return filter.minBedrooms() == null
+                || (property.bedrooms() != null && property.bedrooms() >= filter.minBedrooms());
+    }
+
+    // O índice de texto e o search_text do banco têm a mesma semântica, então basta uma checagem
+    private static boolean matchesName(String name, PropertySnapshot property) {
+        return PropertyTextIndex.matches(name, property.name(), property.description());
+    }
+
+    private record Key(PropertyFilter filter, Pageable pageable) {
+    }
+}
@@ -0,0 +1,4 @@
+package com.joaopenascimento.backend.search;
+
+public record PropertyText(Long id, String name, String description) {
+}
@@ -0,0 +1,332 @@
+package com.joaopenascimento.backend.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.joaopenascimento.backend.events.PropertiesImportedEvent;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice invertido em memória sobre nome e descrição dos imóveis.
+ * Os termos são normalizados pelo {@link TextNormalizer} e cada posting guarda o peso do termo no documento.
+ */
+@Slf4j
+@Component
+public class PropertyTextIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double PREFIX_BOOST = 0.5;
+    private static final int LOAD_CHUNK_SIZE = 5000;
+
+    private final PropertyRepository propertyRepository;
+    private final int maxCandidates;
+
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Set<Long> changedDuringLoad;
+    private volatile boolean ready;
+
+    public PropertyTextIndex(PropertyRepository propertyRepository,
+                             @Value("${api.search.text.max-candidates:1000}") int maxCandidates) {
+        this.propertyRepository = propertyRepository;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Carrega o índice em blocos enquanto os eventos de escrita já são aplicados. Um bloco pode ter sido lido
+     * antes de uma atualização concorrente, então o imóvel alterado por evento durante a carga não é sobrescrito
+     * pela linha do bloco: o evento é sempre mais novo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long afterId = 0L;
+        List<PropertyText> chunk;
+
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            do {
+                chunk = propertyRepository.findTextChunk(afterId, PageRequest.ofSize(LOAD_CHUNK_SIZE));
+                for (PropertyText text : chunk) {
+                    load(text);
+                }
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).id();
+                }
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        ready = true;
+        log.info("Índice de texto carregado: {} imóveis, {} termos em {} ms",
+                documentCount(), termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.type() == PropertyChangedEvent.Type.DELETED) {
+            remove(event.propertyId());
+        } else {
+            index(event.propertyId(), event.after().name(), event.after().description());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        for (PropertySnapshot property : event.properties()) {
+            index(property.id(), property.name(), property.description());
+        }
+    }
+
+    /**
+     * Avalia a busca contra um único imóvel com a mesma semântica do {@link #search(String)}, sem consultar o índice.
+     */
+    public static boolean matches(String query, String name, String description) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return false;
+        }
+
+        Set<String> terms = new HashSet<>(TextNormalizer.tokenize(name));
+        terms.addAll(TextNormalizer.tokenize(description));
+
+        for (String token : tokens) {
+            boolean found = token.length() < MIN_PREFIX_LENGTH
+                    ? terms.contains(token)
+                    : terms.stream().anyMatch(term -> term.startsWith(token));
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Padrões {@code like} sobre a coluna {@code search_text}, um por termo da busca, com a mesma semântica
+     * do {@link #search(String)}: prefixo de um termo, ou termo exato para termos de uma letra.
+     * Lista vazia quando a busca só tem stopwords, que nunca casa.
+     */
+    public static List<String> likePatterns(String query) {
+        return TextNormalizer.tokenize(query).stream()
+                .distinct()
+                .map(token -> token.length() < MIN_PREFIX_LENGTH ? "% " + token + " %" : "% " + token + "%")
+                .toList();
+    }
+
+    public boolean canAnswer(String query) {
+        return ready && !TextNormalizer.tokenize(query).isEmpty();
+    }
+
+    public void index(Long id, String name, String description) {
+        Map<String, Integer> weights = weightsOf(name, description);
+
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(id);
+            }
+            indexLocked(id, weights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(id);
+            }
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os ids que contêm todos os termos da busca (por termo exato ou prefixo), ordenados por relevância,
+     * ou {@code null} quando passam de {@code api.search.text.max-candidates}: cortar a lista antes dos outros
+     * filtros perderia resultados, então nesse caso o filtro de texto fica no banco, com a mesma semântica.
+     */
+    public List<Long> search(String query) {
+        return rank(query, maxCandidates);
+    }
+
+    /**
+     * Todos os ids que casam, em ordem de relevância, para ordenar uma busca que estourou o {@link #search(String)}.
+     * {@code null} quando um prefixo curto casa termos demais para o índice expandir.
+     */
+    public List<Long> rank(String query) {
+        return rank(query, Integer.MAX_VALUE);
+    }
+
+    private List<Long> rank(String query, int limit) {
+        List<String> tokens = TextNormalizer.tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        ScoredIds scores = null;
+
+        lock.readLock().lock();
+        try {
+            int documents = documentTerms.size();
+            for (String token : tokens) {
+                ScoredIds tokenScores = score(token, documents);
+                if (tokenScores == null) {
+                    return null;
+                }
+                scores = scores == null ? tokenScores : ScoredIds.intersect(scores, tokenScores);
+                if (scores.size == 0) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (scores.size > limit) {
+            return null;
+        }
+        return scores.top(scores.size);
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ScoredIds score(String token, int documents) {
+        SortedMap<String, PostingList> matches;
+        if (token.length() < MIN_PREFIX_LENGTH) {
+            matches = postings.subMap(token, true, token, true);
+        } else {
+            matches = postings.subMap(token, token + Character.MAX_VALUE);
+        }
+
+        // Cortar a expansão perderia imóveis; o banco resolve o prefixo inteiro
+        ScoredIds scores = ScoredIds.EMPTY;
+        int expansions = 0;
+        for (Map.Entry<String, PostingList> entry : matches.entrySet()) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                return null;
+            }
+
+            PostingList list = entry.getValue();
+            double idf = Math.log(1.0 + (double) documents / list.size());
+            double boost = entry.getKey().length() == token.length() ? 1.0 : PREFIX_BOOST;
+
+            scores = ScoredIds.union(scores, ScoredIds.of(list, idf * boost));
+        }
+        return scores;
+    }
+
+    // Linha lida pela carga: perde para qualquer evento aplicado desde o início dela
+    private void load(PropertyText text) {
+        Map<String, Integer> weights = weightsOf(text.name(), text.description());
+
+        lock.writeLock().lock();
+        try {
+            if (!changedDuringLoad.contains(text.id())) {
+                indexLocked(text.id(), weights);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> weightsOf(String name, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : TextNormalizer.tokenize(name)) {
+            weights.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : TextNormalizer.tokenize(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return weights;
+    }
+
+    private void indexLocked(Long id, Map<String, Integer> weights) {
+        removeLocked(id);
+
+        String[] terms = new String[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            String term = entry.getKey();
+            PostingList list = postings.get(term);
+            if (list == null) {
+                list = new PostingList();
+                postings.put(term, list);
+            } else {
+                term = postings.ceilingKey(term);
+            }
+            list.put(id, entry.getValue());
+            terms[i++] = term;
+        }
+        documentTerms.put(id, terms);
+    }
+
+    private void removeLocked(Long id) {
+        String[] terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            list.remove(id);
+            if (list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.joaopenascimento.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Lista de ids ordenada com a pontuação de cada um. As operações de união e interseção
+ * fazem merge linear, aproveitando que as posting lists já estão ordenadas por id.
+ */
+final class ScoredIds {
+
+    static final ScoredIds EMPTY = new ScoredIds(new long[0], new double[0], 0);
+
+    private static final int GALLOP_RATIO = 16;
+
+    final long[] ids;
+    final double[] scores;
+    final int size;
+
+    private ScoredIds(long[] ids, double[] scores, int size) {
+        this.ids = ids;
+        this.scores = scores;
+        this.size = size;
+    }
+
+    static ScoredIds of(PostingList list, double factor) {
+        int size = list.size();
+        long[] ids = new long[size];
+        double[] scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = list.idAt(i);
+            scores[i] = list.weightAt(i) * factor;
+        }
+        return new ScoredIds(ids, scores, size);
+    }
+
+    static ScoredIds union(ScoredIds left, ScoredIds right) {
+        if (left.size == 0) {
+            return right;
+        }
+        if (right.size == 0) {
+            return left;
+        }
+
+        long[] ids = new long[left.size + right.size];
+        double[] scores = new double[ids.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+
+        while (i < left.size && j < right.size) {
+            long a = left.ids[i];
+            long b = right.ids[j];
+            if (a == b) {
+                ids[n] = a;
+                scores[n++] = left.scores[i++] + right.scores[j++];
+            } else if (a < b) {
+                ids[n] = a;
+                scores[n++] = left.scores[i++];
+            } else {
+                ids[n] = b;
+                scores[n++] = right.scores[j++];
+            }
+        }
+        while (i < left.size) {
+            ids[n] = left.ids[i];
+            scores[n++] = left.scores[i++];
+        }
+        while (j < right.size) {
+            ids[n] = right.ids[j];
+            scores[n++] = right.scores[j++];
+        }
+        return new ScoredIds(ids, scores, n);
+    }
+
+    static ScoredIds intersect(ScoredIds left, ScoredIds right) {
+        ScoredIds small = left.size <= right.size ? left : right;
+        ScoredIds large = small == left ? right : left;
+
+        long[] ids = new long[small.size];
+        double[] scores = new double[small.size];
+        int n = 0;
+
+        if ((long) small.size * GALLOP_RATIO < large.size) {
+            // Lista pequena contra lista grande: busca binária avançando o início da janela
+            int from = 0;
+            for (int i = 0; i < small.size && from < large.size; i++) {
+                int pos = Arrays.binarySearch(large.ids, from, large.size, small.ids[i]);
+                if (pos >= 0) {
+                    ids[n] = small.ids[i];
+                    scores[n++] = small.scores[i] + large.scores[pos];
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.size && j < large.size) {
+                long a = small.ids[i];
+                long b = large.ids[j];
+                if (a == b) {
+                    ids[n] = a;
+                    scores[n++] = small.scores[i++] + large.scores[j++];
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return new ScoredIds(ids, scores, n);
+    }
+
+    /**
+     * Os {@code limit} ids de maior pontuação, do mais relevante para o menos relevante.
+     * Em caso de empate, o id mais recente vem primeiro.
+     */
+    List<Long> top(int limit) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, size) + 1, this::compare);
+        for (int i = 0; i < size; i++) {
+            if (heap.size() < limit) {
+                heap.add(i);
+            } else if (compare(i, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        List<Long> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(ids[heap.poll()]);
+        }
+        return result.reversed();
+    }
+
+    private int compare(int a, int b) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        return byScore != 0 ? byScore : Long.compare(ids[a], ids[b]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.joaopenascimento.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    // Já sem acento, pois a comparação é feita depois da normalização
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas",
+            "de", "da", "do", "das", "dos", "e", "em", "no", "na", "nos", "nas",
+            "ao", "aos", "com", "para", "pra", "por", "pelo", "pela", "que", "se", "ou"
+    );
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Termos de todos os textos separados e cercados por espaço, como na coluna {@code search_text}:
+     * {@code like '% termo%'} casa pelo prefixo de um termo e {@code like '% t %'} pelo termo exato.
+     */
+    public static String searchText(String... texts) {
+        StringBuilder terms = new StringBuilder(" ");
+        for (String text : texts) {
+            for (String token : tokenize(text)) {
+                terms.append(token).append(' ');
+            }
+        }
+        return terms.toString();
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,25 @@
+package com.joaopenascimento.backend.services;
+
+import java.time.Instant;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import com.joaopenascimento.backend.model.enums.UserRole;
+
+/**
+ * Principal montado pelo SecurityFilter a partir das claims do JWT, sem consultar o banco.
+ * {@code getName()} devolve o e-mail, o mesmo subject do token. {@code tokenId}, {@code issuedAt} e
+ * {@code expiresAt} vêm do próprio token e servem à revogação; são null quando o principal não veio de um JWT.
+ */
+public record AuthenticatedUser(Long id, String email, UserRole role, String tokenId, Instant issuedAt,
+                                Instant expiresAt) implements AuthenticatedPrincipal {
+
+    public AuthenticatedUser(Long id, String email, UserRole role) {
+        this(id, email, role, null, null, null);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
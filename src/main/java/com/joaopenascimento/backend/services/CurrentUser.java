@@ -0,0 +1,111 @@
+package com.joaopenascimento.backend.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.joaopenascimento.backend.dto.user.UserDTO;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.repositories.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Usuário da requisição atual, lido do SecurityContext dela. Com o principal montado das claims do JWT,
+ * checar papel ou dono não vai ao banco. O que não está no token sai de um cache limitado por e-mail,
+ * que o UserService invalida ao gravar um usuário; entre instâncias a defasagem fica limitada ao TTL.
+ */
+@Component
+public class CurrentUser {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, UserDTO> profiles;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public CurrentUser(UserRepository userRepository,
+                       @Value("${api.cache.user.max-size:10000}") long maxSize,
+                       @Value("${api.cache.user.ttl:5m}") Duration ttl,
+                       MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "user");
+    }
+
+    public AuthenticatedUser get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new RuntimeException("Usuário autenticado não encontrado");
+        }
+
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+
+        // Autenticações que não vieram do JWT só trazem o e-mail
+        UserDTO profile = profile(authentication.getName());
+        return new AuthenticatedUser(profile.id(), profile.email(), profile.role());
+    }
+
+    public UserDTO profile() {
+        return profile(get().email());
+    }
+
+    // Proxy sem select: basta para apontar uma associação para o usuário
+    public User reference() {
+        return userRepository.getReferenceById(get().id());
+    }
+
+    // De novo depois da transação: uma leitura concorrente pode ter recarregado o valor antigo antes do commit
+    public void evict(String email) {
+        generation.incrementAndGet();
+        profiles.invalidate(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    profiles.invalidate(email);
+                }
+            });
+        }
+    }
+
+    // Carrega fora do cache: o get com loader roda o select dentro do compute do mapa, que usa synchronized e,
+    // numa thread virtual, prenderia a thread de plataforma durante o JDBC. Duas leituras simultâneas do mesmo
+    // e-mail podem ir as duas ao banco, o que é barato. Como no PropertyQueryCache, a geração impede que um
+    // select anterior ao commit volte ao cache depois da invalidação do evict.
+    private UserDTO profile(String email) {
+        UserDTO cached = profiles.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startedAt = generation.get();
+        UserDTO profile = userRepository.findByEmail(email)
+                .map(UserDTO::new)
+                .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
+        profiles.put(email, profile);
+
+        if (generation.get() != startedAt) {
+            profiles.invalidate(email);
+        }
+        return profile;
+    }
+}
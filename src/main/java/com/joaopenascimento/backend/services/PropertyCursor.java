@@ -0,0 +1,133 @@
+package com.joaopenascimento.backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Codifica a posição de um keyset (valores da ordenação + id do último item) num token opaco.
+ * O token carrega a assinatura da ordenação para que não seja reaproveitado com outra ordenação.
+ */
+final class PropertyCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<String, Class<?>> SORTABLE = Map.of(
+            "id", Long.class,
+            "name", String.class,
+            "value", Double.class,
+            "area", Integer.class,
+            "bedrooms", Integer.class
+    );
+
+    private PropertyCursor() {
+    }
+
+    /**
+     * Ordenação do keyset: no máximo uma coluna mais o id, na mesma direção, que é o que os índices
+     * {@code (coluna, id)} da V8 percorrem sem ordenar a tabela a cada página.
+     */
+    static Sort keysetSort(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.containsKey(order.getProperty())) {
+                throw new RuntimeException("Ordenação não suportada na paginação por cursor: " + order.getProperty());
+            }
+            // O id é único: uma chave depois dele nunca desempataria nada e sumiria da ordenação em silêncio
+            if (!orders.isEmpty() && orders.get(orders.size() - 1).getProperty().equals("id")) {
+                throw new RuntimeException("Na paginação por cursor o id só pode ser o último campo da ordenação");
+            }
+            if (!orders.isEmpty() && !order.getProperty().equals("id")) {
+                throw new RuntimeException("Na paginação por cursor só é possível ordenar por um campo além do id");
+            }
+            if (!orders.isEmpty() && orders.get(0).getDirection() != order.getDirection()) {
+                throw new RuntimeException("Na paginação por cursor o id deve seguir a direção da ordenação");
+            }
+            orders.add(order);
+        }
+
+        if (!orders.isEmpty() && orders.get(orders.size() - 1).getProperty().equals("id")) {
+            return Sort.by(orders);
+        }
+
+        // O id desempata valores repetidos e torna a ordenação total
+        Sort.Direction direction = orders.isEmpty()
+                ? Sort.Direction.DESC
+                : orders.get(orders.size() - 1).getDirection();
+        orders.add(new Sort.Order(direction, "id"));
+
+        return Sort.by(orders);
+    }
+
+    static String encode(ScrollPosition position, Sort sort) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("s", signature(sort));
+        payload.put("k", ((KeysetScrollPosition) position).getKeys());
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(payload));
+        } catch (JacksonException e) {
+            throw new RuntimeException("Erro ao gerar cursor", e);
+        }
+    }
+
+    static ScrollPosition decode(String token, Sort sort) {
+        Map<String, Object> payload;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            payload = MAPPER.readValue(new String(json, StandardCharsets.UTF_8), new TypeReference<>() {});
+        } catch (IllegalArgumentException | JacksonException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+
+        if (!signature(sort).equals(payload.get("s")) || !(payload.get("k") instanceof Map<?, ?> rawKeys)) {
+            throw new RuntimeException("Cursor inválido para a ordenação informada");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), convert(order.getProperty(), rawKeys.get(order.getProperty())));
+        }
+
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Object convert(String property, Object value) {
+        Class<?> type = SORTABLE.get(property);
+
+        if (type == String.class && value instanceof String text) {
+            return text;
+        }
+        if (value instanceof Number number) {
+            if (type == Long.class) {
+                return number.longValue();
+            }
+            if (type == Double.class) {
+                return number.doubleValue();
+            }
+            if (type == Integer.class) {
+                return number.intValue();
+            }
+        }
+        throw new RuntimeException("Cursor inválido");
+    }
+
+    private static String signature(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+}
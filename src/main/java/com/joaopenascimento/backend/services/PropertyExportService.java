@@ -0,0 +1,133 @@
+package com.joaopenascimento.backend.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.model.Property;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Exporta o catálogo (com os filtros do {@code findAll}) em NDJSON, no stream da resposta.
+ * A leitura anda em blocos por id: cada bloco é uma transação curta que lê com cursor no servidor, serializa
+ * num buffer em memória e desanexa cada imóvel. O bloco só vai para a resposta depois do commit, com a conexão
+ * já devolvida ao pool: um cliente lento segura a thread, não uma das conexões. A memória fica limitada ao
+ * bloco ({@code api.export.chunk-size}) e nenhuma transação segura o snapshot durante o export inteiro.
+ */
+@Service
+public class PropertyExportService {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PropertyService propertyService;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter writer;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public PropertyExportService(PropertyService propertyService, EntityManager entityManager,
+                                 ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                 @Value("${api.export.chunk-size:2000}") int chunkSize) {
+        this.propertyService = propertyService;
+        this.entityManager = entityManager;
+        // O stream é a resposta inteira: sem fechar nem dar flush a cada linha
+        this.writer = objectMapper.writerFor(PropertyDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Escreve um {@link PropertyDTO} por linha, em ordem de id, e retorna quantos foram exportados.
+     * Imóveis gravados durante o export entram se o id ainda estiver à frente do bloco atual.
+     */
+    public long export(PropertyFilter filter, OutputStream out) throws IOException {
+        Specification<Property> spec = propertyService.specificationFor(filter);
+        if (spec == null) {
+            return 0;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+        Chunk chunk = new Chunk();
+        try {
+            do {
+                chunk.rows = 0;
+                buffer.reset();
+                transactionTemplate.executeWithoutResult(status -> writeChunk(spec, chunk, buffer));
+                buffer.writeTo(out);
+                out.flush();
+            } while (chunk.rows == chunkSize);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return chunk.total;
+    }
+
+    private void writeChunk(Specification<Property> spec, Chunk chunk, OutputStream out) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Property> query = cb.createQuery(Property.class);
+        Root<Property> root = query.from(Property.class);
+        root.fetch("broker");
+
+        Predicate after = cb.greaterThan(root.<Long>get("id"), chunk.lastId);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        query.where(predicate == null ? after : cb.and(predicate, after))
+                .orderBy(cb.asc(root.get("id")));
+
+        try (Stream<Property> properties = entityManager.createQuery(query)
+                .setMaxResults(chunkSize)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            properties.forEach(property -> {
+                try {
+                    writer.writeValue(out, new PropertyDTO(property));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                chunk.lastId = property.getId();
+                chunk.rows++;
+                chunk.total++;
+                entityManager.detach(property);
+            });
+        }
+    }
+
+    private static final class Chunk {
+        private long lastId;
+        private int rows;
+        private long total;
+    }
+}
@@ -0,0 +1,129 @@
+package com.joaopenascimento.backend.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaopenascimento.backend.dto.property.PropertyCreateDTO;
+
+/**
+ * Lê o corpo do import linha a linha, sem carregar o arquivo inteiro. Em NDJSON cada linha é um
+ * {@link PropertyCreateDTO}; em CSV a primeira linha traz os nomes dos campos do DTO.
+ * Uma linha que não vira DTO volta como erro da própria linha, sem interromper a leitura.
+ */
+final class PropertyImportReader {
+
+    record Row(long line, PropertyCreateDTO dto, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final boolean csv;
+    private List<String> header;
+    private long line;
+
+    PropertyImportReader(InputStream body, boolean csv, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        this.csv = csv;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Próxima linha não vazia, ou {@code null} no fim do corpo.
+     */
+    Row next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+
+            if (csv && header == null) {
+                header = splitCsv(text).stream().map(String::trim).toList();
+                continue;
+            }
+
+            try {
+                PropertyCreateDTO dto = csv
+                        ? fromCsv(text)
+                        : objectMapper.readValue(text, PropertyCreateDTO.class);
+                if (dto == null) {
+                    return new Row(line, null, "Linha inválida: esperado um objeto");
+                }
+                return new Row(line, dto, null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "Linha inválida: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                return new Row(line, null, "Linha inválida: " + describe(e));
+            }
+        }
+        return null;
+    }
+
+    private PropertyCreateDTO fromCsv(String text) {
+        List<String> values = splitCsv(text);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("esperadas " + header.size() + " colunas, encontradas " + values.size());
+        }
+
+        // Coluna vazia é campo ausente; o Jackson converte texto em número e enum
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                fields.put(header.get(i), values.get(i));
+            }
+        }
+        return objectMapper.convertValue(fields, PropertyCreateDTO.class);
+    }
+
+    // RFC 4180 dentro de uma linha: aspas delimitam campos com vírgula e "" é uma aspa literal
+    private static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("aspas sem fechamento");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // convertValue embrulha o erro do Jackson; a mensagem original aponta o campo
+    private static String describe(IllegalArgumentException e) {
+        if (e.getCause() instanceof JsonProcessingException cause) {
+            return cause.getOriginalMessage();
+        }
+        return e.getMessage();
+    }
+}
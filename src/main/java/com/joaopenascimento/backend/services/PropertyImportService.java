@@ -0,0 +1,183 @@
+package com.joaopenascimento.backend.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaopenascimento.backend.dto.property.PropertyCreateDTO;
+import com.joaopenascimento.backend.dto.property.PropertyImportErrorDTO;
+import com.joaopenascimento.backend.dto.property.PropertyImportResultDTO;
+import com.joaopenascimento.backend.events.PropertiesImportedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Import de carteiras inteiras em NDJSON ou CSV. O corpo é lido em streaming, cada linha é validada com as mesmas
+ * regras do {@code POST /api/property} e as válidas são gravadas em lotes, um por transação, com inserts em batch JDBC.
+ * Linhas inválidas viram erros no resultado sem interromper o import.
+ */
+@Service
+public class PropertyImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final PropertyRepository propertyRepository;
+
+    private final CurrentUser currentUser;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+
+    public PropertyImportService(PropertyRepository propertyRepository, CurrentUser currentUser,
+                                 Validator validator, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${api.import.batch-size:1000}") int batchSize) {
+        this.propertyRepository = propertyRepository;
+        this.currentUser = currentUser;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    // Sem @Transactional: cada lote confirma sozinho, então um arquivo grande não segura uma transação aberta
+    // e uma falha no meio mantém o que já foi gravado
+    @PreAuthorize("hasAnyRole('ADMIN', 'CORRETOR')")
+    public PropertyImportResultDTO importProperties(InputStream body, MediaType contentType) {
+
+        if (currentUser.get().role() == UserRole.CLIENTE) {
+            throw new RuntimeException("Você não tem permissão para importar imóveis");
+        }
+
+        User broker = currentUser.reference();
+
+        PropertyImportReader reader = new PropertyImportReader(body, TEXT_CSV.isCompatibleWith(contentType), objectMapper);
+        Result result = new Result();
+        List<Line> batch = new ArrayList<>(batchSize);
+
+        try {
+            PropertyImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (row.error() != null) {
+                    result.fail(row.line(), row.error());
+                    continue;
+                }
+
+                String error = validate(row.dto());
+                if (error != null) {
+                    result.fail(row.line(), error);
+                    continue;
+                }
+
+                batch.add(new Line(row.line(), row.dto()));
+                if (batch.size() == batchSize) {
+                    write(batch, broker, result);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao ler o arquivo de importação após " + result.imported + " imóveis gravados", e);
+        }
+
+        if (!batch.isEmpty()) {
+            write(batch, broker, result);
+        }
+
+        return new PropertyImportResultDTO(result.imported, result.failed, result.errors);
+    }
+
+    // Mesma mensagem do handler de validação: "campo: mensagem", separados por vírgula
+    private String validate(PropertyCreateDTO dto) {
+        Set<ConstraintViolation<PropertyCreateDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+
+        if ((dto.latitude() == null) != (dto.longitude() == null)) {
+            return "Informe latitude e longitude juntas";
+        }
+        return null;
+    }
+
+    private void write(List<Line> batch, User broker, Result result) {
+        try {
+            insert(batch, broker);
+            result.imported += batch.size();
+        } catch (DataAccessException e) {
+            // O lote voltou inteiro; regravar linha a linha isola quem causou o erro
+            for (Line line : batch) {
+                try {
+                    insert(List.of(line), broker);
+                    result.imported++;
+                } catch (DataAccessException rowError) {
+                    result.fail(line.number(), "Erro ao gravar: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<Line> lines, User broker) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Property> properties = lines.stream()
+                    .map(line -> PropertyService.newProperty(line.dto(), broker))
+                    .toList();
+
+            propertyRepository.saveAll(properties);
+            propertyRepository.flush();
+
+            eventPublisher.publishEvent(new PropertiesImportedEvent(properties.stream()
+                    .map(PropertySnapshot::of)
+                    .toList()));
+        });
+    }
+
+    private record Line(long number, PropertyCreateDTO dto) {
+    }
+
+    private static final class Result {
+        private long imported;
+        private long failed;
+        private final List<PropertyImportErrorDTO> errors = new ArrayList<>();
+
+        // Conta todas as falhas, mas só devolve as primeiras para a resposta não crescer com o arquivo
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new PropertyImportErrorDTO(line, message));
+            }
+        }
+    }
+}
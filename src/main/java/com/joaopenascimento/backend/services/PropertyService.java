@@ -1,75 +1,434 @@
 package com.joaopenascimento.backend.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import com.joaopenascimento.backend.config.PrimaryReads;
+import com.joaopenascimento.backend.dto.property.GeoArea;
 import com.joaopenascimento.backend.dto.property.PropertyCreateDTO;
 import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.dto.property.PropertySliceDTO;
 import com.joaopenascimento.backend.dto.property.PropertyUpdateDTO;
+import com.joaopenascimento.backend.dto.property.PropertyVersion;
+import com.joaopenascimento.backend.dto.property.VersionedPropertyDTO;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
 import com.joaopenascimento.backend.model.Property;
 import com.joaopenascimento.backend.model.User;
 import com.joaopenascimento.backend.model.enums.PropertyType;
 import com.joaopenascimento.backend.model.enums.UserRole;
 import com.joaopenascimento.backend.repositories.PropertyRepository;
+import com.joaopenascimento.backend.search.CatalogPage;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
 @Service
 public class PropertyService {
+
+    private static final String RELEVANCE_SORT = "relevance";
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // Ids do ranking conferidos por select quando a busca estoura o índice e a ordem é por relevância
+    private static final int RANKING_BATCH_SIZE = 500;
     
     private final PropertyRepository propertyRepository;
 
-    private final UserService userService;
+    private final CurrentUser currentUser;
+
+    private final PropertyTextIndex textIndex;
 
-    public  PropertyService(PropertyRepository propertyRepository, UserService userService) {
+    private final PropertyGeoIndex geoIndex;
+
+    private final PropertyCatalogSnapshot catalog;
+
+    private final PropertyQueryCache queryCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public  PropertyService(PropertyRepository propertyRepository, CurrentUser currentUser,
+                            PropertyTextIndex textIndex, PropertyGeoIndex geoIndex,
+                            PropertyCatalogSnapshot catalog, PropertyQueryCache queryCache,
+                            ApplicationEventPublisher eventPublisher) {
         this.propertyRepository = propertyRepository;
-        this.userService = userService;
+        this.currentUser = currentUser;
+        this.textIndex = textIndex;
+        this.geoIndex = geoIndex;
+        this.catalog = catalog;
+        this.queryCache = queryCache;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Transactional(readOnly = true)
+    // Sem @Transactional: um acerto no cache não deve abrir transação nem pegar conexão do pool.
+    // As consultas do repositório já rodam em transações somente leitura.
     public Page<PropertyDTO> findAll(
         String name,
         PropertyType type,
         Double minPrice,
         Double maxPrice,
         Integer minBedrooms,
+        GeoArea area,
         Pageable pageable
     ) {
+        PropertyFilter filter = PropertyFilter.of(name, type, minPrice, maxPrice, minBedrooms, area);
+
+        return queryCache.get(filter, pageable, () -> search(filter, pageable));
+    }
+
+    private Page<PropertyDTO> search(PropertyFilter filter, Pageable pageable) {
+        List<Long> ranking = rankByText(filter.name());
+        if (ranking != null && ranking.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<Long> nearby = locate(filter.area());
+        if (nearby != null && nearby.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        // Busca popular demais para o filtro por ids: o banco filtra o texto e o ranking completo dá a ordem
+        if (ranking == null && filter.name() != null && pageable.getSort().getOrderFor(RELEVANCE_SORT) != null
+                && textIndex.canAnswer(filter.name())) {
+            List<Long> fullRanking = textIndex.rank(filter.name());
+            if (fullRanking != null) {
+                return findAllByRankingInBatches(buildSpecification(filter, null, nearby), fullRanking, pageable);
+            }
+        }
+
+        // Sem ranking (índice carregando) a relevância não tem como ser calculada: vale a ordem padrão
+        if (ranking == null && pageable.getSort().getOrderFor(RELEVANCE_SORT) != null) {
+            pageable = withoutRelevanceSort(pageable);
+        }
+
+        // Sem texto, o snapshot colunar resolve filtro, ordem e total; o banco só carrega as linhas da página
+        if (ranking == null) {
+            CatalogPage page = catalog.query(filter, nearby, pageable);
+            if (page != null) {
+                return loadPage(page, pageable);
+            }
+        }
+
+        Specification<Property> spec = buildSpecification(filter, ranking, nearby);
+
+        if (ranking != null && pageable.getSort().getOrderFor(RELEVANCE_SORT) != null) {
+            return findAllByRelevance(spec, ranking, pageable);
+        }
+
+        return propertyRepository.findAll(spec, pageable)
+                .map(PropertyDTO::new);
+    }
+
+    private Page<PropertyDTO> loadPage(CatalogPage page, Pageable pageable) {
+        if (page.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, page.total());
+        }
+
+        Map<Long, Property> byId = new HashMap<>();
+        for (Property property : propertyRepository.findWithBrokerByIdIn(page.ids())) {
+            byId.put(property.getId(), property);
+        }
+
+        // O snapshot anda pelos commits do primário: uma réplica atrasada ainda não tem os imóveis recém-criados
+        List<Long> missing = page.ids().stream()
+                .filter(id -> !byId.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            for (Property property : PrimaryReads.call(() -> propertyRepository.findWithBrokerByIdIn(missing))) {
+                byId.put(property.getId(), property);
+            }
+        }
+
+        // Um imóvel excluído entre o snapshot e o select simplesmente some da página
+        List<PropertyDTO> content = page.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(PropertyDTO::new)
+                .toList();
+
+        return new PageImpl<>(content, pageable, page.total());
+    }
+
+    @Transactional(readOnly = true)
+    public PropertySliceDTO findAllByCursor(
+        String name,
+        PropertyType type,
+        Double minPrice,
+        Double maxPrice,
+        Integer minBedrooms,
+        GeoArea area,
+        String after,
+        int size,
+        Sort sort
+    ) {
+        if (sort.getOrderFor(RELEVANCE_SORT) != null) {
+            throw new RuntimeException("Ordenação por relevância não é suportada na paginação por cursor");
+        }
+
+        Sort keysetSort = PropertyCursor.keysetSort(sort);
+        ScrollPosition position = after == null || after.isBlank()
+                ? ScrollPosition.keyset()
+                : PropertyCursor.decode(after, keysetSort);
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+
+        PropertyFilter filter = PropertyFilter.of(name, type, minPrice, maxPrice, minBedrooms, area);
+
+        Specification<Property> spec = specificationFor(filter);
+        if (spec == null) {
+            return new PropertySliceDTO(List.of(), limit, false, null);
+        }
+        spec = spec.and(fetchBroker());
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            spec = spec.and(resumeAt(keysetSort, keyset));
+        }
+
+        Window<Property> window = propertyRepository.findBy(spec, query -> query
+                .sortBy(keysetSort)
+                .limit(limit)
+                .scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = PropertyCursor.encode(window.positionAt(window.size() - 1), keysetSort);
+        }
+
+        List<PropertyDTO> content = window.stream()
+                .map(PropertyDTO::new)
+                .toList();
+
+        return new PropertySliceDTO(content, limit, window.hasNext(), nextCursor);
+    }
+
+    /**
+     * Mesmo filtro do {@code findAll}, com os índices de texto e geográfico estreitando os candidatos.
+     * Retorna {@code null} quando os índices já garantem que nada casa.
+     */
+    Specification<Property> specificationFor(PropertyFilter filter) {
+        List<Long> ranking = rankByText(filter.name());
+        List<Long> nearby = locate(filter.area());
+        if ((ranking != null && ranking.isEmpty()) || (nearby != null && nearby.isEmpty())) {
+            return null;
+        }
+        return buildSpecification(filter, ranking, nearby);
+    }
+
+    // null quando o índice ainda não carregou ou casa imóveis demais: o search_text filtra no banco, com o mesmo resultado
+    private List<Long> rankByText(String name) {
+        if (name == null || !textIndex.canAnswer(name)) {
+            return null;
+        }
+        return textIndex.search(name);
+    }
+
+    // null quando o índice ainda não carregou ou a área é ampla demais: o predicado SQL filtra sozinho
+    private List<Long> locate(GeoArea area) {
+        if (area == null || !geoIndex.canAnswer()) {
+            return null;
+        }
+        return geoIndex.search(area);
+    }
+
+    // O keyset do Spring Data é um OR (campo > ? or (campo = ? and id > ?)), que o Postgres não usa como limite
+    // do índice (campo, id); a condição redundante campo >= ? faz a leitura começar na última posição
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Specification<Property> resumeAt(Sort keysetSort, KeysetScrollPosition position) {
+        Sort.Order first = keysetSort.iterator().next();
+        Comparable key = (Comparable) position.getKeys().get(first.getProperty());
+        return (root, query, cb) -> {
+            if (key == null) {
+                return null;
+            }
+            Path path = root.get(first.getProperty());
+            return first.isAscending() ? cb.greaterThanOrEqualTo(path, key) : cb.lessThanOrEqualTo(path, key);
+        };
+    }
+
+    // O scroll por Specification não aplica @EntityGraph, então o fetch join vai na própria Specification
+    private static Specification<Property> fetchBroker() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("broker");
+            }
+            return null;
+        };
+    }
+
+    private static Specification<Property> buildSpecification(PropertyFilter filter, List<Long> ranking, List<Long> nearby) {
         Specification<Property> spec = Specification.unrestricted();
 
-        if (name != null && !name.isBlank()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
+        if (ranking != null) {
+            spec = spec.and((root, query, cb) -> root.get("id").in(ranking));
+        } else if (filter.name() != null) {
+            spec = spec.and(matchesText(filter.name()));
         }
 
-        if (type != null) {
+        if (filter.type() != null) {
             spec = spec.and((root, query, cb) -> 
-                    cb.equal(root.get("type"), type));
+                    cb.equal(root.get("type"), filter.type()));
         }
 
-        if (minPrice != null) {
+        if (filter.minPrice() != null) {
             spec = spec.and((root, query, cb) ->
-                    cb.greaterThanOrEqualTo(root.get("value"), minPrice));
+                    cb.greaterThanOrEqualTo(root.get("value"), filter.minPrice()));
         }
 
-        if (maxPrice != null) {
+        if (filter.maxPrice() != null) {
             spec = spec.and((root, query, cb) ->
-                    cb.lessThanOrEqualTo(root.get("value"), maxPrice));
+                    cb.lessThanOrEqualTo(root.get("value"), filter.maxPrice()));
         }
 
-        if (minBedrooms != null) {
+        if (filter.minBedrooms() != null) {
             spec = spec.and((root, query, cb) ->
-                    cb.greaterThanOrEqualTo(root.get("bedrooms"), minBedrooms));
+                    cb.greaterThanOrEqualTo(root.get("bedrooms"), filter.minBedrooms()));
         }
 
-        return propertyRepository.findAll(spec, pageable)
-                .map(PropertyDTO::new);
+        if (filter.area() != null) {
+            // O índice só estreita os candidatos; o predicado garante o resultado mesmo com o índice defasado
+            if (nearby != null) {
+                spec = spec.and((root, query, cb) -> root.get("id").in(nearby));
+            }
+            spec = spec.and(withinArea(filter.area()));
+        }
+
+        return spec;
+    }
+
+    // Mesma semântica do PropertyTextIndex: cada termo da busca é prefixo de um termo do nome ou da descrição
+    private static Specification<Property> matchesText(String name) {
+        List<String> patterns = PropertyTextIndex.likePatterns(name);
+        return (root, query, cb) -> {
+            if (patterns.isEmpty()) {
+                return cb.disjunction();
+            }
+            Path<String> searchText = root.get("searchText");
+            return cb.and(patterns.stream()
+                    .map(pattern -> cb.like(searchText, pattern))
+                    .toArray(Predicate[]::new));
+        };
+    }
+
+    private static Specification<Property> withinArea(GeoArea area) {
+        return (root, query, cb) -> {
+            Path<Double> latitude = root.get("latitude");
+            Path<Double> longitude = root.get("longitude");
+
+            Predicate box = cb.and(
+                    cb.between(latitude, area.minLatitude(), area.maxLatitude()),
+                    cb.between(longitude, area.minLongitude(), area.maxLongitude()));
+            if (!area.isRadius()) {
+                return box;
+            }
+
+            // Mesma conta do GeoArea.contains, em km: dy² + dx² <= r²
+            double latFactor = GeoArea.KM_PER_DEGREE;
+            double lonFactor = GeoArea.KM_PER_DEGREE * area.longitudeScale();
+            Expression<Double> dy = cb.prod(cb.diff(latitude, area.centerLatitude()), latFactor);
+            Expression<Double> dx = cb.prod(cb.diff(longitude, area.centerLongitude()), lonFactor);
+            Expression<Double> squared = cb.sum(cb.prod(dy, dy), cb.prod(dx, dx));
+
+            return cb.and(box, cb.le(squared, area.radiusKm() * area.radiusKm()));
+        };
+    }
+
+    private Page<PropertyDTO> findAllByRelevance(Specification<Property> spec, List<Long> ranking, Pageable pageable) {
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ranking.size(); i++) {
+            positions.put(ranking.get(i), i);
+        }
+
+        List<Property> matches = propertyRepository.findAll(spec).stream()
+                .sorted((a, b) -> Integer.compare(positions.get(a.getId()), positions.get(b.getId())))
+                .toList();
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(matches.stream().map(PropertyDTO::new).toList(), pageable, matches.size());
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+
+        List<PropertyDTO> content = matches.subList(from, to).stream()
+                .map(PropertyDTO::new)
+                .toList();
+
+        return new PageImpl<>(content, pageable, matches.size());
+    }
+
+    // Percorre o ranking em blocos, buscando no banco só os ids de cada bloco que passam nos filtros,
+    // até preencher a página; o total vem de um count com os mesmos filtros
+    private Page<PropertyDTO> findAllByRankingInBatches(Specification<Property> spec, List<Long> ranking, Pageable pageable) {
+        long total = propertyRepository.count(spec);
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int wanted = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        List<PropertyDTO> content = new ArrayList<>();
+        if (skip >= total) {
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        for (int from = 0; from < ranking.size() && content.size() < wanted; from += RANKING_BATCH_SIZE) {
+            List<Long> batch = ranking.subList(from, Math.min(from + RANKING_BATCH_SIZE, ranking.size()));
+
+            Map<Long, Property> byId = new HashMap<>();
+            for (Property property : propertyRepository.findAll(spec.and((root, query, cb) -> root.get("id").in(batch)))) {
+                byId.put(property.getId(), property);
+            }
+
+            for (Long id : batch) {
+                Property property = byId.get(id);
+                if (property == null) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else if (content.size() < wanted) {
+                    content.add(new PropertyDTO(property));
+                }
+            }
+        }
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static Pageable withoutRelevanceSort(Pageable pageable) {
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .filter(order -> !order.getProperty().equals(RELEVANCE_SORT))
+                .toList());
+
+        if (sort.isUnsorted()) {
+            sort = Sort.by(Sort.Direction.DESC, "id");
+        }
+
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
     }
 
+    // findById passa pelo cache de segundo nível, e o broker lazy sai da região "user"; a consulta derivada com
+    // @EntityGraph iria ao banco a cada chamada
     @Transactional(readOnly = true)
     public PropertyDTO findPropertyById(Long id) {
         Property property = propertyRepository.findById(id)
@@ -78,12 +437,25 @@ public class PropertyService {
         return new PropertyDTO(property);
     }
 
+    @Transactional(readOnly = true)
+    public VersionedPropertyDTO findVersionedPropertyById(Long id) {
+        Property property = propertyRepository.findById(id)
+                                .orElseThrow(() -> new RuntimeException("Imóvel não encontrado"));
+
+        return new VersionedPropertyDTO(property);
+    }
+
+    // Uma linha com três colunas: deixa o controller responder 304 sem carregar o imóvel
+    @Transactional(readOnly = true)
+    public PropertyVersion findVersion(Long id) {
+        return propertyRepository.findVersionById(id)
+                                .orElseThrow(() -> new RuntimeException("Imóvel não encontrado"));
+    }
+
     @Transactional(readOnly = true)
     public List<PropertyDTO> findAllByBrokerId() {
         
-        User currentUser = userService.getAuthenticatedUser();
-
-        List<Property> properties = propertyRepository.findByBrokerId(currentUser.getId());
+        List<Property> properties = propertyRepository.findByBrokerId(currentUser.get().id());
 
         return properties.stream()
                 .map(PropertyDTO::new)
@@ -94,27 +466,14 @@ public class PropertyService {
     @PreAuthorize("hasRole('ADMIN', 'CORRETOR')")
     public PropertyDTO create(PropertyCreateDTO dto) {
 
-        User currentUser = userService.getAuthenticatedUser();
-
-        if (currentUser.getRole() == UserRole.CLIENTE) {
+        if (currentUser.get().role() == UserRole.CLIENTE) {
             throw new RuntimeException("Você não tem permissão para criar um imóvel");
         }
-        
-        Property property = new Property();
 
-        property.setName(dto.name());
-        property.setDescription(dto.description());
-        property.setValue(dto.value());
-        property.setArea(dto.area());
-        property.setBedrooms(dto.bedrooms());
-        property.setAddress(dto.address());
-        property.setCity(dto.city());
-        property.setState(dto.state());
-        property.setType(dto.type());
-        property.setImageUrls(dto.imageUrls());
-        property.setBroker(currentUser);
+        Property property = newProperty(dto, currentUser.reference());
 
         propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.created(property));
 
         return new PropertyDTO(property);
     }
@@ -124,14 +483,16 @@ public class PropertyService {
         Property property = propertyRepository.findById(propertyId)
                                 .orElseThrow(() -> new RuntimeException("Imóvel não encontrado"));
 
-        User currentUser = userService.getAuthenticatedUser();
+        AuthenticatedUser user = currentUser.get();
 
-        boolean isAdmin = currentUser.getRole().equals(UserRole.ADMIN);
-        boolean isOwner = property.getBroker().getId().equals(currentUser.getId());
+        boolean isAdmin = user.role() == UserRole.ADMIN;
+        boolean isOwner = property.getBroker().getId().equals(user.id());
 
         if (!isAdmin && !isOwner) {
             throw new RuntimeException("Acesso negado: Apenas o corretor responsável ou administradores podem alterar este imóvel.");
         }
+
+        PropertySnapshot before = PropertySnapshot.of(property);
         
         if (dto.name() != null) {property.setName(dto.name());}
 
@@ -147,27 +508,64 @@ public class PropertyService {
 
         if (dto.state() != null) {property.setState(dto.state());}
 
+        if (dto.latitude() != null) {property.setLatitude(dto.latitude());}
+
+        if (dto.longitude() != null) {property.setLongitude(dto.longitude());}
+
+        checkCoordinates(property.getLatitude(), property.getLongitude());
+
         if (dto.bedrooms() != null) property.setBedrooms(dto.bedrooms());
 
         if (dto.type() != null) property.setType(dto.type());
 
         property = propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.updated(before, property));
         return new PropertyDTO(property);
     }
 
+    // Compartilhado com o PropertyImportService
+    static Property newProperty(PropertyCreateDTO dto, User broker) {
+        checkCoordinates(dto.latitude(), dto.longitude());
+
+        Property property = new Property();
+
+        property.setName(dto.name());
+        property.setDescription(dto.description());
+        property.setValue(dto.value());
+        property.setArea(dto.area());
+        property.setBedrooms(dto.bedrooms());
+        property.setAddress(dto.address());
+        property.setCity(dto.city());
+        property.setState(dto.state());
+        property.setLatitude(dto.latitude());
+        property.setLongitude(dto.longitude());
+        property.setType(dto.type());
+        property.setImageUrls(dto.imageUrls());
+        property.setBroker(broker);
+
+        return property;
+    }
+
+    private static void checkCoordinates(Double latitude, Double longitude) {
+        if ((latitude == null) != (longitude == null)) {
+            throw new RuntimeException("Informe latitude e longitude juntas");
+        }
+    }
+
     @Transactional
     public void delete(Long propertyId) {
 
         Property property = propertyRepository.findById(propertyId)
                                 .orElseThrow(() -> new RuntimeException("Imóvel não encontrado"));
         
-        User currentUser = userService.getAuthenticatedUser();
+        AuthenticatedUser user = currentUser.get();
 
-        if (currentUser.getRole() != UserRole.ADMIN && !property.getBroker().getId().equals(currentUser.getId())) {
+        if (user.role() != UserRole.ADMIN && !property.getBroker().getId().equals(user.id())) {
             throw new RuntimeException("Você não tem permissão para excluir este imóvel");
         }
 
         propertyRepository.delete(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.deleted(property));
     }
     
     @Transactional
@@ -176,16 +574,19 @@ public class PropertyService {
         Property property = propertyRepository.findById(propertyId)
                                 .orElseThrow(() -> new RuntimeException("Imóvel não encontrado"));
 
-        User currentUser = userService.getAuthenticatedUser();
+        AuthenticatedUser user = currentUser.get();
 
-        boolean isAdmin = currentUser.getRole().equals(UserRole.ADMIN);
-        boolean isOwner = property.getBroker().getId().equals(currentUser.getId());
+        boolean isAdmin = user.role() == UserRole.ADMIN;
+        boolean isOwner = property.getBroker().getId().equals(user.id());
 
         if (!isAdmin && !isOwner) {
             throw new RuntimeException("Acesso negado: Apenas o corretor responsável ou administradores podem alterar este imóvel.");
         }
 
+        PropertySnapshot before = PropertySnapshot.of(property);
+
         property.setActive(!property.getActive());
+        eventPublisher.publishEvent(PropertyChangedEvent.updated(before, property));
 
         return new PropertyDTO(property);
     }
@@ -0,0 +1,144 @@
+package com.joaopenascimento.backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.joaopenascimento.backend.dto.auth.TokenDTO;
+import com.joaopenascimento.backend.model.RefreshToken;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.repositories.RefreshTokenRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Refresh tokens opacos e rotativos. Renovar o access token não passa pelo BCrypt: custa um select, um update
+ * e um insert. Cada token vale uma vez; reapresentar um token já usado indica vazamento e revoga a família
+ * inteira, o que derruba tanto o cliente legítimo quanto quem copiou o token.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final TokenService tokenService;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenService tokenService,
+                               @Value("${api.security.refresh-token.ttl:14d}") Duration ttl) {
+        this(refreshTokenRepository, tokenService, ttl, Clock.systemUTC());
+    }
+
+    RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenService tokenService,
+                        Duration ttl, Clock clock) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenService = tokenService;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    // Começa uma família nova: chamado no login
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Troca o refresh token por um novo par de tokens. Vazio quando o token não existe, venceu, foi revogado
+     * ou já tinha sido usado; neste último caso a família é revogada e a revogação é confirmada mesmo assim.
+     */
+    @Transactional
+    public Optional<TokenDTO> rotate(String token) {
+        Optional<RefreshToken> found = refreshTokenRepository.findWithUserByTokenHash(hash(token));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = found.get();
+        Instant now = clock.instant();
+
+        if (current.getRevokedAt() != null || !now.isBefore(current.getExpiresAt())) {
+            return Optional.empty();
+        }
+
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            return Optional.empty();
+        }
+
+        User user = current.getUser();
+        return Optional.of(new TokenDTO(tokenService.generateToken(user), issue(user, current.getFamilyId())));
+    }
+
+    // Logout: a família do token apresentado deixa de renovar; token desconhecido é ignorado
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findWithUserByTokenHash(hash(token))
+                .ifPresent(found -> refreshTokenRepository.revokeFamily(found.getFamilyId(), clock.instant()));
+    }
+
+    // Encerra todas as sessões do usuário, como depois de uma troca de senha
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId, clock.instant());
+    }
+
+    /**
+     * Apaga os tokens vencidos e os revogados, que não renovam mais. Sem isso a tabela cresce um token por
+     * login e por renovação, para sempre.
+     */
+    @Scheduled(initialDelayString = "${api.security.refresh-token.cleanup-interval:1h}",
+            fixedDelayString = "${api.security.refresh-token.cleanup-interval:1h}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(clock.instant());
+        log.debug("{} refresh tokens vencidos ou revogados apagados", deleted);
+    }
+
+    private String issue(User user, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setExpiresAt(clock.instant().plus(ttl));
+        refreshTokenRepository.save(refreshToken);
+
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
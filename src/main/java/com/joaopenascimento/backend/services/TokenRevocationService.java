@@ -0,0 +1,186 @@
+package com.joaopenascimento.backend.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.joaopenascimento.backend.config.PrimaryReads;
+import com.joaopenascimento.backend.model.RevokedToken;
+import com.joaopenascimento.backend.repositories.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revogação de access tokens antes do {@code exp}: de um token (logout) ou de todos os tokens de um usuário.
+ * O banco guarda as revogações; a memória guarda um filtro de Bloom com as chaves delas. No caso comum, token não
+ * revogado, a checagem são algumas sondagens de hash, sem I/O; só um acerto do filtro vai ao banco confirmar.
+ * O filtro é refeito do banco periodicamente, o que limpa as revogações vencidas e traz as gravadas por outras
+ * instâncias; entre instâncias a revogação leva até um intervalo para valer.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final Duration accessTokenTtl;
+
+    private final double falsePositiveRate;
+
+    private final Clock clock;
+
+    private final Counter confirmations;
+
+    // ReentrantLock e não synchronized: a reconstrução vai ao banco com o lock e, numa thread virtual,
+    // synchronized prenderia a thread de plataforma por baixo durante o JDBC
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${api.security.token.ttl:2m}") Duration accessTokenTtl,
+                                  @Value("${api.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  MeterRegistry meterRegistry) {
+        this(revokedTokenRepository, accessTokenTtl, falsePositiveRate, meterRegistry, Clock.systemUTC());
+    }
+
+    TokenRevocationService(RevokedTokenRepository revokedTokenRepository, Duration accessTokenTtl,
+                           double falsePositiveRate, MeterRegistry meterRegistry, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.accessTokenTtl = accessTokenTtl;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.filter = BloomFilter.forCapacity(1024, falsePositiveRate);
+        this.confirmations = Counter.builder("auth.revocation.lookups")
+                .description("Acertos do filtro de Bloom confirmados no banco")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(AuthenticatedUser user) {
+        BloomFilter current = filter;
+        boolean tokenHit = user.tokenId() != null && current.mightContain(tokenKey(user.tokenId()));
+        boolean userHit = current.mightContain(userKey(user.id()));
+        if (!tokenHit && !userHit) {
+            return false;
+        }
+
+        // Revogação de verdade ou falso positivo: só o banco sabe, e só o primário já tem a revogação recém-gravada
+        confirmations.increment();
+        Instant now = clock.instant();
+        if (tokenHit && PrimaryReads.call(() -> revokedTokenRepository.existsByTokenIdAndExpiresAtAfter(user.tokenId(), now))) {
+            return true;
+        }
+        if (userHit) {
+            Instant revokedAt = PrimaryReads.call(() -> revokedTokenRepository.findUserRevokedAt(user.id(), now));
+            // Tokens sem iat são anteriores ao jti e a qualquer revogação
+            return revokedAt != null && (user.issuedAt() == null || !user.issuedAt().isAfter(revokedAt));
+        }
+        return false;
+    }
+
+    // Logout: só este token, até o exp dele
+    @Transactional
+    public void revokeToken(AuthenticatedUser user) {
+        if (user.tokenId() == null) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        RevokedToken revoked = new RevokedToken();
+        revoked.setTokenId(user.tokenId());
+        revoked.setUserId(user.id());
+        revoked.setRevokedAt(now);
+        revoked.setExpiresAt(user.expiresAt() != null ? user.expiresAt() : now.plus(accessTokenTtl));
+        revokedTokenRepository.save(revoked);
+
+        addAfterCommit(tokenKey(user.tokenId()));
+    }
+
+    // Todos os tokens já emitidos para o usuário; os emitidos depois continuam valendo
+    @Transactional
+    public void revokeUser(Long userId) {
+        // O iat do JWT tem precisão de segundos: um token emitido no mesmo segundo também cai
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        RevokedToken revoked = new RevokedToken();
+        revoked.setUserId(userId);
+        revoked.setRevokedAt(now);
+        revoked.setExpiresAt(now.plus(accessTokenTtl).plusSeconds(1));
+        revokedTokenRepository.save(revoked);
+
+        addAfterCommit(userKey(userId));
+    }
+
+    /**
+     * Apaga as revogações vencidas e refaz o filtro do banco, com folga de 2x para as próximas revogações.
+     * Sob o mesmo lock das inserções: uma revogação confirmada durante a reconstrução entra no filtro novo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${api.security.revocation.rebuild-interval:1m}",
+            fixedDelayString = "${api.security.revocation.rebuild-interval:1m}")
+    @Transactional
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            Instant now = clock.instant();
+            revokedTokenRepository.deleteExpired(now);
+            List<RevokedToken> live = revokedTokenRepository.findByExpiresAtAfter(now);
+
+            BloomFilter rebuilt = BloomFilter.forCapacity(Math.max(1024, live.size() * 2), falsePositiveRate);
+            for (RevokedToken revoked : live) {
+                rebuilt.put(revoked.getTokenId() != null ? tokenKey(revoked.getTokenId()) : userKey(revoked.getUserId()));
+            }
+            filter = rebuilt;
+            log.debug("Filtro de revogações refeito com {} revogações", live.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Acima da capacidade o filtro só perde precisão: mais idas ao banco até a próxima reconstrução
+    private void add(String key) {
+        writeLock.lock();
+        try {
+            filter.put(key);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Só depois do commit: antes dele o banco ainda negaria a revogação, e um rollback deixaria a chave à toa no filtro
+    private void addAfterCommit(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(key);
+            }
+        });
+    }
+
+    private static String tokenKey(String tokenId) {
+        return "t:" + tokenId;
+    }
+
+    private static String userKey(Long userId) {
+        return "u:" + userId;
+    }
+}
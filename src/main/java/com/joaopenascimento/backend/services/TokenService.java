@@ -1,31 +1,82 @@
 package com.joaopenascimento.backend.services;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
 
+/**
+ * Emite e valida os JWTs. O algoritmo e o verificador são imutáveis e thread-safe, então são criados uma vez.
+ * Tokens já verificados ficam num cache limitado, chaveado pelo SHA-256 do token, e cada entrada expira junto
+ * com o {@code exp} dele: um token repetido não refaz base64, parse do JSON nem HMAC até vencer.
+ */
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ISSUER = "imobiliaria-api";
+
+    private final Algorithm algorithm;
+
+    private final JWTVerifier verifier;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    private final Cache<String, Verified> verified;
+
+    @Autowired
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.ttl:2m}") Duration ttl,
+                        @Value("${api.security.token.cache.max-size:10000}") long cacheMaxSize) {
+        this(secret, ttl, cacheMaxSize, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    TokenService(String secret, Duration ttl, long cacheMaxSize, Clock clock, Ticker ticker) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = ((JWTVerifier.BaseVerification) JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .withClaimPresence("id")
+                .withClaimPresence("role"))
+                .build(clock);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpires())
+                .ticker(ticker)
+                .build();
+    }
 
     public String generateToken(User user){
         try{
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             String token = JWT.create()
-                    .withIssuer("imobiliaria-api")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getEmail())
                     .withClaim("role", user.getRole().name())
                     .withClaim("id", user.getId())
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withIssuedAt(clock.instant())
                     .withExpiresAt(genExpirationDate())
                     .sign(algorithm);
             return token;
@@ -34,21 +85,64 @@ public class TokenService {
         }
     }
 
+    // Vida curta: o cliente renova pelo refresh token, sem voltar ao login
     private Instant genExpirationDate(){
-        return LocalDateTime.now().plusMinutes(2).toInstant(ZoneOffset.of("-03:00"));
+        return clock.instant().plus(ttl);
     }
 
-    public String validateToken(String token){
-    try {
-        Algorithm algorithm = Algorithm.HMAC256(secret);
-        return JWT.require(algorithm)
-                .withIssuer("imobiliaria-api")
-                .build()
-                .verify(token)
-                .getSubject();
-    } catch (JWTVerificationException exception){
-        System.out.println("Erro na validação do token: " + exception.getMessage()); // LOG DE DEBUG
-        return "";
+    // Monta o principal das claims gravadas no generateToken; null se o token não for válido
+    public AuthenticatedUser validateToken(String token){
+        String key = digest(token);
+        Verified cached = verified.getIfPresent(key);
+        if (cached != null && clock.instant().isBefore(cached.expiresAt())) {
+            return cached.user();
+        }
+
+        try {
+            DecodedJWT jwt = verifier.verify(token);
+            Instant expiresAt = jwt.getExpiresAtAsInstant();
+            AuthenticatedUser user = new AuthenticatedUser(jwt.getClaim("id").asLong(), jwt.getSubject(),
+                    UserRole.valueOf(jwt.getClaim("role").asString()), jwt.getId(), jwt.getIssuedAtAsInstant(), expiresAt);
+
+            // Só tokens válidos e com exp entram no cache: tokens inválidos não conseguem expulsar as entradas boas
+            if (expiresAt != null) {
+                verified.put(key, new Verified(user, expiresAt));
+            }
+            return user;
+        } catch (JWTVerificationException | IllegalArgumentException exception){
+            // O SecurityFilter marca a requisição como token inválido para o log de requisições
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Verified(AuthenticatedUser user, Instant expiresAt) {
+    }
+
+    // A entrada vence no exp do token; a checagem no validateToken cobre a diferença entre o relógio e o ticker
+    private final class UntilTokenExpires implements Expiry<String, Verified> {
+
+        @Override
+        public long expireAfterCreate(String key, Verified value, long currentTime) {
+            return Math.max(0, value.expiresAt().toEpochMilli() - clock.millis()) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Verified value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Verified value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
 }
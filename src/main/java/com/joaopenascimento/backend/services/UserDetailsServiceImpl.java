@@ -2,12 +2,14 @@ package com.joaopenascimento.backend.services;
 
 import com.joaopenascimento.backend.repositories.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -26,4 +28,14 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                         .build())
                 .orElseThrow(() -> new UsernameNotFoundException("User não encontrado."));
     }
+
+    // Chamado pelo AuthenticationManager depois de um login certo com hash de custo ou algoritmo antigo
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.rehashPassword(user.getUsername(), user.getPassword(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
@@ -5,14 +5,15 @@ import com.joaopenascimento.backend.dto.property.PropertyDTO;
 import com.joaopenascimento.backend.dto.user.UserCreateDTO;
 import com.joaopenascimento.backend.dto.user.UserDTO;
 import com.joaopenascimento.backend.dto.user.UserUpdateDTO;
+import com.joaopenascimento.backend.events.BrokerRenamedEvent;
 import com.joaopenascimento.backend.model.Property;
 import com.joaopenascimento.backend.model.User;
 import com.joaopenascimento.backend.model.enums.UserRole;
 import com.joaopenascimento.backend.repositories.PropertyRepository;
 import com.joaopenascimento.backend.repositories.UserRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,11 +27,22 @@ public class UserService {
     private final UserRepository userRepository;
     private final PropertyRepository propertyRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserService(UserRepository userRepository, PropertyRepository propertyRepository, PasswordEncoder passwordEncoder) {
+    private final CurrentUser currentUser;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserService(UserRepository userRepository, PropertyRepository propertyRepository,
+                       PasswordEncoder passwordEncoder, CurrentUser currentUser,
+                       RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.propertyRepository = propertyRepository;
         this.passwordEncoder = passwordEncoder;
+        this.currentUser = currentUser;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -40,21 +52,32 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public UserDTO getMe() {
-        
-        User user = getAuthenticatedUser();
+        return currentUser.profile();
+    }
 
-        return new UserDTO(user);
+    // Derruba todas as sessões do usuário: access tokens já emitidos e refresh tokens
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public void revokeSessions(Long userId) {
+
+        if (currentUser.get().role() != UserRole.ADMIN) {
+            throw new RuntimeException("Você não tem permissão para revogar sessões.");
+        }
+
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("Usuário não encontrado");
+        }
+
+        tokenRevocationService.revokeUser(userId);
+        refreshTokenService.revokeAll(userId);
     }
 
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public UserDTO create(UserCreateDTO dto) {
         
-        User currentUser = getAuthenticatedUser();
-        
-        if (currentUser.getRole() != UserRole.ADMIN) {
+        if (currentUser.get().role() != UserRole.ADMIN) {
             throw new RuntimeException("Você não tem permissão para criar usuários.");
         }
         
@@ -69,32 +92,37 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(dto.password()));
 
         user = userRepository.save(user);
+        currentUser.evict(user.getEmail());
         return new UserDTO(user);
     }
 
     @Transactional
     public UserDTO update(UserUpdateDTO dto) {
         
-        User user = getAuthenticatedUser();
+        User user = loadAuthenticatedUser();
 
-        if (dto.name() != null) {
+        if (dto.name() != null && !dto.name().equals(user.getName())) {
             user.setName(dto.name());
+            // O nome do corretor aparece nas listagens de imóveis
+            if (user.getRole() != UserRole.CLIENTE) {
+                eventPublisher.publishEvent(new BrokerRenamedEvent(user.getId()));
+            }
         }
 
         if(dto.password() != null) {
             user.setPassword(passwordEncoder.encode(dto.password()));
+            // Sessões abertas com a senha antiga não renovam mais
+            refreshTokenService.revokeAll(user.getId());
         }
 
         user = userRepository.save(user);
+        currentUser.evict(user.getEmail());
         return new UserDTO(user);
     }
 
     @Transactional(readOnly = true)
     public List<PropertyDTO> getFavorites() {
-        
-        User user = getAuthenticatedUser();
-
-        return user.getFavorites().stream()
+        return propertyRepository.findFavoritesByUserId(currentUser.get().id()).stream()
                 .map(PropertyDTO::new)
                 .collect(Collectors.toList());
     }
@@ -102,7 +130,7 @@ public class UserService {
     @Transactional
     public void addFavorite(Long propertyId) {
 
-        User user = getAuthenticatedUser();
+        User user = loadAuthenticatedUser();
 
         Property property = propertyRepository.findById(propertyId)
                                 .orElseThrow(() -> new RuntimeException("Imóvel não encontrado"));
@@ -119,7 +147,7 @@ public class UserService {
     @Transactional
     public void removeFavorite(Long propertyId) {
 
-        User user = getAuthenticatedUser();
+        User user = loadAuthenticatedUser();
 
         Property property = propertyRepository.findById(propertyId)
                                 .orElseThrow(() -> new RuntimeException("Imóvel não encontrado"));
@@ -148,12 +176,9 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
     }
 
-    public User getAuthenticatedUser() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getName();
-
-        return userRepository.findByEmail(email)
+    // Só para quem altera o próprio usuário; leituras usam o CurrentUser, sem ir ao banco
+    private User loadAuthenticatedUser() {
+        return userRepository.findById(currentUser.get().id())
                 .orElseThrow(() -> new RuntimeException("Usuário autenticado não encontrado"));
     }
 }
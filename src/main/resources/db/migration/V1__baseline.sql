@@ -0,0 +1,45 @@
+-- Esquema como o ddl-auto deixava até aqui. Bancos que já existiam recebem baseline nesta
+-- versão (spring.flyway.baseline-on-migrate) e só executam as migrações seguintes.
+
+create sequence tb_users_seq start with 1 increment by 50;
+create sequence tb_properties_seq start with 1 increment by 100;
+
+create table tb_users (
+    id bigint not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    name varchar(100) not null,
+    role varchar(255) not null check (role in ('ADMIN', 'CORRETOR', 'CLIENTE')),
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table tb_properties (
+    id bigint not null,
+    name varchar(100) not null,
+    description text not null,
+    type varchar(255) not null check (type in ('CASA', 'TERRENO', 'APARTAMENTO')),
+    active boolean not null,
+    value float(53) not null,
+    area integer not null,
+    bedrooms integer not null,
+    address varchar(255) not null,
+    city varchar(255) not null,
+    state varchar(255) not null,
+    latitude float(53),
+    longitude float(53),
+    property_images varchar(255) not null,
+    broker_id bigint not null,
+    version bigint default 0 not null,
+    updated_at timestamp(6) with time zone,
+    primary key (id),
+    constraint fk_properties_broker foreign key (broker_id) references tb_users
+);
+
+create table tb_user_favorites (
+    user_id bigint not null,
+    property_id bigint not null,
+    primary key (user_id, property_id),
+    constraint fk_user_favorites_user foreign key (user_id) references tb_users,
+    constraint fk_user_favorites_property foreign key (property_id) references tb_properties
+);
@@ -0,0 +1,21 @@
+-- Bancos com baseline na V1 podem não ter passado pelo ddl-auto depois das últimas mudanças nas entidades.
+-- Tudo aqui é idempotente: num banco criado pela V1 nada muda.
+
+create sequence if not exists tb_users_seq start with 1 increment by 50;
+create sequence if not exists tb_properties_seq start with 1 increment by 100;
+
+alter table tb_properties add column if not exists version bigint default 0 not null;
+alter table tb_properties add column if not exists updated_at timestamp(6) with time zone;
+alter table tb_properties add column if not exists latitude float(53);
+alter table tb_properties add column if not exists longitude float(53);
+
+-- Os ids nasceram IDENTITY. O otimizador pooled usa o valor da sequência como topo do bloco
+-- (ids de valor - alocação + 1 até valor), então o próximo valor precisa ficar um bloco acima do maior id.
+-- Uma sequência que já está à frente dos dados não é tocada.
+select setval('tb_users_seq', max_id + 50, false)
+from (select coalesce(max(id), 0) as max_id from tb_users) t
+where max_id + 50 > (select case when is_called then last_value + 50 else last_value end from tb_users_seq);
+
+select setval('tb_properties_seq', max_id + 100, false)
+from (select coalesce(max(id), 0) as max_id from tb_properties) t
+where max_id + 100 > (select case when is_called then last_value + 100 else last_value end from tb_properties_seq);
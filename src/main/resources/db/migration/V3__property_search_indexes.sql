@@ -0,0 +1,25 @@
+-- Índices para os predicados que o PropertyService monta no findAll/findAllByCursor
+-- (quando o snapshot colunar não responde) e para as consultas por corretor e favoritos.
+
+-- type = ? com ou sem faixa de preço
+create index ix_properties_type_value on tb_properties (type, value);
+
+-- Faixa de preço sem tipo
+create index ix_properties_value on tb_properties (value);
+
+-- bedrooms >= ?, que combina com os demais filtros via BitmapAnd
+create index ix_properties_bedrooms on tb_properties (bedrooms);
+
+-- findByBrokerId e a checagem da FK ao excluir um corretor
+create index ix_properties_broker on tb_properties (broker_id);
+
+-- Busca geográfica (caixa + raio) e a carga do índice em memória: só imóveis com coordenadas
+create index ix_properties_location on tb_properties (latitude, longitude)
+    where latitude is not null and longitude is not null;
+
+-- lower(name) like '%termo%', usado enquanto o índice de texto em memória carrega
+create extension if not exists pg_trgm;
+create index ix_properties_name_trgm on tb_properties using gin (lower(name) gin_trgm_ops);
+
+-- A PK (user_id, property_id) só atende a busca pelo usuário; excluir um imóvel procura pelo property_id
+create index ix_user_favorites_property on tb_user_favorites (property_id);
@@ -0,0 +1,19 @@
+-- Refresh tokens rotativos: só o SHA-256 do token fica no banco
+create sequence tb_refresh_tokens_seq start with 1 increment by 50;
+
+create table tb_refresh_tokens (
+    id bigint not null,
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    family_id uuid not null,
+    expires_at timestamp(6) with time zone not null,
+    used_at timestamp(6) with time zone,
+    revoked_at timestamp(6) with time zone,
+    primary key (id),
+    constraint uk_refresh_tokens_hash unique (token_hash),
+    constraint fk_refresh_tokens_user foreign key (user_id) references tb_users
+);
+
+-- Revogação da família (reuso detectado) e de todas as sessões do usuário (troca de senha)
+create index ix_refresh_tokens_family on tb_refresh_tokens (family_id);
+create index ix_refresh_tokens_user on tb_refresh_tokens (user_id);
@@ -0,0 +1,16 @@
+-- Revogações de access token: por jti (logout) ou de todos os tokens de um usuário emitidos até revoked_at
+create sequence tb_revoked_tokens_seq start with 1 increment by 50;
+
+create table tb_revoked_tokens (
+    id bigint not null,
+    token_id varchar(36),
+    user_id bigint,
+    revoked_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+-- Confirmação de um acerto do filtro de Bloom e limpeza do que já venceu
+create index ix_revoked_tokens_token on tb_revoked_tokens (token_id);
+create index ix_revoked_tokens_user on tb_revoked_tokens (user_id);
+create index ix_revoked_tokens_expires on tb_revoked_tokens (expires_at);
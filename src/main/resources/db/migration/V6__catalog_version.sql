@@ -0,0 +1,10 @@
+-- Versão do catálogo, base do ETag e do Last-Modified das listagens. Uma linha só, avançada na mesma transação
+-- de cada escrita em imóveis e da troca de nome de um corretor, então vale para todas as instâncias.
+create table tb_catalog_version (
+    id bigint not null,
+    version bigint not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+insert into tb_catalog_version (id, version, updated_at) values (1, 0, current_timestamp);
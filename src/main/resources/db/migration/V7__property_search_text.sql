@@ -0,0 +1,22 @@
+-- Filtro de texto no banco com a mesma semântica do índice em memória (PropertyTextIndex), usado enquanto o
+-- índice carrega ou quando a busca casa imóveis demais para ele. A aplicação grava a coluna a cada escrita com
+-- o TextNormalizer; aqui só as linhas que já existem são preenchidas com a mesma regra: sem acento, minúsculas,
+-- termos alfanuméricos sem stopwords, separados e cercados por espaço.
+create extension if not exists unaccent;
+
+alter table tb_properties add column if not exists search_text text;
+
+update tb_properties p
+set search_text = ' ' || coalesce((
+        select string_agg(term, ' ' order by position) || ' '
+        from regexp_split_to_table(lower(unaccent(p.name || ' ' || p.description)), '[^a-z0-9]+')
+             with ordinality as t(term, position)
+        where term <> ''
+          and term not in ('a', 'o', 'as', 'os', 'um', 'uma', 'uns', 'umas',
+                           'de', 'da', 'do', 'das', 'dos', 'e', 'em', 'no', 'na', 'nos', 'nas',
+                           'ao', 'aos', 'com', 'para', 'pra', 'por', 'pelo', 'pela', 'que', 'se', 'ou')), '')
+where search_text is null;
+
+-- search_text like '% termo%' por termo da busca; substitui o like sobre o nome
+create index ix_properties_search_text_trgm on tb_properties using gin (search_text gin_trgm_ops);
+drop index if exists ix_properties_name_trgm;
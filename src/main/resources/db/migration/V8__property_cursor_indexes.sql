@@ -0,0 +1,11 @@
+-- Paginação por cursor (PropertyService.findAllByCursor): order by <campo>, id com o predicado do keyset.
+-- Com (campo, id) o Postgres lê o índice a partir da última posição, na ordem pedida e em qualquer direção,
+-- em vez de filtrar e ordenar a tabela inteira a cada página.
+create index ix_properties_name_id on tb_properties (name, id);
+create index ix_properties_value_id on tb_properties (value, id);
+create index ix_properties_area_id on tb_properties (area, id);
+create index ix_properties_bedrooms_id on tb_properties (bedrooms, id);
+
+-- Os índices de uma coluna ficam cobertos pelos novos, que atendem os mesmos filtros de faixa
+drop index if exists ix_properties_value;
+drop index if exists ix_properties_bedrooms;
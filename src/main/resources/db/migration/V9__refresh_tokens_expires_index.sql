@@ -0,0 +1,2 @@
+-- Limpeza periódica dos refresh tokens vencidos (RefreshTokenService.deleteExpired)
+create index ix_refresh_tokens_expires on tb_refresh_tokens (expires_at);
@@ -0,0 +1,81 @@
+package com.joaopenascimento.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitoredDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:monitored;DB_CLOSE_DELAY=-1");
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ZERO, 1.0, meterRegistry);
+        jdbcTemplate = new JdbcTemplate(new MonitoredDataSource(h2, slowQueryLog));
+        jdbcTemplate.execute("create table if not exists item (id bigint primary key)");
+        jdbcTemplate.execute("delete from item");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementCounter.stop();
+    }
+
+    @Test
+    @DisplayName("Deve contar cada execução na requisição aberta, um lote como um comando, e agrupar os repetidos")
+    void execute_CountsStatements() {
+        SqlStatementCounter.start();
+
+        jdbcTemplate.update("insert into item (id) values (?)", 1L);
+        jdbcTemplate.batchUpdate("insert into item (id) values (?)", List.of(new Object[]{2L}, new Object[]{3L}));
+        jdbcTemplate.queryForObject("select count(*) from item", Long.class);
+
+        SqlStatementCounter.Statements statements = SqlStatementCounter.stop();
+        assertEquals(3, statements.total());
+        assertEquals(new SqlStatementCounter.Repeated("insert into item (id) values (?)", 2), statements.mostRepeated());
+    }
+
+    @Test
+    @DisplayName("Fora de uma requisição nada deve ser contado")
+    void execute_WithoutRequest() {
+        jdbcTemplate.queryForObject("select count(*) from item", Long.class);
+
+        assertEquals(0, SqlStatementCounter.current());
+    }
+
+    @Test
+    @DisplayName("Comandos acima do limite devem somar no contador de consultas lentas")
+    void execute_CountsSlowQueries() {
+        double before = meterRegistry.counter("sql.slow-queries").count();
+
+        jdbcTemplate.queryForObject("select count(*) from item", Long.class);
+
+        assertEquals(before + 1, meterRegistry.counter("sql.slow-queries").count());
+    }
+
+    @Test
+    @DisplayName("O unwrap deve chegar ao pool envolvido, para as métricas do Hikari")
+    void unwrap_ReachesPool() throws Exception {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            MonitoredDataSource dataSource = new MonitoredDataSource(pool,
+                    new SlowQueryLog(Duration.ofSeconds(1), 1.0, meterRegistry));
+
+            assertTrue(dataSource.isWrapperFor(HikariDataSource.class));
+            assertSame(pool, dataSource.unwrap(HikariDataSource.class));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.joaopenascimento.backend.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashCalibrationTest {
+
+    @Test
+    @DisplayName("Deve ficar com o maior custo que não passa da latência alvo")
+    void strengthFor_LargestUnderTarget() {
+        // 10 ms no custo 8: custo 12 leva ~160 ms e custo 13 ~320 ms
+        assertEquals(12, PasswordHashCalibration.strengthFor(Duration.ofMillis(250), Duration.ofMillis(10), 8, 4, 31));
+        assertEquals(13, PasswordHashCalibration.strengthFor(Duration.ofMillis(320), Duration.ofMillis(10), 8, 4, 31));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar os limites configurados, mesmo numa máquina muito lenta ou muito rápida")
+    void strengthFor_Clamped() {
+        assertEquals(10, PasswordHashCalibration.strengthFor(Duration.ofMillis(250), Duration.ofMillis(200), 8, 10, 16));
+        assertEquals(16, PasswordHashCalibration.strengthFor(Duration.ofSeconds(10), Duration.ofNanos(1), 8, 10, 16));
+    }
+}
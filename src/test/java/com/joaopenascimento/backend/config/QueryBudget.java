@@ -0,0 +1,41 @@
+package com.joaopenascimento.backend.config;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Orçamento de comandos SQL para testes: conta, pelo {@link MonitoredDataSource}, o que a chamada executa e
+ * falha se passar do máximo, mostrando o comando que mais se repetiu. O contexto do teste precisa do
+ * {@link MetricsConfig} e do {@link SlowQueryLog} para o DataSource ser envolvido.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> call) {
+        SqlStatementCounter.start();
+        T result;
+        SqlStatementCounter.Statements statements;
+        try {
+            result = call.get();
+        } finally {
+            statements = SqlStatementCounter.stop();
+        }
+
+        if (statements.total() > maxStatements) {
+            SqlStatementCounter.Repeated repeated = statements.mostRepeated();
+            fail(String.format("Esperado no máximo %d comandos SQL, executados %d; o mais repetido (%dx): %s",
+                    maxStatements, statements.total(), repeated.count(), repeated.sql()));
+        }
+        return result;
+    }
+
+    public static void assertAtMost(int maxStatements, Runnable call) {
+        assertAtMost(maxStatements, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
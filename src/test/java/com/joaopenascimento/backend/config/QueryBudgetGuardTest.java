@@ -0,0 +1,62 @@
+package com.joaopenascimento.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final QueryBudgetGuard guard = new QueryBudgetGuard(20,
+            new String[]{"GET /api/property/{id}=2", " POST /api/property/import = 0 "}, 1.0, meterRegistry);
+
+    @Test
+    @DisplayName("Deve usar o orçamento da rota e o default para as rotas sem entrada")
+    void budget_PerRoute() {
+        assertEquals(2, guard.budget("GET", "/api/property/{id}"));
+        assertEquals(0, guard.budget("POST", "/api/property/import"));
+        assertEquals(20, guard.budget("PUT", "/api/property/{id}"));
+    }
+
+    @Test
+    @DisplayName("Dentro do orçamento não deve contar nada")
+    void check_WithinBudget() {
+        assertTrue(guard.check("GET", "/api/property/{id}", statements(2)));
+        assertNull(meterRegistry.find("sql.budget.exceeded").counter());
+    }
+
+    @Test
+    @DisplayName("Acima do orçamento deve contar a requisição na série da rota")
+    void check_OverBudget() {
+        assertFalse(guard.check("GET", "/api/property/{id}", statements(5)));
+        assertEquals(1, meterRegistry.get("sql.budget.exceeded")
+                .tags("method", "GET", "uri", "/api/property/{id}")
+                .counter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("Orçamento 0 deve desligar o limite da rota")
+    void check_Unlimited() {
+        assertTrue(guard.check("POST", "/api/property/import", statements(5000)));
+    }
+
+    @Test
+    @DisplayName("Entrada sem o máximo deve ser recusada na subida")
+    void constructor_RejectsMalformedRoute() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new QueryBudgetGuard(20, new String[]{"GET /api/property"}, 1.0, meterRegistry));
+    }
+
+    private static SqlStatementCounter.Statements statements(int repeated) {
+        SqlStatementCounter.start();
+        SqlStatementCounter.record("select * from tb_properties where id = ?");
+        for (int i = 1; i < repeated; i++) {
+            SqlStatementCounter.record("select * from tb_users where id = ?");
+        }
+        return SqlStatementCounter.stop();
+    }
+}
@@ -0,0 +1,126 @@
+package com.joaopenascimento.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // auth e refresh: 1 por minuto; catálogo: 2 de rajada; resto: 1 de rajada
+        filter = new RateLimitFilter(true, 100, 1, 1.0 / 60, 1, 1.0 / 60, 2, 1, 1, 1, new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Login acima do limite do IP deve receber 429 com Retry-After, sem chegar ao controller")
+    void login_LimitedByIp() throws Exception {
+        assertEquals(200, send("POST", "/api/auth/login", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse limited = send("POST", "/api/auth/login", "10.0.0.1");
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("60", limited.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(limited.getContentAsString().contains("\"status\":429"));
+        assertEquals(1, meterRegistry.get("http.ratelimit.rejected").tag("group", "auth").counter().count());
+        assertEquals(200, send("POST", "/api/auth/login", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    @DisplayName("Com JWT o limite é do usuário, e cada grupo de rotas conta separado")
+    void authenticated_LimitedByUserPerGroup() throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser(7L, "corretor@test.com", UserRole.CORRETOR);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, null));
+
+        assertEquals(200, send("GET", "/api/property", "10.0.0.1").getStatus());
+        assertEquals(200, send("GET", "/api/property/1", "10.0.0.2").getStatus());
+        assertEquals(429, send("GET", "/api/property", "10.0.0.3").getStatus());
+
+        assertEquals(200, send("PUT", "/api/user/update", "10.0.0.1").getStatus());
+        assertEquals(429, send("PUT", "/api/user/update", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Renovação e logout não gastam o limite de login do IP")
+    void refreshAndLogout_DoNotConsumeLoginBudget() throws Exception {
+        assertEquals(200, send("POST", "/api/auth/refresh", "10.0.0.1", "{\"refreshToken\":\"a\"}").getStatus());
+        AuthenticatedUser user = new AuthenticatedUser(7L, "corretor@test.com", UserRole.CORRETOR);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, null));
+        assertEquals(200, send("POST", "/api/auth/logout", "10.0.0.1").getStatus());
+        SecurityContextHolder.clearContext();
+
+        assertEquals(200, send("POST", "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, send("POST", "/api/auth/register", "10.0.0.2").getStatus());
+        assertEquals(429, send("POST", "/api/auth/register", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    @DisplayName("Renovação é limitada pelo refresh token, e o corpo segue inteiro para o controller")
+    void refresh_LimitedByToken() throws Exception {
+        String body = "{\"refreshToken\":\"a\"}";
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/refresh");
+        request.setRemoteAddr("10.0.0.1");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(429, send("POST", "/api/auth/refresh", "10.0.0.2", body).getStatus());
+        assertEquals(1, meterRegistry.get("http.ratelimit.rejected").tag("group", "refresh").counter().count());
+    }
+
+    @Test
+    @DisplayName("Renovação com tokens diferentes ainda respeita o teto por IP")
+    void refresh_CappedByIp() throws Exception {
+        assertEquals(200, send("POST", "/api/auth/refresh", "10.0.0.1", "{\"refreshToken\":\"a\"}").getStatus());
+        assertEquals(429, send("POST", "/api/auth/refresh", "10.0.0.1", "{\"refreshToken\":\"b\"}").getStatus());
+        assertEquals(200, send("POST", "/api/auth/refresh", "10.0.0.2", "{\"refreshToken\":\"c\"}").getStatus());
+    }
+
+    @Test
+    @DisplayName("Rotas fora da API, como o healthz, não entram no limite")
+    void healthz_NotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send("GET", "/healthz", "10.0.0.1").getStatus());
+        }
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr) throws Exception {
+        return send(method, uri, remoteAddr, null);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        if (body != null) {
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,47 @@
+package com.joaopenascimento.backend.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName("Deve liberar a rajada da capacidade e depois uma ficha por intervalo")
+    void tryAcquire_BurstThenRefill() {
+        // 3 fichas, 2 por segundo: uma a cada 500 ms
+        RateLimiter limiter = new RateLimiter(3, 2, 100, nanos::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1"));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire("ip:1"));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(499));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), limiter.tryAcquire("ip:1"));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertTrue(limiter.tryAcquire("ip:1") > 0);
+    }
+
+    @Test
+    @DisplayName("Cada chave tem o seu bucket, e o bucket parado sai do mapa já cheio")
+    void tryAcquire_IndependentKeysAndIdleEviction() {
+        RateLimiter limiter = new RateLimiter(1, 1, 100, nanos::get);
+
+        assertEquals(0, limiter.tryAcquire("u:1"));
+        assertTrue(limiter.tryAcquire("u:1") > 0);
+        assertEquals(0, limiter.tryAcquire("u:2"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("u:3");
+        assertEquals(0, limiter.tryAcquire("u:1"));
+    }
+}
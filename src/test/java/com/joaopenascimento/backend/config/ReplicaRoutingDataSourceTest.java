@@ -0,0 +1,278 @@
+package com.joaopenascimento.backend.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.events.BrokerRenamedEvent;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dois H2 em memória no papel de primário e réplica, cada um com uma linha que diz quem ele é: a leitura
+ * mostra para onde a transação foi roteada.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = nanos::get;
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Transações readOnly devem ir à réplica e as de escrita ao primário")
+    void route_ByReadOnly() {
+        Routing routing = routing(Map.of("replica-0", replica), Duration.ZERO);
+
+        assertEquals("replica", routing.read());
+        assertEquals("primary", routing.write());
+        assertEquals(1, meterRegistry.get("db.read-only.connections").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    @DisplayName("As leituras devem alternar entre as réplicas")
+    void route_RoundRobin() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica);
+        replicas.put("replica-1", database("replica-1"));
+        Routing routing = routing(replicas, Duration.ZERO);
+
+        assertEquals("replica", routing.read());
+        assertEquals("replica-1", routing.read());
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    @DisplayName("Réplica que recusa conexão deve sair da roda e, sem nenhuma, a leitura deve ir ao primário")
+    void route_EjectsFailingReplica() {
+        FlakyDataSource flaky = new FlakyDataSource(replica);
+        Routing routing = routing(Map.of("replica-0", flaky), Duration.ZERO);
+
+        flaky.down = true;
+        assertEquals("primary", routing.read());
+        assertEquals(0, routing.replicas.available());
+        assertEquals(1, meterRegistry.get("db.read-only.connections").tag("target", "primary-fallback").counter().count());
+
+        // Dentro do prazo a réplica nem é tentada, mesmo de pé de novo
+        flaky.down = false;
+        flaky.attempts = 0;
+        assertEquals("primary", routing.read());
+        assertEquals(0, flaky.attempts);
+
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    @DisplayName("A sonda deve readmitir a réplica que voltou antes do fim do prazo")
+    void checkHealth_Readmits() {
+        FlakyDataSource flaky = new FlakyDataSource(replica);
+        Routing routing = routing(Map.of("replica-0", flaky), Duration.ZERO);
+
+        flaky.down = true;
+        routing.replicas.checkHealth();
+        assertEquals(0, routing.replicas.available());
+
+        flaky.down = false;
+        routing.replicas.checkHealth();
+        assertEquals(1, routing.replicas.available());
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    @DisplayName("Depois de uma escrita confirmada, só quem escreveu deve ler do primário durante a janela")
+    void route_ReadYourWrites() {
+        Routing routing = routing(Map.of("replica-0", replica), Duration.ofSeconds(5));
+
+        authenticate(7L);
+        routing.write();
+        assertEquals("primary", routing.read());
+
+        authenticate(8L);
+        assertEquals("replica", routing.read());
+
+        authenticate(7L);
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    @DisplayName("Uma escrita desfeita não deve abrir a janela")
+    void route_RollbackDoesNotMark() {
+        Routing routing = routing(Map.of("replica-0", replica), Duration.ofSeconds(5));
+        authenticate(7L);
+
+        routing.transaction.executeWithoutResult(status -> {
+            routing.jdbcTemplate.queryForObject("select name from marker", String.class);
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    @DisplayName("Dentro do PrimaryReads a leitura somente leitura deve ir ao primário")
+    void route_PinnedToPrimary() {
+        Routing routing = routing(Map.of("replica-0", replica), Duration.ZERO);
+
+        assertEquals("primary", PrimaryReads.call(routing::read));
+        assertEquals("replica", routing.read());
+        assertEquals(1, meterRegistry.get("db.read-only.connections").tag("target", "primary-pinned").counter().count());
+    }
+
+    @Test
+    @DisplayName("O cache de listagens deve ler da réplica, sem guardar o que leu logo depois de uma invalidação")
+    void queryCache_ReadsReplicaOutsideLagWindow() {
+        Routing routing = routing(Map.of("replica-0", replica), Duration.ZERO);
+        PropertyQueryCache cache = new PropertyQueryCache(true, 100, Duration.ofMinutes(1), Duration.ofSeconds(5),
+                meterRegistry, ticker);
+        PropertyFilter all = PropertyFilter.of(null, null, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        AtomicLong loads = new AtomicLong();
+        Supplier<Page<PropertyDTO>> loader = () -> {
+            loads.incrementAndGet();
+            return routing.page(pageable);
+        };
+
+        assertEquals("replica", cache.get(all, pageable, loader).getContent().get(0).name());
+        cache.get(all, pageable, loader);
+        assertEquals(1, loads.get());
+
+        // Escrita confirmada no primário: a réplica pode não ter, então a página lida agora não fica guardada
+        cache.onBrokerRenamed(new BrokerRenamedEvent(1L));
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        cache.get(all, pageable, loader);
+        cache.get(all, pageable, loader);
+        assertEquals(3, loads.get());
+
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("replica", cache.get(all, pageable, loader).getContent().get(0).name());
+        cache.get(all, pageable, loader);
+        assertEquals(4, loads.get());
+    }
+
+    private Routing routing(Map<String, DataSource> replicas, Duration window) {
+        ReplicaSet replicaSet = new ReplicaSet(replicas, Duration.ofSeconds(30), ticker, meterRegistry);
+        ReadYourWrites readYourWrites = new ReadYourWrites(window, 1000, ticker);
+        return new Routing(replicaSet, new ReplicaRoutingDataSource(primary, replicaSet, readYourWrites, meterRegistry));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table marker (name varchar(20))");
+        jdbcTemplate.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(long userId) {
+        AuthenticatedUser principal = new AuthenticatedUser(userId, "cliente" + userId + "@test.com", UserRole.CLIENTE);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(principal, null));
+    }
+
+    private static final class Routing {
+
+        final ReplicaSet replicas;
+
+        final JdbcTemplate jdbcTemplate;
+
+        final TransactionTemplate transaction;
+
+        final TransactionTemplate readOnlyTransaction;
+
+        Routing(ReplicaSet replicas, DataSource dataSource) {
+            this.replicas = replicas;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.transaction = new TransactionTemplate(transactionManager);
+            this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+            this.readOnlyTransaction.setReadOnly(true);
+        }
+
+        String read() {
+            return readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject("select name from marker", String.class));
+        }
+
+        Page<PropertyDTO> page(Pageable pageable) {
+            PropertyDTO property = new PropertyDTO(1L, read(), null, null, null, null, null, null, null, null, null, null,
+                    true, 1L, "Corretor", null);
+            return new PageImpl<>(List.of(property), pageable, 1);
+        }
+
+        String write() {
+            return transaction.execute(status -> jdbcTemplate.queryForObject("select name from marker", String.class));
+        }
+    }
+
+    private static final class FlakyDataSource extends AbstractDataSource {
+
+        private final DataSource target;
+
+        volatile boolean down;
+
+        volatile int attempts;
+
+        FlakyDataSource(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            attempts++;
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return target.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.joaopenascimento.backend.config;
+
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestLogFilterTest {
+
+    @Mock
+    private RequestLog requestLog;
+
+    private RequestLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestLogFilter(requestLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve registrar a rota mapeada, o id do usuário e o resultado do token, sem o e-mail")
+    void doFilter_RecordsEntry() throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser(7L, "corretor@test.com", UserRole.CORRETOR);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, null));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/property/42");
+        request.setAttribute(RequestLogFilter.AUTH_ATTRIBUTE, "token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/property/{id}");
+            ((MockHttpServletResponse) res).setStatus(304);
+        });
+
+        RequestLog.Entry entry = recorded();
+        assertEquals("GET", entry.method());
+        assertEquals("/api/property/{id}", entry.route());
+        assertEquals(304, entry.status());
+        assertEquals(7L, entry.userId());
+        assertEquals("token", entry.auth());
+        assertFalse(entry.toString().contains("corretor@test.com"));
+    }
+
+    @Test
+    @DisplayName("Exceção que escapa da cadeia deve entrar como 500, sem usuário")
+    void doFilter_EscapedException() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+
+        assertThrows(ServletException.class, () -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> { throw new ServletException("falhou"); }));
+
+        RequestLog.Entry entry = recorded();
+        assertEquals(500, entry.status());
+        assertEquals("/api/auth/login", entry.route());
+        assertNull(entry.userId());
+        assertEquals("none", entry.auth());
+    }
+
+    @Test
+    @DisplayName("Rotas fora da API não entram no log")
+    void doFilter_SkipsNonApi() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/healthz"), new MockHttpServletResponse(), (req, res) -> { });
+
+        verifyNoInteractions(requestLog);
+    }
+
+    private RequestLog.Entry recorded() {
+        ArgumentCaptor<RequestLog.Entry> captor = ArgumentCaptor.forClass(RequestLog.Entry.class);
+        verify(requestLog).record(captor.capture());
+        return captor.getValue();
+    }
+}
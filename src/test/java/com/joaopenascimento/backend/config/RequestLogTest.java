@@ -0,0 +1,60 @@
+package com.joaopenascimento.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Fora da amostra não entra no buffer; erros seguem a taxa própria")
+    void record_Sampling() {
+        RequestLog requestLog = new RequestLog(10, 0.0, 1.0, meterRegistry, false);
+
+        assertTrue(requestLog.record(entry(200)));
+        assertTrue(requestLog.record(entry(404)));
+
+        assertEquals(1, requestLog.pending());
+    }
+
+    @Test
+    @DisplayName("Com o buffer cheio deve descartar e contar, sem bloquear quem registra")
+    void record_DropsWhenFull() {
+        RequestLog requestLog = new RequestLog(2, 1.0, 1.0, meterRegistry, false);
+
+        assertTrue(requestLog.record(entry(200)));
+        assertTrue(requestLog.record(entry(200)));
+        assertFalse(requestLog.record(entry(200)));
+
+        assertEquals(2, requestLog.pending());
+        assertEquals(1, meterRegistry.get("http.request-log.dropped").counter().count());
+        assertEquals(2, meterRegistry.get("http.request-log.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Ao fechar, a thread de escrita deve esvaziar o buffer")
+    void close_DrainsBuffer() throws InterruptedException {
+        RequestLog requestLog = new RequestLog(100, 1.0, 1.0, meterRegistry, true);
+        for (int i = 0; i < 50; i++) {
+            requestLog.record(entry(200));
+        }
+
+        requestLog.close();
+
+        assertEquals(0, requestLog.pending());
+    }
+
+    private static RequestLog.Entry entry(int status) {
+        return new RequestLog.Entry("GET", "/api/property/{id}", status, 7L, "token", 1_500_000);
+    }
+}
@@ -0,0 +1,41 @@
+package com.joaopenascimento.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Comandos abaixo do limite não devem ser registrados nem contados")
+    void record_BelowThreshold() {
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(200), 1.0, meterRegistry);
+
+        assertFalse(log.record("select 1", Duration.ofMillis(50).toNanos()));
+        assertEquals(0, meterRegistry.counter("sql.slow-queries").count());
+    }
+
+    @Test
+    @DisplayName("Com amostragem zero o comando lento deve ser contado mas não escrito")
+    void record_SampledOut() {
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(200), 0.0, meterRegistry);
+
+        assertFalse(log.record("select 1", Duration.ofMillis(500).toNanos()));
+        assertEquals(1, meterRegistry.counter("sql.slow-queries").count());
+    }
+
+    @Test
+    @DisplayName("Com amostragem total todo comando lento deve ser escrito")
+    void record_Logged() {
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(200), 1.0, meterRegistry);
+
+        assertTrue(log.record("select 1", Duration.ofMillis(200).toNanos()));
+        assertEquals(1, meterRegistry.counter("sql.slow-queries").count());
+    }
+}
@@ -0,0 +1,58 @@
+package com.joaopenascimento.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final QueryBudgetGuard queryBudgetGuard = new QueryBudgetGuard(1, new String[0], 1.0, meterRegistry);
+
+    private final SqlStatementCountFilter filter = new SqlStatementCountFilter(queryBudgetGuard, meterRegistry);
+
+    @Test
+    @DisplayName("Deve publicar os comandos da requisição com a rota mapeada e fechar a contagem")
+    void doFilter_RecordsPerRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/property/42");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/property/{id}");
+            SqlStatementCounter.record("select * from tb_properties where id = ?");
+            SqlStatementCounter.record("select * from tb_users where id = ?");
+        });
+
+        DistributionSummary summary = meterRegistry.get("http.server.requests.sql")
+                .tags("method", "GET", "uri", "/api/property/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+        assertEquals(0, SqlStatementCounter.current());
+        assertEquals(1, meterRegistry.get("sql.budget.exceeded").tags("uri", "/api/property/{id}").counter().count());
+    }
+
+    @Test
+    @DisplayName("Sem rota mapeada a série deve ficar como UNKNOWN, não como o URI")
+    void doFilter_UnmappedRoute() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/nada/1"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        assertNotNull(meterRegistry.get("http.server.requests.sql").tags("uri", "UNKNOWN").summary());
+    }
+
+    @Test
+    @DisplayName("Rotas fora da API não devem ser medidas")
+    void doFilter_SkipsNonApi() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/prometheus"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        assertNull(meterRegistry.find("http.server.requests.sql").summary());
+    }
+}
@@ -0,0 +1,155 @@
+package com.joaopenascimento.backend.controllers;
+
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertySliceDTO;
+import com.joaopenascimento.backend.dto.property.PropertyVersion;
+import com.joaopenascimento.backend.dto.property.VersionedPropertyDTO;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.search.PropertyCatalogVersion;
+import com.joaopenascimento.backend.services.PropertyExportService;
+import com.joaopenascimento.backend.services.PropertyImportService;
+import com.joaopenascimento.backend.services.PropertyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyControllerTest {
+
+    @Mock
+    private PropertyService propertyService;
+
+    @Mock
+    private PropertyImportService propertyImportService;
+
+    @Mock
+    private PropertyExportService propertyExportService;
+
+    @Mock
+    private PropertyCatalogVersion catalogVersion;
+
+    private PropertyController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new PropertyController(propertyService, propertyImportService, propertyExportService, catalogVersion);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 ao If-None-Match atual sem carregar o imóvel")
+    void getById_NotModified() {
+        PropertyVersion version = new PropertyVersion(7L, 3L, Instant.parse("2026-01-01T10:00:00Z"), "Corretor");
+        when(propertyService.findVersion(7L)).thenReturn(version);
+
+        MockHttpServletRequest request = get("/api/property/7");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + version.etag() + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<PropertyDTO> result = controller.getPropertyById(7L, new ServletWebRequest(request, response));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+        assertEquals(304, response.getStatus());
+        verify(propertyService, never()).findPropertyById(any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o imóvel com ETag e Last-Modified quando a versão mudou")
+    void getById_Modified() {
+        PropertyVersion version = new PropertyVersion(7L, 4L, Instant.parse("2026-01-01T10:00:00Z"), "Corretor");
+        when(propertyService.findVersion(7L)).thenReturn(version);
+        Property property = new Property();
+        property.setId(7L);
+        User broker = new User();
+        broker.setName("Corretor");
+        property.setBroker(broker);
+        when(propertyService.findPropertyById(7L)).thenReturn(new PropertyDTO(property));
+
+        MockHttpServletRequest request = get("/api/property/7");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"7-3-" + Integer.toHexString("Corretor".hashCode()) + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<PropertyDTO> result = controller.getPropertyById(7L, new ServletWebRequest(request, response));
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"" + version.etag() + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(version.updatedAt().toEpochMilli(), response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("no-cache", result.getHeaders().getCacheControl());
+    }
+
+    @Test
+    @DisplayName("Sem If-None-Match deve carregar o imóvel uma vez só e tirar dele o ETag")
+    void getById_UnconditionalLoadsOnce() {
+        Property property = new Property();
+        property.setId(7L);
+        property.setVersion(4L);
+        property.setUpdatedAt(Instant.parse("2026-01-01T10:00:00Z"));
+        User broker = new User();
+        broker.setName("Corretor");
+        property.setBroker(broker);
+        when(propertyService.findVersionedPropertyById(7L)).thenReturn(new VersionedPropertyDTO(property));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<PropertyDTO> result = controller.getPropertyById(7L, new ServletWebRequest(get("/api/property/7"), response));
+
+        PropertyVersion version = new PropertyVersion(7L, 4L, Instant.parse("2026-01-01T10:00:00Z"), "Corretor");
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(7L, result.getBody().id());
+        assertEquals("\"" + version.etag() + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(version.updatedAt().toEpochMilli(), response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        verify(propertyService, never()).findVersion(any());
+        verify(propertyService, never()).findPropertyById(any());
+    }
+
+    @Test
+    @DisplayName("A listagem deve responder 304 até a próxima escrita no catálogo")
+    void getAllByCursor_NotModifiedUntilWrite() {
+        when(propertyService.findAllByCursor(any(), any(), any(), any(), any(), any(), any(), anyInt(), any()))
+                .thenReturn(new PropertySliceDTO(List.of(), 0, false, null));
+        PropertyCatalogVersion.Current initial = new PropertyCatalogVersion.Current("1-a", Instant.parse("2026-01-01T10:00:00Z"));
+        PropertyCatalogVersion.Current afterWrite = new PropertyCatalogVersion.Current("2-b", Instant.parse("2026-01-01T10:05:00Z"));
+        when(catalogVersion.current()).thenReturn(initial, initial, afterWrite);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        listing(get("/api/property"), first);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        MockHttpServletRequest revalidate = get("/api/property");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, listing(revalidate, new MockHttpServletResponse()).getStatusCode());
+
+        MockHttpServletRequest written = get("/api/property");
+        written.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        assertEquals(HttpStatus.OK, listing(written, new MockHttpServletResponse()).getStatusCode());
+        verify(propertyService, times(2)).findAllByCursor(any(), any(), any(), any(), any(), any(), any(), anyInt(), any());
+    }
+
+    private ResponseEntity<PropertySliceDTO> listing(MockHttpServletRequest request, MockHttpServletResponse response) {
+        return controller.getAllByCursor(null, null, null, null, null, null, null, null, null, null, null, null,
+                null, 10, Sort.by(Sort.Direction.DESC, "id"), new ServletWebRequest(request, response));
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,10 @@
+package com.joaopenascimento.backend.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Limite de um cenário: o p99 de todas as requisições, medido desde o instante em que cada uma deveria ter
+ * saído, e a fração máxima de erros (status 4xx/5xx, falhas de conexão e chegadas descartadas).
+ */
+public record LatencyBudget(Duration p99, double maxErrorRate) {
+}
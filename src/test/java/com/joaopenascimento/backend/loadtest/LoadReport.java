@@ -0,0 +1,69 @@
+package com.joaopenascimento.backend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Grava o resultado de um cenário em {@code dir}: {@code <cenário>.hgrm} com a distribuição de todas as
+ * requisições, um {@code <cenário>-<passo>.hgrm} por passo (em ms, no formato que o HistogramLogAnalyzer e o
+ * plotter do HdrHistogram leem) e {@code <cenário>.txt} com os percentis, os erros e o veredito do orçamento.
+ */
+public final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadReport() {
+    }
+
+    public static void write(Path dir, LoadResult result) throws IOException {
+        Files.createDirectories(dir);
+        String scenario = result.scenario().name();
+
+        writeDistribution(dir.resolve(scenario + ".hgrm"), result.latencies());
+        for (StepResult step : result.steps()) {
+            writeDistribution(dir.resolve(scenario + "-" + step.name() + ".hgrm"), step.latencies());
+        }
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(scenario + ".txt")), false,
+                StandardCharsets.UTF_8)) {
+            out.printf("%s: %.0f req/s por %s, %d requisições%n", scenario, result.scenario().ratePerSecond(),
+                    result.scenario().duration(), result.requests());
+            out.printf("%-12s %8s %8s %9s %9s %9s %9s %9s %8s%n",
+                    "passo", "total", "erros", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "descart.");
+            for (StepResult step : result.steps()) {
+                printRow(out, step.name(), step.latencies(), step.errors(), step.dropped());
+            }
+            long errors = result.steps().stream().mapToLong(StepResult::errors).sum();
+            long dropped = result.steps().stream().mapToLong(StepResult::dropped).sum();
+            printRow(out, "todos", result.latencies(), errors, dropped);
+
+            List<String> violations = result.violations();
+            LatencyBudget budget = result.scenario().budget();
+            out.printf("orçamento: p99 <= %d ms, erros <= %.2f%% -> %s%n", budget.p99().toMillis(),
+                    budget.maxErrorRate() * 100, violations.isEmpty() ? "OK" : "FALHOU");
+            violations.forEach(out::println);
+        }
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram latencies, long errors, long dropped) {
+        out.printf("%-12s %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n", name, latencies.getTotalCount(), errors,
+                millis(latencies, 50.0), millis(latencies, 90.0), millis(latencies, 99.0), millis(latencies, 99.9),
+                latencies.getMaxValue() / MICROS_PER_MILLI, dropped);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,47 @@
+package com.joaopenascimento.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+
+public record LoadResult(LoadScenario scenario, List<StepResult> steps) {
+
+    public Histogram latencies() {
+        Histogram total = new Histogram(3);
+        steps.forEach(step -> total.add(step.latencies()));
+        return total;
+    }
+
+    public long requests() {
+        return steps.stream().mapToLong(StepResult::requests).sum();
+    }
+
+    public double errorRate() {
+        long failed = steps.stream().mapToLong(step -> step.errors() + step.dropped()).sum();
+        long requests = requests();
+        return requests == 0 ? 0 : (double) failed / requests;
+    }
+
+    public long p99Micros() {
+        return latencies().getValueAtPercentile(99.0);
+    }
+
+    // Vazio quando o cenário cumpriu o orçamento
+    public List<String> violations() {
+        LatencyBudget budget = scenario.budget();
+        List<String> violations = new ArrayList<>();
+
+        long p99 = p99Micros();
+        if (p99 > budget.p99().toNanos() / 1000) {
+            violations.add(String.format("%s: p99 de %.1f ms acima do limite de %d ms",
+                    scenario.name(), p99 / 1000.0, budget.p99().toMillis()));
+        }
+        double errorRate = errorRate();
+        if (errorRate > budget.maxErrorRate()) {
+            violations.add(String.format("%s: %.2f%% de erros acima do limite de %.2f%%",
+                    scenario.name(), errorRate * 100, budget.maxErrorRate() * 100));
+        }
+        return violations;
+    }
+}
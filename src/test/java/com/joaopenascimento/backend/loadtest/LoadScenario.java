@@ -0,0 +1,30 @@
+package com.joaopenascimento.backend.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Carga em modelo aberto: {@code ratePerSecond} chegadas por segundo durante {@code duration},
+ * independentemente de quanto o servidor demora a responder, repartidas entre os passos pelo peso de cada um.
+ */
+public record LoadScenario(String name, double ratePerSecond, Duration duration, LatencyBudget budget,
+                           List<LoadStep> steps) {
+
+    public LoadScenario {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("A taxa de chegada do cenário " + name + " deve ser positiva");
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("O cenário " + name + " não tem passos");
+        }
+        steps = List.copyOf(steps);
+    }
+
+    public long arrivals() {
+        return Math.max(1, (long) (ratePerSecond * duration.toNanos() / 1_000_000_000.0));
+    }
+
+    public long intervalNanos() {
+        return (long) (1_000_000_000.0 / ratePerSecond);
+    }
+}
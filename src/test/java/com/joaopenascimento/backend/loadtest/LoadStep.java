@@ -0,0 +1,17 @@
+package com.joaopenascimento.backend.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.LongFunction;
+
+/**
+ * Um tipo de requisição dentro de um cenário. {@code weight} é a parte das chegadas que ele recebe, relativa
+ * aos outros passos, e {@code request} monta a requisição da n-ésima chegada do cenário.
+ */
+public record LoadStep(String name, int weight, LongFunction<HttpRequest> request) {
+
+    public LoadStep {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("O peso do passo " + name + " deve ser positivo");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.joaopenascimento.backend.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Dispara um {@link LoadScenario} em taxa constante: a n-ésima chegada sai em {@code início + n x intervalo},
+ * cada uma numa thread virtual, sem esperar as anteriores terminarem. A latência é contada a partir desse
+ * instante programado e não do envio real, para que um servidor lento não atrase as chegadas seguintes e
+ * esconda a própria fila (omissão coordenada).
+ */
+public class OpenLoadGenerator {
+
+    private final HttpClient client;
+    private final int maxInFlight;
+
+    // maxInFlight protege a máquina do teste: acima dele as chegadas são descartadas e contam como erro
+    public OpenLoadGenerator(HttpClient client, int maxInFlight) {
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public LoadResult run(LoadScenario scenario) {
+        List<LoadStep> steps = scenario.steps();
+        List<Recording> recordings = steps.stream().map(step -> new Recording()).toList();
+        int[] schedule = schedule(steps);
+        SplittableRandom random = new SplittableRandom(scenario.name().hashCode());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long arrivals = scenario.arrivals();
+        long interval = scenario.intervalNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (long n = 0; n < arrivals; n++) {
+                long intendedStart = start + n * interval;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                int index = schedule[random.nextInt(schedule.length)];
+                LoadStep step = steps.get(index);
+                Recording recording = recordings.get(index);
+                if (!inFlight.tryAcquire()) {
+                    recording.dropped.increment();
+                    continue;
+                }
+
+                long arrival = n;
+                executor.execute(() -> {
+                    try {
+                        send(step, arrival, intendedStart, recording);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+
+        List<StepResult> results = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            Recording recording = recordings.get(i);
+            results.add(new StepResult(steps.get(i).name(), recording.latencies,
+                    recording.errors.sum(), recording.dropped.sum()));
+        }
+        return new LoadResult(scenario, results);
+    }
+
+    private void send(LoadStep step, long arrival, long intendedStart, Recording recording) {
+        try {
+            HttpResponse<Void> response = client.send(step.request().apply(arrival), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                recording.errors.increment();
+            }
+        } catch (IOException e) {
+            recording.errors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recording.errors.increment();
+        }
+        recording.latencies.recordValue(Math.max(0, (System.nanoTime() - intendedStart) / 1000));
+    }
+
+    // Cada passo aparece tantas vezes quanto o seu peso; sortear uma posição reparte as chegadas pelos pesos
+    private static int[] schedule(List<LoadStep> steps) {
+        int[] schedule = new int[steps.stream().mapToInt(LoadStep::weight).sum()];
+        int position = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            for (int w = 0; w < steps.get(i).weight(); w++) {
+                schedule[position++] = i;
+            }
+        }
+        return schedule;
+    }
+
+    private static final class Recording {
+        final Histogram latencies = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+}
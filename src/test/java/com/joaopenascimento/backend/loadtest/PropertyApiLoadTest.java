@@ -0,0 +1,262 @@
+package com.joaopenascimento.backend.loadtest;
+
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.repositories.UserRepository;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import com.joaopenascimento.backend.services.TokenService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga em taxa constante contra a aplicação inteira, com Tomcat numa porta livre e o H2 do perfil
+ * {@code embedded}. Fica fora do {@code mvn test}; rode com {@code mvn -Ploadtest test}. Duração e taxas
+ * mudam com {@code -Dloadtest.duration=60s -Dloadtest.rate-scale=2}; os relatórios vão para
+ * {@code target/loadtest}. Cada cenário falha se passar do seu orçamento de p99 ou de erros.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "api.rate-limit.enabled=false",
+        "api.request-log.sample-rate=0",
+        // Custo fixo em vez de calibrado, para o orçamento do login não depender da máquina que roda o teste
+        "api.security.password.bcrypt.strength=10"})
+@ActiveProfiles("embedded")
+@Tag("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PropertyApiLoadTest {
+
+    private static final String PASSWORD = "123456";
+
+    private static final long FIRST_PROPERTY_ID = 1_000_000L;
+    private static final long FIRST_USER_ID = 1_000_000L;
+
+    private static final PropertyType[] TYPES = PropertyType.values();
+
+    private static final String[] TERMS = {"piscina", "varanda", "condomínio", "centro", "jardim"};
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.duration:10s}")
+    private Duration duration;
+
+    @Value("${loadtest.rate-scale:1.0}")
+    private double rateScale;
+
+    @Value("${loadtest.listings:10000}")
+    private int listings;
+
+    @Value("${loadtest.users:200}")
+    private int users;
+
+    @Value("${loadtest.report-dir:target/loadtest}")
+    private Path reportDir;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PropertyTextIndex textIndex;
+
+    @Autowired
+    private PropertyGeoIndex geoIndex;
+
+    @Autowired
+    private PropertyCatalogSnapshot catalog;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private OpenLoadGenerator generator;
+    private List<String> tokens;
+
+    @BeforeAll
+    void seed() {
+        generator = new OpenLoadGenerator(client, 2000);
+
+        Long brokerId = jdbcTemplate.queryForObject(
+                "select id from tb_users where email = 'corretor@imobiliaria.com'", Long.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < listings; i++) {
+            rows.add(new Object[]{FIRST_PROPERTY_ID + i, "Imóvel com " + TERMS[i % TERMS.length] + " " + i,
+                    "Descrição do imóvel " + i + " com " + TERMS[(i / TERMS.length) % TERMS.length],
+                    TYPES[random.nextInt(TYPES.length)].name(), 50_000.0 + random.nextInt(3_000_000),
+                    30 + random.nextInt(600), random.nextInt(6), "Rua " + i, "Recife", "PE",
+                    -8.2 + random.nextDouble(0.3), -35.0 + random.nextDouble(0.3),
+                    "https://img.com/" + i + ".jpg", brokerId});
+            if (rows.size() == 5000 || i == listings - 1) {
+                jdbcTemplate.batchUpdate("insert into tb_properties (id, name, description, type, value, area, bedrooms,"
+                        + " address, city, state, latitude, longitude, property_images, broker_id, active)"
+                        + " values (?,?,?,?,?,?,?,?,?,?,?,?,?,?,true)", rows);
+                rows.clear();
+            }
+        }
+
+        // Um hash só para todos os clientes: semear não deve custar um BCrypt por usuário
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> clients = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            clients.add(new Object[]{FIRST_USER_ID + i, email(i), hash, "Cliente " + i, "CLIENTE"});
+        }
+        jdbcTemplate.batchUpdate("insert into tb_users (id, email, password, name, role) values (?,?,?,?,?)", clients);
+
+        // As linhas entraram por fora do serviço: os índices e o snapshot precisam ser refeitos
+        textIndex.rebuild();
+        geoIndex.rebuild();
+        catalog.rebuild();
+
+        List<Long> ids = LongStream.range(FIRST_USER_ID, FIRST_USER_ID + users).boxed().toList();
+        tokens = userRepository.findAllById(ids).stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .map(tokenService::generateToken)
+                .toList();
+    }
+
+    // Cada cenário começa sem favoritos, para a primeira passada do favoriteStep sempre poder favoritar
+    @BeforeEach
+    void clearFavorites() {
+        jdbcTemplate.update("delete from tb_user_favorites where user_id >= ?", FIRST_USER_ID);
+    }
+
+    @Test
+    @DisplayName("Login a 10 req/s deve manter o p99 abaixo de 1 s")
+    void login() throws IOException {
+        run(new LoadScenario("login", 10 * rateScale, duration, new LatencyBudget(Duration.ofSeconds(1), 0.01),
+                List.of(loginStep(1))));
+    }
+
+    @Test
+    @DisplayName("Busca filtrada a 100 req/s deve manter o p99 abaixo de 250 ms")
+    void search() throws IOException {
+        run(new LoadScenario("search", 100 * rateScale, duration, new LatencyBudget(Duration.ofMillis(250), 0.01),
+                List.of(searchStep(1))));
+    }
+
+    @Test
+    @DisplayName("Detalhe do imóvel a 200 req/s deve manter o p99 abaixo de 100 ms")
+    void detail() throws IOException {
+        run(new LoadScenario("detail", 200 * rateScale, duration, new LatencyBudget(Duration.ofMillis(100), 0.01),
+                List.of(detailStep(1))));
+    }
+
+    @Test
+    @DisplayName("Favoritar e desfavoritar a 50 req/s deve manter o p99 abaixo de 250 ms")
+    void favorites() throws IOException {
+        run(new LoadScenario("favorites", 50 * rateScale, duration, new LatencyBudget(Duration.ofMillis(250), 0.01),
+                List.of(favoriteStep(1))));
+    }
+
+    @Test
+    @DisplayName("Tráfego misto a 100 req/s deve manter o p99 abaixo de 500 ms")
+    void mixed() throws IOException {
+        run(new LoadScenario("mixed", 100 * rateScale, duration, new LatencyBudget(Duration.ofMillis(500), 0.01),
+                List.of(loginStep(1), searchStep(5), detailStep(3), favoriteStep(1))));
+    }
+
+    private void run(LoadScenario scenario) throws IOException {
+        LoadResult result = generator.run(scenario);
+        LoadReport.write(reportDir, result);
+
+        List<String> violations = result.violations();
+        assertTrue(violations.isEmpty(), () -> String.join("\n", violations));
+    }
+
+    private LoadStep loginStep(int weight) {
+        return new LoadStep("login", weight, n -> request("/api/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email((int) (n % users)) + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build());
+    }
+
+    private LoadStep searchStep(int weight) {
+        return new LoadStep("search", weight, n -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            StringBuilder query = new StringBuilder("/api/property?size=20&page=").append(random.nextInt(5));
+            if (random.nextBoolean()) {
+                query.append("&name=").append(URLEncoder.encode(TERMS[random.nextInt(TERMS.length)], StandardCharsets.UTF_8));
+            }
+            if (random.nextBoolean()) {
+                query.append("&type=").append(TYPES[random.nextInt(TYPES.length)].name());
+            }
+            if (random.nextBoolean()) {
+                query.append("&minPrice=").append(100_000 * (1 + random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                query.append("&minBedrooms=").append(1 + random.nextInt(4));
+            }
+            return authorized(request(query.toString()), n).GET().build();
+        });
+    }
+
+    private LoadStep detailStep(int weight) {
+        return new LoadStep("detail", weight, n -> authorized(
+                request("/api/property/" + (FIRST_PROPERTY_ID + ThreadLocalRandom.current().nextInt(listings))), n)
+                .GET()
+                .build());
+    }
+
+    // A chegada n escolhe o par (usuário, imóvel) de forma que o mesmo par só volte depois de users x listings
+    // chegadas: a primeira passada favorita e a seguinte desfavorita, sem duas requisições disputando o mesmo par
+    private LoadStep favoriteStep(int weight) {
+        return new LoadStep("favorite", weight, n -> {
+            long pair = n % ((long) users * listings);
+            long propertyId = FIRST_PROPERTY_ID + pair / users;
+            HttpRequest.Builder builder = authorized(request("/api/user/favorites/" + propertyId), n);
+            boolean add = (n / ((long) users * listings)) % 2 == 0;
+            return (add ? builder.POST(HttpRequest.BodyPublishers.noBody()) : builder.DELETE()).build();
+        });
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(10));
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder, long n) {
+        return builder.header("Authorization", "Bearer " + tokens.get((int) (n % users)));
+    }
+
+    private static String email(int i) {
+        return "cliente" + i + "@carga.com";
+    }
+}
@@ -0,0 +1,14 @@
+package com.joaopenascimento.backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latências de um passo em microssegundos. {@code dropped} conta as chegadas que não saíram porque o
+ * limite de requisições em andamento já estava cheio.
+ */
+public record StepResult(String name, Histogram latencies, long errors, long dropped) {
+
+    public long requests() {
+        return latencies.getTotalCount() + dropped;
+    }
+}
@@ -0,0 +1,131 @@
+package com.joaopenascimento.backend.repositories;
+
+import com.joaopenascimento.backend.search.TextNormalizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parte do esquema que o ddl-auto da versão original deixava (ids IDENTITY, sem coordenadas, versão nem
+ * updated_at), com dados, e deixa o Flyway fazer o baseline na V1 e aplicar o resto, como num banco de produção.
+ * Sem Docker na máquina o teste é pulado.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PropertySchemaBaselineTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static boolean originalSchemaCreated;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        // O esquema antigo precisa existir antes do Flyway rodar, que é quando a url é lida
+        registry.add("spring.datasource.url", () -> {
+            createOriginalSchema();
+            return POSTGRES.getJdbcUrl();
+        });
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Banco criado pelo ddl-auto original deve receber baseline na V1 e migrar até a última versão")
+    void baselineFromOriginalSchema() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where success order by installed_rank", String.class);
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9"), versions);
+
+        List<String> columns = jdbcTemplate.queryForList("""
+                select column_name from information_schema.columns
+                where table_name = 'tb_properties' and column_name in ('latitude', 'longitude', 'version', 'updated_at')
+                order by column_name
+                """, String.class);
+        assertEquals(List.of("latitude", "longitude", "updated_at", "version"), columns);
+
+        Integer locationIndex = jdbcTemplate.queryForObject(
+                "select count(*) from pg_indexes where indexname = 'ix_properties_location'", Integer.class);
+        assertEquals(1, locationIndex);
+
+        // O preenchimento em SQL segue a mesma normalização que a aplicação usa nas escritas
+        jdbcTemplate.query("select name, description, search_text from tb_properties", row -> {
+            assertEquals(TextNormalizer.searchText(row.getString("name"), row.getString("description")),
+                    row.getString("search_text"));
+        });
+
+        // A sequência nova começa um bloco acima dos ids que vieram do IDENTITY
+        Long next = jdbcTemplate.queryForObject("select nextval('tb_properties_seq')", Long.class);
+        assertTrue(next > 3, "próximo id " + next + " colide com os existentes");
+    }
+
+    private static synchronized void createOriginalSchema() {
+        if (originalSchemaCreated) {
+            return;
+        }
+        try (Connection connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table tb_users (
+                        id bigint generated by default as identity,
+                        email varchar(255) not null unique,
+                        password varchar(255) not null,
+                        name varchar(100) not null,
+                        role varchar(255) not null check (role in ('ADMIN', 'CORRETOR', 'CLIENTE')),
+                        primary key (id)
+                    );
+                    create table tb_properties (
+                        id bigint generated by default as identity,
+                        name varchar(100) not null,
+                        description text not null,
+                        type varchar(255) not null check (type in ('CASA', 'TERRENO', 'APARTAMENTO')),
+                        active boolean not null,
+                        value float(53) not null,
+                        area integer not null,
+                        bedrooms integer not null,
+                        address varchar(255) not null,
+                        city varchar(255) not null,
+                        state varchar(255) not null,
+                        property_images varchar(255) not null,
+                        broker_id bigint not null references tb_users,
+                        primary key (id)
+                    );
+                    create table tb_user_favorites (
+                        user_id bigint not null references tb_users,
+                        property_id bigint not null references tb_properties,
+                        primary key (user_id, property_id)
+                    );
+                    insert into tb_users (email, password, name, role) values ('corretor@test.com', 'hash', 'Corretor', 'CORRETOR');
+                    insert into tb_properties (name, description, type, active, value, area, bedrooms, address, city, state,
+                                               property_images, broker_id)
+                    select 'Casa de praia ' || i, 'Descrição', 'CASA', true, 100000, 100, 2, 'Rua', 'Recife', 'PE',
+                           'https://img.com/' || i || '.jpg', 1
+                    from generate_series(1, 3) i;
+                    """);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        originalSchemaCreated = true;
+    }
+}
@@ -0,0 +1,137 @@
+package com.joaopenascimento.backend.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe o Postgres real, aplica as migrações e deixa o Hibernate validar as entidades contra elas.
+ * Os EXPLAINs usam os mesmos predicados que o PropertyService monta; com {@code enable_seqscan} desligado
+ * o planejador só cai num Seq Scan quando nenhum índice atende, que é o que o teste procura.
+ * Sem Docker na máquina o teste é pulado.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PropertySchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into tb_users (id, email, password, name, role)"
+                + " values (1, 'corretor@test.com', 'hash', 'Corretor', 'CORRETOR')");
+        jdbcTemplate.update("""
+                insert into tb_properties (id, name, description, type, active, value, area, bedrooms, address, city,
+                                           state, latitude, longitude, property_images, broker_id)
+                select i, 'Casa de praia ' || i, 'Descrição', (array['CASA', 'TERRENO', 'APARTAMENTO'])[i % 3 + 1],
+                       true, 100000 + i * 1000, 100, i % 5, 'Rua', 'Recife', 'PE',
+                       case when i % 4 = 0 then null else -8.0 - i * 0.0001 end,
+                       case when i % 4 = 0 then null else -34.9 + i * 0.0001 end,
+                       'https://img.com/' || i || '.jpg', 1
+                from generate_series(1, 2000) i
+                """);
+        jdbcTemplate.update("insert into tb_user_favorites (user_id, property_id) select 1, i from generate_series(1, 50) i");
+        jdbcTemplate.execute("analyze");
+        jdbcTemplate.execute("set local enable_seqscan = off");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar todas as migrações e validar as entidades contra o esquema")
+    void migrationsApplied() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where success order by installed_rank", String.class);
+
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9"), versions);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    @DisplayName("Cada combinação de filtros deve ser resolvida por índice")
+    void filtersUseIndex(String description, String table, String where) {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "explain select * from " + table + " where " + where, String.class));
+
+        assertFalse(plan.contains("Seq Scan"), description + " caiu num Seq Scan:\n" + plan);
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("cursorSorts")
+    @DisplayName("Uma página funda do cursor deve ler o índice (campo, id) a partir da posição, sem ordenar")
+    void cursorUsesIndex(String column, String direction, String lastValue) {
+        String after = direction.equals("asc") ? ">" : "<";
+        String bound = direction.equals("asc") ? ">=" : "<=";
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "explain select * from tb_properties where " + column + " " + bound + " " + lastValue
+                        + " and (" + column + " " + after + " " + lastValue
+                        + " or (" + column + " = " + lastValue + " and id " + after + " 1500))"
+                        + " order by " + column + " " + direction + ", id " + direction + " limit 20", String.class));
+
+        assertTrue(plan.contains("ix_properties_" + column + "_id"), plan);
+        assertFalse(plan.contains("Sort"), column + " " + direction + " ordenou a tabela:\n" + plan);
+    }
+
+    // Mesma forma do keyset do Spring Data, com o limite que o PropertyService.resumeAt acrescenta
+    static Stream<Arguments> cursorSorts() {
+        return Stream.of(
+                Arguments.of("name", "asc", "'Casa de praia 1500'"),
+                Arguments.of("name", "desc", "'Casa de praia 1500'"),
+                Arguments.of("value", "asc", "1600000"),
+                Arguments.of("value", "desc", "1600000"),
+                Arguments.of("area", "asc", "100"),
+                Arguments.of("bedrooms", "desc", "3"));
+    }
+
+    // Espelha os predicados do PropertyService.buildSpecification e das consultas do repositório
+    static Stream<Arguments> filters() {
+        String box = "latitude between -8.1 and -8.0 and longitude between -34.9 and -34.8";
+        String radius = box + " and ((latitude + 8.05) * 111.2) * ((latitude + 8.05) * 111.2)"
+                + " + ((longitude + 34.85) * 110.1) * ((longitude + 34.85) * 110.1) <= 25";
+
+        return Stream.of(
+                Arguments.of("tipo", "tb_properties", "type = 'CASA'"),
+                Arguments.of("tipo e faixa de preço", "tb_properties", "type = 'CASA' and value >= 150000 and value <= 300000"),
+                Arguments.of("preço mínimo", "tb_properties", "value >= 1000000"),
+                Arguments.of("faixa de preço", "tb_properties", "value >= 150000 and value <= 300000"),
+                Arguments.of("quartos", "tb_properties", "bedrooms >= 4"),
+                Arguments.of("tipo e quartos", "tb_properties", "type = 'TERRENO' and bedrooms >= 3"),
+                Arguments.of("preço e quartos", "tb_properties", "value <= 200000 and bedrooms >= 2"),
+                Arguments.of("texto", "tb_properties", "search_text like '% praia%' and search_text like '% 19%'"),
+                Arguments.of("texto e tipo", "tb_properties", "search_text like '% praia%' and type = 'CASA'"),
+                Arguments.of("área geográfica", "tb_properties", box),
+                Arguments.of("raio", "tb_properties", radius),
+                Arguments.of("raio e preço", "tb_properties", radius + " and value <= 500000"),
+                Arguments.of("imóveis do corretor", "tb_properties", "broker_id = 1"),
+                Arguments.of("favoritos do usuário", "tb_user_favorites", "user_id = 1"),
+                Arguments.of("favoritos de um imóvel", "tb_user_favorites", "property_id = 10"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.joaopenascimento.backend.repositories;
+
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.config.MetricsConfig;
+import com.joaopenascimento.backend.config.SecondLevelCacheConfig;
+import com.joaopenascimento.backend.config.SlowQueryLog;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import com.joaopenascimento.backend.services.CurrentUser;
+import com.joaopenascimento.backend.services.PropertyService;
+import com.joaopenascimento.backend.services.RefreshTokenService;
+import com.joaopenascimento.backend.services.TokenRevocationService;
+import com.joaopenascimento.backend.services.TokenService;
+import com.joaopenascimento.backend.services.UserService;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.joaopenascimento.backend.config.QueryBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cada leitura numa transação própria, como nos serviços: dentro de uma transação só, o READ_WRITE não entrega
+ * o que foi posto no cache depois que ela começou, e o teste não veria acerto nenhum.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@Import({SecondLevelCacheConfig.class, MetricsConfig.class, SlowQueryLog.class, SimpleMeterRegistry.class,
+        PropertyService.class, UserService.class, CurrentUser.class, RefreshTokenService.class, TokenService.class,
+        TokenRevocationService.class, PropertyTextIndex.class, PropertyGeoIndex.class, PropertyCatalogSnapshot.class,
+        PropertyQueryCache.class, Config.class})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("secondLevelCacheMetrics")
+    private MeterBinder secondLevelCacheMetrics;
+
+    private User client;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        User broker = userRepository.save(newUser("corretor@test.com", UserRole.CORRETOR));
+        property = propertyRepository.save(newProperty(broker));
+
+        client = newUser("cliente@test.com", UserRole.CLIENTE);
+        client.setFavorites(new HashSet<>(Set.of(property)));
+        client = userRepository.save(client);
+
+        // Começa frio: só o que os testes lerem entra no cache
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tb_user_favorites");
+        jdbcTemplate.update("delete from tb_properties");
+        jdbcTemplate.update("delete from tb_users");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("findById deve ir ao banco uma vez e depois sair do cache")
+    void findById_Cached() {
+        assertAtMost(1, () -> propertyRepository.findById(property.getId()).orElseThrow());
+
+        Property cached = assertAtMost(0, () -> propertyRepository.findById(property.getId()).orElseThrow());
+        assertEquals(property.getName(), cached.getName());
+    }
+
+    @Test
+    @DisplayName("O detalhe do imóvel deve sair do cache na segunda leitura, corretor incluído")
+    void findPropertyById_Cached() {
+        assertAtMost(2, () -> propertyService.findPropertyById(property.getId()));
+
+        PropertyDTO cached = assertAtMost(0, () -> propertyService.findPropertyById(property.getId()));
+        assertEquals(property.getName(), cached.name());
+        assertEquals("Usuário corretor@test.com", cached.brokerName());
+    }
+
+    @Test
+    @DisplayName("findByEmail deve resolver pelo id natural e depois sair do cache")
+    void findByEmail_NaturalIdCached() {
+        assertAtMost(2, () -> userRepository.findByEmail("cliente@test.com").orElseThrow());
+
+        User cached = assertAtMost(0, () -> userRepository.findByEmail("cliente@test.com").orElseThrow());
+        assertEquals(client.getId(), cached.getId());
+    }
+
+    @Test
+    @DisplayName("Os favoritos devem sair do cache da coleção, com os imóveis do cache da entidade")
+    void favorites_Cached() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status ->
+                userRepository.findById(client.getId()).orElseThrow().getFavorites().size());
+
+        List<String> favorites = assertAtMost(0, () -> transaction.execute(status -> userRepository.findById(client.getId())
+                .orElseThrow()
+                .getFavorites()
+                .stream()
+                .map(Property::getName)
+                .toList()));
+        assertEquals(List.of(property.getName()), favorites);
+    }
+
+    @Test
+    @DisplayName("Deve publicar a taxa de acerto por região")
+    void metrics_HitRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+
+        propertyRepository.findById(property.getId());
+        propertyRepository.findById(property.getId());
+
+        assertEquals(0.5, registry.get("hibernate.cache.region.hit.ratio").tag("region", "property").gauge().value());
+    }
+
+    private static User newUser(String email, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Usuário " + email);
+        user.setPassword("hash");
+        user.setRole(role);
+        return user;
+    }
+
+    private static Property newProperty(User broker) {
+        Property property = new Property();
+        property.setName("Casa com piscina no centro");
+        property.setDescription("Descrição");
+        property.setType(PropertyType.CASA);
+        property.setValue(100000.0);
+        property.setArea(100);
+        property.setBedrooms(2);
+        property.setAddress("Rua 1");
+        property.setCity("Recife");
+        property.setState("PE");
+        property.setImageUrls("https://img.com/1.jpg");
+        property.setBroker(broker);
+        return property;
+    }
+}
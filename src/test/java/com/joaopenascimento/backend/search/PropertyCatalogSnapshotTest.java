@@ -0,0 +1,165 @@
+package com.joaopenascimento.backend.search;
+
+import com.joaopenascimento.backend.dto.property.GeoArea;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyCatalogSnapshotTest {
+
+    private static final PropertyFilter ALL = filter(null, null, null, null);
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    private PropertyCatalogSnapshot catalog;
+
+    @BeforeEach
+    void setUp() {
+        // Compactação na própria thread, para o teste não depender de tempo
+        catalog = new PropertyCatalogSnapshot(propertyRepository, Runnable::run);
+        when(propertyRepository.findCatalogChunk(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new PropertyCatalogRow(1L, 250000.0, 60, 2, PropertyType.APARTAMENTO),
+                new PropertyCatalogRow(2L, 900000.0, 200, 4, PropertyType.CASA),
+                new PropertyCatalogRow(3L, 400000.0, 90, 3, PropertyType.CASA),
+                new PropertyCatalogRow(4L, 120000.0, 300, 0, PropertyType.TERRENO),
+                new PropertyCatalogRow(5L, 400000.0, 110, 3, PropertyType.CASA)));
+        catalog.rebuild();
+    }
+
+    @Test
+    @DisplayName("Deve cruzar tipo, faixa de preço e quartos e contar o total")
+    void query_CombinedFilters() {
+        CatalogPage page = catalog.query(filter(PropertyType.CASA, 300000.0, 500000.0, 3), null, PageRequest.of(0, 10));
+
+        assertEquals(List.of(5L, 3L), page.ids());
+        assertEquals(2, page.total());
+        assertEquals(List.of(4L), catalog.query(filter(null, null, 150000.0, null), null, PageRequest.of(0, 10)).ids());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por coluna com o id como desempate e paginar")
+    void query_SortAndPage() {
+        Pageable byValue = PageRequest.of(0, 3, Sort.by("value"));
+        assertEquals(List.of(4L, 1L, 3L), catalog.query(ALL, null, byValue).ids());
+
+        Pageable byValueDesc = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "value"));
+        assertEquals(List.of(3L, 1L), catalog.query(ALL, null, byValueDesc).ids());
+
+        CatalogPage last = catalog.query(ALL, null, PageRequest.of(2, 2, Sort.by("area")));
+        assertEquals(List.of(4L), last.ids());
+        assertEquals(5, last.total());
+    }
+
+    @Test
+    @DisplayName("Deve refletir criação, alteração e exclusão antes e depois da compactação")
+    void query_IncrementalWrites() {
+        catalog.onPropertyChanged(PropertyChangedEvent.created(property(6L, 300000.0, 3, PropertyType.CASA)));
+
+        Property changed = property(2L, 900000.0, 4, PropertyType.CASA);
+        PropertySnapshot before = PropertySnapshot.of(changed);
+        changed.setValue(350000.0);
+        catalog.onPropertyChanged(PropertyChangedEvent.updated(before, changed));
+
+        catalog.onPropertyChanged(PropertyChangedEvent.deleted(property(3L, 400000.0, 3, PropertyType.CASA)));
+
+        PropertyFilter casas = filter(PropertyType.CASA, null, 500000.0, null);
+        Pageable byValue = PageRequest.of(0, 10, Sort.by("value"));
+        assertEquals(List.of(6L, 2L, 5L), catalog.query(casas, null, byValue).ids());
+        assertEquals(List.of(6L, 5L, 4L, 2L), catalog.query(ALL, null, PageRequest.of(0, 4)).ids());
+
+        // Força a compactação do delta na base
+        List<Long> created = new ArrayList<>();
+        for (long id = 100; id < 1200; id++) {
+            catalog.upsert(new PropertyCatalogRow(id, 5000000.0, 1000, 10, PropertyType.TERRENO));
+            created.add(id);
+        }
+
+        assertEquals(List.of(6L, 2L, 5L), catalog.query(casas, null, byValue).ids());
+        assertEquals(5 + created.size(), catalog.size());
+    }
+
+    @Test
+    @DisplayName("A compactação deve ir para o executor, uma vez só, e a consulta seguir com base e delta até ela rodar")
+    void upsert_CompactsInBackground() {
+        List<Runnable> queued = new ArrayList<>();
+        PropertyCatalogSnapshot background = new PropertyCatalogSnapshot(propertyRepository, queued::add);
+        background.rebuild();
+
+        for (long id = 100; id < 2200; id++) {
+            background.upsert(new PropertyCatalogRow(id, 5000000.0, 1000, 10, PropertyType.TERRENO));
+        }
+        background.remove(1L);
+
+        assertEquals(1, queued.size());
+        PropertyFilter casas = filter(PropertyType.CASA, null, 500000.0, null);
+        Pageable byValue = PageRequest.of(0, 10, Sort.by("value"));
+        assertEquals(List.of(3L, 5L), background.query(casas, null, byValue).ids());
+        assertEquals(4 + 2100, background.size());
+
+        queued.remove(0).run();
+        background.upsert(new PropertyCatalogRow(6L, 300000.0, 80, 3, PropertyType.CASA));
+
+        assertTrue(queued.isEmpty());
+        assertEquals(List.of(6L, 3L, 5L), background.query(casas, null, byValue).ids());
+        assertEquals(5 + 2100, background.size());
+    }
+
+    @Test
+    @DisplayName("Deve restringir aos ids da busca geográfica")
+    void query_Nearby() {
+        GeoArea area = GeoArea.radius(-8.0631, -34.8711, 5);
+        PropertyFilter nearby = PropertyFilter.of(null, PropertyType.CASA, null, null, null, area);
+
+        assertEquals(List.of(5L, 2L), catalog.query(nearby, List.of(1L, 2L, 5L), PageRequest.of(0, 10)).ids());
+        assertNull(catalog.query(nearby, null, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    @DisplayName("Não deve responder a texto, ordenação sem coluna, página ilimitada ou snapshot frio")
+    void query_Unsupported() {
+        assertNull(catalog.query(filter(null, null, null, null, "casa"), null, PageRequest.of(0, 10)));
+        assertNull(catalog.query(ALL, null, PageRequest.of(0, 10, Sort.by("name"))));
+        assertNull(catalog.query(ALL, null, Pageable.unpaged()));
+        assertNull(new PropertyCatalogSnapshot(propertyRepository, false).query(ALL, null, PageRequest.of(0, 10)));
+    }
+
+    private static PropertyFilter filter(PropertyType type, Double minPrice, Double maxPrice, Integer minBedrooms) {
+        return filter(type, minPrice, maxPrice, minBedrooms, null);
+    }
+
+    private static PropertyFilter filter(PropertyType type, Double minPrice, Double maxPrice, Integer minBedrooms, String name) {
+        return PropertyFilter.of(name, type, minPrice, maxPrice, minBedrooms, null);
+    }
+
+    private static Property property(Long id, Double value, Integer bedrooms, PropertyType type) {
+        Property property = new Property();
+        property.setId(id);
+        property.setValue(value);
+        property.setArea(100);
+        property.setBedrooms(bedrooms);
+        property.setType(type);
+        return property;
+    }
+}
@@ -0,0 +1,185 @@
+package com.joaopenascimento.backend.search;
+
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.controllers.PropertyController;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.user.UserUpdateDTO;
+import com.joaopenascimento.backend.events.PropertiesImportedEvent;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.CatalogVersionRepository;
+import com.joaopenascimento.backend.services.AuthenticatedUser;
+import com.joaopenascimento.backend.services.CurrentUser;
+import com.joaopenascimento.backend.services.PropertyExportService;
+import com.joaopenascimento.backend.services.PropertyImportService;
+import com.joaopenascimento.backend.services.PropertyService;
+import com.joaopenascimento.backend.services.RefreshTokenService;
+import com.joaopenascimento.backend.services.TokenRevocationService;
+import com.joaopenascimento.backend.services.TokenService;
+import com.joaopenascimento.backend.services.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@Import({PropertyCatalogVersion.class, UserService.class, CurrentUser.class, RefreshTokenService.class, TokenService.class,
+        TokenRevocationService.class, SimpleMeterRegistry.class, Config.class})
+class PropertyCatalogVersionTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PropertyCatalogVersion catalogVersion;
+
+    @Autowired
+    private CatalogVersionRepository repository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve avançar a versão e o Last-Modified a cada escrita confirmada")
+    void bumpsOnWrite() {
+        PropertyCatalogVersion.Current initial = catalogVersion.current();
+        assertEquals(initial, catalogVersion.current());
+
+        Property property = new Property();
+        property.setId(1L);
+        catalogVersion.onPropertyChanged(PropertyChangedEvent.created(property));
+        PropertyCatalogVersion.Current first = catalogVersion.current();
+        assertNotEquals(initial.etag(), first.etag());
+        assertTrue(first.lastModified().isAfter(initial.lastModified()));
+
+        catalogVersion.onPropertyChanged(PropertyChangedEvent.deleted(property));
+        assertNotEquals(first.etag(), catalogVersion.current().etag());
+    }
+
+    @Test
+    @DisplayName("Um lote importado vazio não deve invalidar os ETags")
+    void ignoresEmptyImport() {
+        PropertyCatalogVersion.Current initial = catalogVersion.current();
+
+        catalogVersion.onPropertiesImported(new PropertiesImportedEvent(List.of()));
+
+        assertEquals(initial, catalogVersion.current());
+    }
+
+    @Test
+    @DisplayName("Uma escrita desfeita não deve avançar a versão")
+    void ignoresRolledBackWrite() {
+        PropertyCatalogVersion.Current initial = catalogVersion.current();
+
+        Property property = new Property();
+        property.setId(1L);
+        eventPublisher.publishEvent(PropertyChangedEvent.created(property));
+        assertEquals(initial, catalogVersion.current());
+
+        TestTransaction.end();
+
+        assertEquals(initial, catalogVersion.current());
+    }
+
+    @Test
+    @DisplayName("A versão deve avançar depois do commit da escrita, fora da transação dela")
+    void bumpsAfterCommit() {
+        PropertyCatalogVersion.Current initial = catalogVersion.current();
+
+        Property property = new Property();
+        property.setId(1L);
+        eventPublisher.publishEvent(PropertyChangedEvent.created(property));
+        assertEquals(initial, catalogVersion.current());
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertNotEquals(initial.etag(), catalogVersion.current().etag());
+    }
+
+    @Test
+    @DisplayName("Outra instância deve enxergar a versão avançada por esta")
+    void sharedAcrossInstances() {
+        PropertyCatalogVersion otherInstance = new PropertyCatalogVersion(repository);
+
+        Property property = new Property();
+        property.setId(1L);
+        catalogVersion.onPropertyChanged(PropertyChangedEvent.created(property));
+
+        assertEquals(catalogVersion.current(), otherInstance.current());
+    }
+
+    @Test
+    @DisplayName("Depois que um corretor troca de nome a listagem deve responder 200 ao ETag antigo")
+    void brokerRenameInvalidatesListing() {
+        User broker = entityManager.persist(new User(null, "corretor.etag@test.com", "hash", "Nome Antigo",
+                UserRole.CORRETOR, new HashSet<>()));
+        PropertyService propertyService = mock(PropertyService.class);
+        when(propertyService.findAll(any(), any(), any(), any(), any(), any(), any())).thenReturn(Page.empty());
+        PropertyController controller = new PropertyController(propertyService, mock(PropertyImportService.class),
+                mock(PropertyExportService.class), catalogVersion);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        listing(controller, new MockHttpServletRequest("GET", "/api/property"), first);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/api/property");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, listing(controller, revalidate, new MockHttpServletResponse()).getStatusCode());
+
+        AuthenticatedUser principal = new AuthenticatedUser(broker.getId(), broker.getEmail(), UserRole.CORRETOR);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(principal, null));
+        userService.update(new UserUpdateDTO("Nome Novo", null));
+        // A versão só avança depois do commit da troca de nome
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        MockHttpServletRequest afterRename = new MockHttpServletRequest("GET", "/api/property");
+        afterRename.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        assertEquals(HttpStatus.OK, listing(controller, afterRename, new MockHttpServletResponse()).getStatusCode());
+    }
+
+    private static ResponseEntity<Page<PropertyDTO>> listing(PropertyController controller, MockHttpServletRequest request,
+                                                             MockHttpServletResponse response) {
+        return controller.getAll(null, null, null, null, null, null, null, null, null, null, null, null,
+                PageRequest.of(0, 10), new ServletWebRequest(request, response));
+    }
+}
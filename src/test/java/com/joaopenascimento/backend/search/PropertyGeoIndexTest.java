@@ -0,0 +1,144 @@
+package com.joaopenascimento.backend.search;
+
+import com.joaopenascimento.backend.dto.property.GeoArea;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyGeoIndexTest {
+
+    // Marco Zero (Recife) e pontos conhecidos ao redor
+    private static final double RECIFE_LAT = -8.0631;
+    private static final double RECIFE_LON = -34.8711;
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    private PropertyGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PropertyGeoIndex(propertyRepository, 0.05, 1000);
+        index.put(1L, -8.1196, -34.9005);  // Boa Viagem, ~7 km
+        index.put(2L, -8.0339, -34.9197);  // Casa Forte, ~6 km
+        index.put(3L, -8.0089, -34.8553);  // Olinda, ~6 km
+        index.put(4L, -8.2010, -35.5650);  // Gravatá, ~78 km
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas os imóveis dentro do raio, em ordem de id")
+    void search_Radius() {
+        assertEquals(List.of(1L, 2L, 3L), index.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 10)));
+        assertEquals(List.of(2L, 3L), index.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 6.5)));
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 80)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os imóveis dentro do retângulo")
+    void search_Box() {
+        assertEquals(List.of(1L, 4L), index.search(GeoArea.box(-8.25, -36.0, -8.1, -34.8)));
+        assertTrue(index.search(GeoArea.box(10.0, 10.0, 11.0, 11.0)).isEmpty());
+        assertEquals(4, index.search(GeoArea.box(-90.0, -180.0, 90.0, 180.0)).size());
+    }
+
+    @Test
+    @DisplayName("Deve devolver null quando a área passa do limite de candidatos")
+    void search_TooManyCandidates() {
+        PropertyGeoIndex small = new PropertyGeoIndex(propertyRepository, 0.05, 2);
+        small.put(1L, -8.1196, -34.9005);
+        small.put(2L, -8.0339, -34.9197);
+        small.put(3L, -8.0089, -34.8553);
+
+        assertNull(small.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 10)));
+        assertEquals(List.of(2L, 3L), small.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 6.5)));
+    }
+
+    @Test
+    @DisplayName("Deve mover, remover e ignorar imóveis sem coordenadas a partir dos eventos de escrita")
+    void onPropertyChanged_UpdatesGrid() {
+        Property property = new Property();
+        property.setId(7L);
+        property.setLatitude(-8.2010);
+        property.setLongitude(-35.5650);
+
+        index.onPropertyChanged(PropertyChangedEvent.created(property));
+        assertEquals(List.of(4L, 7L), index.search(GeoArea.radius(-8.2010, -35.5650, 1)));
+
+        PropertySnapshot before = PropertySnapshot.of(property);
+        property.setLatitude(RECIFE_LAT);
+        property.setLongitude(RECIFE_LON);
+        index.onPropertyChanged(PropertyChangedEvent.updated(before, property));
+        assertEquals(List.of(4L), index.search(GeoArea.radius(-8.2010, -35.5650, 1)));
+        assertEquals(List.of(7L), index.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 1)));
+
+        before = PropertySnapshot.of(property);
+        property.setLatitude(null);
+        property.setLongitude(null);
+        index.onPropertyChanged(PropertyChangedEvent.updated(before, property));
+        assertTrue(index.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 1)).isEmpty());
+
+        index.onPropertyChanged(PropertyChangedEvent.deleted(property));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Deve carregar o índice do banco em blocos e só então aceitar consultas")
+    void rebuild_LoadsFromRepository() {
+        PropertyGeoIndex empty = new PropertyGeoIndex(propertyRepository, 0.05, 1000);
+        when(propertyRepository.findPointChunk(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new PropertyPoint(1L, -8.1196, -34.9005)));
+
+        assertFalse(empty.canAnswer());
+
+        empty.rebuild();
+
+        assertTrue(empty.canAnswer());
+        assertEquals(List.of(1L), empty.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 10)));
+    }
+
+    @Test
+    @DisplayName("Imóvel movido ou removido durante a carga não deve voltar à posição lida no bloco")
+    void rebuild_KeepsChangesAppliedDuringLoad() {
+        PropertyGeoIndex empty = new PropertyGeoIndex(propertyRepository, 0.05, 1000);
+        when(propertyRepository.findPointChunk(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            // O bloco já foi lido quando os eventos chegam: o imóvel 1 foi para São Paulo e o 2 foi excluído
+            empty.put(1L, -23.5505, -46.6333);
+            empty.remove(2L);
+            return List.of(new PropertyPoint(1L, -8.1196, -34.9005),
+                    new PropertyPoint(2L, -8.0339, -34.9197),
+                    new PropertyPoint(3L, -8.0089, -34.8553));
+        });
+
+        empty.rebuild();
+
+        assertEquals(List.of(3L), empty.search(GeoArea.radius(RECIFE_LAT, RECIFE_LON, 10)));
+        assertEquals(2, empty.size());
+    }
+
+    @Test
+    @DisplayName("Deve exigir os parâmetros completos de uma única forma de busca")
+    void geoArea_Validation() {
+        assertNull(GeoArea.of(null, null, null, null, null, null, null));
+        assertThrows(RuntimeException.class, () -> GeoArea.of(-8.0, -34.0, null, null, null, null, null));
+        assertThrows(RuntimeException.class, () -> GeoArea.of(-8.0, -34.0, 5.0, -9.0, null, null, null));
+        assertThrows(RuntimeException.class, () -> GeoArea.of(-8.0, -34.0, 500.0, null, null, null, null));
+        assertThrows(RuntimeException.class, () -> GeoArea.of(null, null, null, -8.0, -34.0, -9.0, -33.0));
+        assertThrows(RuntimeException.class, () -> GeoArea.of(95.0, -34.0, 5.0, null, null, null, null));
+    }
+}
@@ -0,0 +1,175 @@
+package com.joaopenascimento.backend.search;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.joaopenascimento.backend.dto.property.GeoArea;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.events.BrokerRenamedEvent;
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyQueryCacheTest {
+
+    private final Pageable firstPage = PageRequest.of(0, 10);
+
+    private SimpleMeterRegistry registry;
+    private PropertyQueryCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new PropertyQueryCache(true, 100, Duration.ofMinutes(1), Duration.ZERO, registry, Ticker.systemTicker());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o resultado para o mesmo filtro normalizado e página")
+    void get_HitForNormalizedFilter() {
+        cache.get(PropertyFilter.of(" Praia ", PropertyType.CASA, null, null, null, null), firstPage, loader());
+        cache.get(PropertyFilter.of("praia", PropertyType.CASA, null, null, null, null), firstPage, loader());
+        cache.get(PropertyFilter.of("praia", PropertyType.CASA, null, null, null, null), PageRequest.of(1, 10), loader());
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas as entradas cujo filtro casa com o imóvel alterado")
+    void onPropertyChanged_PreciseInvalidation() {
+        PropertyFilter casas = PropertyFilter.of(null, PropertyType.CASA, null, 500000.0, null, null);
+        PropertyFilter terrenos = PropertyFilter.of(null, PropertyType.TERRENO, null, null, null, null);
+        cache.get(casas, firstPage, loader());
+        cache.get(terrenos, firstPage, loader());
+
+        cache.onPropertyChanged(PropertyChangedEvent.created(property(PropertyType.CASA, 300000.0)));
+
+        cache.get(casas, firstPage, loader());
+        cache.get(terrenos, firstPage, loader());
+        assertEquals(3, loads.get());
+        assertEquals(1.0, registry.get("cache.invalidations").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o filtro que casava com o estado anterior do imóvel")
+    void onPropertyChanged_UsesPreviousState() {
+        PropertyFilter casas = PropertyFilter.of(null, PropertyType.CASA, null, null, null, null);
+        cache.get(casas, firstPage, loader());
+
+        Property property = property(PropertyType.CASA, 300000.0);
+        PropertySnapshot before = PropertySnapshot.of(property);
+        property.setType(PropertyType.TERRENO);
+        cache.onPropertyChanged(PropertyChangedEvent.updated(before, property));
+
+        cache.get(casas, firstPage, loader());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Não deve invalidar a busca por raio quando o imóvel alterado está fora da área")
+    void onPropertyChanged_OutsideArea() {
+        PropertyFilter nearby = PropertyFilter.of(null, null, null, null, null, GeoArea.radius(-8.0631, -34.8711, 5));
+        cache.get(nearby, firstPage, loader());
+
+        Property gravata = property(PropertyType.CASA, 300000.0);
+        gravata.setLatitude(-8.2010);
+        gravata.setLongitude(-35.5650);
+        cache.onPropertyChanged(PropertyChangedEvent.created(gravata));
+        cache.get(nearby, firstPage, loader());
+
+        Property boaViagem = property(PropertyType.CASA, 300000.0);
+        boaViagem.setLatitude(-8.0900);
+        boaViagem.setLongitude(-34.8900);
+        cache.onPropertyChanged(PropertyChangedEvent.created(boaViagem));
+        cache.get(nearby, firstPage, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar uma página carregada enquanto uma escrita era confirmada")
+    void get_DiscardsPageLoadedDuringWrite() {
+        PropertyFilter all = PropertyFilter.of(null, null, null, null, null, null);
+
+        cache.get(all, firstPage, () -> {
+            cache.onPropertyChanged(PropertyChangedEvent.created(property(PropertyType.CASA, 1.0)));
+            return loader().get();
+        });
+        cache.get(all, firstPage, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("A troca de nome de um corretor deve derrubar só as páginas com imóveis dele")
+    void onBrokerRenamed_DropsPagesShowingBroker() {
+        PropertyFilter casas = PropertyFilter.of(null, PropertyType.CASA, null, null, null, null);
+        PropertyFilter terrenos = PropertyFilter.of(null, PropertyType.TERRENO, null, null, null, null);
+        cache.get(casas, firstPage, () -> page(dto(1L, 7L)));
+        cache.get(terrenos, firstPage, () -> page(dto(2L, 8L)));
+
+        cache.onBrokerRenamed(new BrokerRenamedEvent(7L));
+
+        cache.get(casas, firstPage, loader());
+        cache.get(terrenos, firstPage, loader());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, registry.get("cache.invalidations").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve sempre consultar quando o cache está desligado")
+    void get_Disabled() {
+        PropertyQueryCache disabled = new PropertyQueryCache(false, 100, Duration.ofMinutes(1), Duration.ZERO, registry, Ticker.systemTicker());
+        PropertyFilter all = PropertyFilter.of(null, null, null, null, null, null);
+
+        disabled.get(all, firstPage, loader());
+        disabled.get(all, firstPage, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<Page<PropertyDTO>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of(), firstPage, 0);
+        };
+    }
+
+    private Page<PropertyDTO> page(PropertyDTO... content) {
+        return new PageImpl<>(List.of(content), firstPage, content.length);
+    }
+
+    private static PropertyDTO dto(Long id, Long brokerId) {
+        return new PropertyDTO(id, "Imóvel", "Descrição", PropertyType.CASA, 1.0, 50, 2, "Rua", "Recife", "PE",
+                null, null, true, brokerId, "Corretor", "https://img.com/1.jpg");
+    }
+
+    private static Property property(PropertyType type, Double value) {
+        Property property = new Property();
+        property.setId(1L);
+        property.setName("Imóvel de teste");
+        property.setDescription("Descrição");
+        property.setType(type);
+        property.setValue(value);
+        property.setBedrooms(2);
+        return property;
+    }
+}
@@ -0,0 +1,174 @@
+package com.joaopenascimento.backend.search;
+
+import com.joaopenascimento.backend.events.PropertyChangedEvent;
+import com.joaopenascimento.backend.events.PropertySnapshot;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyTextIndexTest {
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    private PropertyTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PropertyTextIndex(propertyRepository, 1000);
+    }
+
+    @Test
+    @DisplayName("Deve encontrar imóveis ignorando acentos e caixa")
+    void search_AccentFolding() {
+        index.index(1L, "Casa Espaçosa em Casa Forte", "Jardim amplo e piscina");
+        index.index(2L, "Apartamento Luxo Boa Viagem", "Vista para o mar");
+
+        assertEquals(List.of(1L), index.search("ESPACOSA"));
+        assertEquals(List.of(2L), index.search("apartamento"));
+    }
+
+    @Test
+    @DisplayName("Deve exigir todos os termos e aceitar prefixos")
+    void search_AllTermsWithPrefix() {
+        index.index(1L, "Casa de praia", "Perto do mar");
+        index.index(2L, "Casa de campo", "Perto do lago");
+
+        assertEquals(List.of(1L), index.search("cas mar"));
+        assertTrue(index.search("casa montanha").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por relevância dando mais peso ao nome")
+    void search_RelevanceOrder() {
+        index.index(1L, "Terreno plano", "Próximo a uma piscina pública");
+        index.index(2L, "Casa com piscina", "Casa térrea");
+        index.index(3L, "Sala comercial", "Centro da cidade");
+
+        assertEquals(List.of(2L, 1L), index.search("piscina"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar stopwords na consulta")
+    void search_Stopwords() {
+        index.index(1L, "Casa de praia", "Vista para o mar");
+
+        assertEquals(List.of(1L), index.search("casa de praia"));
+        assertTrue(index.search("de para o").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve reindexar e remover a partir dos eventos de escrita")
+    void onPropertyChanged_UpdatesPostings() {
+        Property property = new Property();
+        property.setId(7L);
+        property.setName("Casa antiga reformada");
+        property.setDescription("Quintal grande");
+
+        index.onPropertyChanged(PropertyChangedEvent.created(property));
+        assertEquals(List.of(7L), index.search("antiga"));
+
+        PropertySnapshot before = PropertySnapshot.of(property);
+        property.setName("Casa nova no centro");
+        index.onPropertyChanged(PropertyChangedEvent.updated(before, property));
+        assertTrue(index.search("antiga").isEmpty());
+        assertEquals(List.of(7L), index.search("nova"));
+
+        index.onPropertyChanged(PropertyChangedEvent.deleted(property));
+        assertTrue(index.search("nova").isEmpty());
+        assertEquals(0, index.termCount());
+    }
+
+    @Test
+    @DisplayName("Acima do limite de candidatos deve devolver null em vez de cortar a lista")
+    void search_TooManyCandidates() {
+        PropertyTextIndex small = new PropertyTextIndex(propertyRepository, 2);
+        small.index(1L, "Casa de praia", "Vista para o mar");
+        small.index(2L, "Casa de campo", "Perto do lago");
+        small.index(3L, "Casa no centro", "Perto do mar");
+
+        assertNull(small.search("casa"));
+        assertEquals(List.of(3L, 1L), small.search("mar"));
+    }
+
+    @Test
+    @DisplayName("Deve avaliar um único imóvel com a mesma semântica da busca")
+    void matches_SameSemanticsAsSearch() {
+        assertTrue(PropertyTextIndex.matches("cas praia", "Casa de Praia", "Vista para o mar"));
+        assertTrue(PropertyTextIndex.matches("MAR", "Casa de Praia", "Vista para o mar"));
+        assertFalse(PropertyTextIndex.matches("casa campo", "Casa de Praia", "Vista para o mar"));
+    }
+
+    @Test
+    @DisplayName("Prefixo que casa termos demais para expandir deve devolver null, sem cortar resultados")
+    void search_TooManyPrefixExpansions() {
+        for (long id = 1; id <= 70; id++) {
+            index.index(id, "Casa " + "ab" + id, "Descrição");
+        }
+
+        assertNull(index.search("ab"));
+        assertNull(index.rank("ab"));
+        assertEquals(List.of(7L, 70L), index.search("ab7"));
+    }
+
+    @Test
+    @DisplayName("Os padrões do banco devem seguir a mesma regra de prefixo e stopwords do índice")
+    void likePatterns_SameSemanticsAsSearch() {
+        assertEquals(List.of("% casa%", "% praia%"), PropertyTextIndex.likePatterns("Casa de PRAIA casa"));
+        assertEquals(List.of("% 3 %", "% quartos%"), PropertyTextIndex.likePatterns("3 quartos"));
+        assertTrue(PropertyTextIndex.likePatterns("de da").isEmpty());
+        assertEquals(" casa praia vista mar ", TextNormalizer.searchText("Casa de Praia", "Vista para o mar"));
+    }
+
+    @Test
+    @DisplayName("Deve carregar o índice do banco em blocos e só então aceitar consultas")
+    void rebuild_LoadsFromRepository() {
+        when(propertyRepository.findTextChunk(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new PropertyText(1L, "Casa de praia", "Vista para o mar")));
+
+        assertFalse(index.canAnswer("praia"));
+
+        index.rebuild();
+
+        assertTrue(index.canAnswer("praia"));
+        assertFalse(index.canAnswer("de"));
+        assertEquals(1, index.documentCount());
+    }
+
+    @Test
+    @DisplayName("Evento aplicado durante a carga não deve ser sobrescrito pelo bloco lido antes dele")
+    void rebuild_KeepsChangesAppliedDuringLoad() {
+        when(propertyRepository.findTextChunk(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            // O bloco já foi lido quando a atualização e a remoção chegam
+            index.index(1L, "Cobertura no centro", "Terraço");
+            index.remove(2L);
+            return List.of(new PropertyText(1L, "Casa de praia", "Vista para o mar"),
+                    new PropertyText(2L, "Sala comercial", "Centro"),
+                    new PropertyText(3L, "Casa de campo", "Lareira"));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(1L), index.search("cobertura"));
+        assertEquals(List.of(3L), index.search("casa"));
+        assertEquals(List.of(), index.search("sala"));
+
+        // Depois da carga a linha volta a valer normalmente
+        index.index(1L, "Casa de praia", "Vista para o mar");
+        assertEquals(2, index.search("casa").size());
+    }
+}
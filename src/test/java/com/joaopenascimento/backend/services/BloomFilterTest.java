@@ -0,0 +1,40 @@
+package com.joaopenascimento.backend.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Toda chave inserida deve ser encontrada")
+    void mightContain_NoFalseNegatives() {
+        BloomFilter filter = BloomFilter.forCapacity(10_000, 0.01);
+        String[] keys = IntStream.range(0, 10_000).mapToObj(i -> "t:" + UUID.randomUUID()).toArray(String[]::new);
+
+        for (String key : keys) {
+            filter.put(key);
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Na capacidade, os falsos positivos devem ficar perto da taxa escolhida")
+    void mightContain_FalsePositiveRate() {
+        BloomFilter filter = BloomFilter.forCapacity(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("u:" + i);
+        }
+
+        long falsePositives = IntStream.range(10_000, 110_000).filter(i -> filter.mightContain("u:" + i)).count();
+
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+    }
+}
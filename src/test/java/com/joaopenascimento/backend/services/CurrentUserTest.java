@@ -0,0 +1,78 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.dto.user.UserDTO;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserTest {
+
+    private static final String EMAIL = "user@test.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CurrentUser currentUser;
+
+    @BeforeEach
+    void setUp() {
+        currentUser = new CurrentUser(userRepository, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(EMAIL, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve servir o perfil do cache depois da primeira leitura")
+    void profile_Cached() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user("Nome")));
+
+        currentUser.profile();
+        currentUser.profile();
+
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Um select anterior ao commit não deve voltar ao cache depois do evict")
+    void profile_EvictDuringLoad() {
+        // O commit do UserService.update acontece enquanto esta leitura ainda está com a linha antiga
+        when(userRepository.findByEmail(EMAIL))
+                .thenAnswer(invocation -> {
+                    currentUser.evict(EMAIL);
+                    return Optional.of(user("Nome antigo"));
+                })
+                .thenReturn(Optional.of(user("Nome novo")));
+
+        assertEquals("Nome antigo", currentUser.profile().name());
+
+        UserDTO profile = currentUser.profile();
+        assertEquals("Nome novo", profile.name());
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    private static User user(String name) {
+        return new User(1L, EMAIL, "hash", name, UserRole.CLIENTE, new HashSet<>());
+    }
+}
@@ -0,0 +1,76 @@
+package com.joaopenascimento.backend.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyCursorTest {
+
+    @Test
+    @DisplayName("Deve adicionar o id como desempate na ordenação")
+    void keysetSort_AddsIdTieBreaker() {
+        Sort sort = PropertyCursor.keysetSort(Sort.by(Sort.Direction.ASC, "value"));
+
+        assertEquals(Sort.by(Sort.Order.asc("value"), Sort.Order.asc("id")), sort);
+        assertEquals(Sort.by(Sort.Order.desc("id")), PropertyCursor.keysetSort(Sort.unsorted()));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ordenação por campo não suportado")
+    void keysetSort_RejectsUnknownProperty() {
+        assertThrows(RuntimeException.class, () -> PropertyCursor.keysetSort(Sort.by("city")));
+    }
+
+    @Test
+    @DisplayName("Deve manter o id informado por último e rejeitar campos depois dele")
+    void keysetSort_IdMustBeLast() {
+        Sort explicit = Sort.by(Sort.Order.desc("bedrooms"), Sort.Order.desc("id"));
+
+        assertEquals(explicit, PropertyCursor.keysetSort(explicit));
+        assertThrows(RuntimeException.class,
+                () -> PropertyCursor.keysetSort(Sort.by(Sort.Order.asc("id"), Sort.Order.desc("value"))));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar só ordenações que um índice (campo, id) percorre")
+    void keysetSort_OnlyIndexedOrders() {
+        assertThrows(RuntimeException.class,
+                () -> PropertyCursor.keysetSort(Sort.by(Sort.Order.desc("bedrooms"), Sort.Order.asc("id"))));
+        assertThrows(RuntimeException.class,
+                () -> PropertyCursor.keysetSort(Sort.by(Sort.Order.asc("value"), Sort.Order.asc("area"))));
+        assertEquals(Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id")), PropertyCursor.keysetSort(Sort.by("name")));
+    }
+
+    @Test
+    @DisplayName("Deve codificar e decodificar o cursor preservando os tipos das chaves")
+    void encodeDecode_RoundTrip() {
+        Sort sort = PropertyCursor.keysetSort(Sort.by(Sort.Direction.DESC, "value"));
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("value", 850000.0);
+        keys.put("id", 12L);
+
+        String token = PropertyCursor.encode(ScrollPosition.forward(keys), sort);
+        KeysetScrollPosition position = (KeysetScrollPosition) PropertyCursor.decode(token, sort);
+
+        assertEquals(850000.0, position.getKeys().get("value"));
+        assertEquals(12L, position.getKeys().get("id"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor gerado para outra ordenação ou adulterado")
+    void decode_Invalid() {
+        Sort byValue = PropertyCursor.keysetSort(Sort.by("value"));
+        Sort byId = PropertyCursor.keysetSort(Sort.unsorted());
+        String token = PropertyCursor.encode(ScrollPosition.forward(Map.of("value", 1.0, "id", 1L)), byValue);
+
+        assertThrows(RuntimeException.class, () -> PropertyCursor.decode(token, byId));
+        assertThrows(RuntimeException.class, () -> PropertyCursor.decode("nao-e-um-cursor", byValue));
+    }
+}
@@ -0,0 +1,168 @@
+package com.joaopenascimento.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.dto.property.PropertyFilter;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Blocos de 2 linhas para exercitar a continuação por id entre transações
+@DataJpaTest(properties = "api.export.chunk-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({PropertyExportService.class, PropertyService.class, UserService.class, CurrentUser.class, RefreshTokenService.class, TokenService.class,
+        TokenRevocationService.class, PropertyTextIndex.class,
+        PropertyGeoIndex.class, PropertyCatalogSnapshot.class, PropertyQueryCache.class, SimpleMeterRegistry.class,
+        Config.class})
+class PropertyExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PropertyExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve exportar todo o catálogo em NDJSON, em ordem de id, sem reter as entidades")
+    void export_AllInIdOrder() throws IOException {
+        List<Long> ids = seed();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.export(PropertyFilter.of(null, null, null, null, null, null), out);
+
+        List<JsonNode> lines = lines(out);
+        assertEquals(5, exported);
+        assertEquals(ids, lines.stream().map(line -> line.get("id").asLong()).toList());
+        assertEquals("Corretor", lines.get(0).get("brokerName").asText());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+
+        // Só o corretor continua no contexto de persistência
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        assertEquals(1, session.getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os mesmos filtros do findAll")
+    void export_Filtered() throws IOException {
+        List<Long> ids = seed();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.export(PropertyFilter.of(null, PropertyType.CASA, 150000.0, null, null, null), out);
+
+        assertEquals(2, exported);
+        assertEquals(List.of(ids.get(2), ids.get(4)), lines(out).stream().map(line -> line.get("id").asLong()).toList());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Um cliente lento não deve segurar conexão do pool enquanto recebe os blocos")
+    void export_ReleasesConnectionWhileWriting() throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> ids = transaction.execute(status -> seed());
+        HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+        List<Integer> activeWhileWriting = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] bytes, int offset, int length) {
+                activeWhileWriting.add(pool.getActiveConnections());
+                super.write(bytes, offset, length);
+            }
+        };
+
+        try {
+            long exported = exportService.export(PropertyFilter.of(null, null, null, null, null, null), out);
+
+            assertEquals(ids.size(), exported);
+            // Blocos de 2 linhas: 3 escritas, nenhuma com conexão emprestada
+            assertEquals(List.of(0, 0, 0), activeWhileWriting);
+        } finally {
+            transaction.executeWithoutResult(status -> {
+                entityManager.getEntityManager().createQuery("delete from Property").executeUpdate();
+                entityManager.getEntityManager().createQuery("delete from User").executeUpdate();
+            });
+        }
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    // CASA nos índices pares, APARTAMENTO nos ímpares; valor cresce com o índice
+    private List<Long> seed() {
+        User broker = new User();
+        broker.setEmail("corretor@test.com");
+        broker.setName("Corretor");
+        broker.setPassword("hash");
+        broker.setRole(UserRole.CORRETOR);
+        entityManager.persist(broker);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Property property = new Property();
+            property.setName("Imóvel número " + i + " no centro");
+            property.setDescription("Descrição " + i);
+            property.setType(i % 2 == 0 ? PropertyType.CASA : PropertyType.APARTAMENTO);
+            property.setValue(100000.0 + i * 50000);
+            property.setArea(100);
+            property.setBedrooms(2);
+            property.setAddress("Rua " + i);
+            property.setCity("Recife");
+            property.setState("PE");
+            property.setImageUrls("https://img.com/" + i + ".jpg");
+            property.setBroker(broker);
+            ids.add(entityManager.persist(property).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+}
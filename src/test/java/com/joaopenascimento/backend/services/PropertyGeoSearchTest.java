@@ -0,0 +1,125 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.dto.property.GeoArea;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+
+@DataJpaTest(properties = "api.cache.property-query.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@Import({PropertyService.class, UserService.class, CurrentUser.class, RefreshTokenService.class, TokenService.class,
+        TokenRevocationService.class, PropertyTextIndex.class, PropertyGeoIndex.class,
+        PropertyCatalogSnapshot.class, PropertyQueryCache.class, SimpleMeterRegistry.class, Config.class})
+class PropertyGeoSearchTest {
+
+    private static final GeoArea AROUND_RECIFE = GeoArea.radius(-8.0631, -34.8711, 6.5);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @MockitoSpyBean
+    private PropertyGeoIndex geoIndex;
+
+    @Autowired
+    private PropertyCatalogSnapshot catalog;
+
+    private Long boaViagem;
+    private Long casaForte;
+    private Long olinda;
+    private Long gravata;
+
+    @BeforeEach
+    void setUp() {
+        User broker = entityManager.persist(newBroker());
+        boaViagem = persist(broker, "Apartamento em Boa Viagem", PropertyType.APARTAMENTO, -8.1196, -34.9005);
+        casaForte = persist(broker, "Casa em Casa Forte", PropertyType.CASA, -8.0339, -34.9197);
+        olinda = persist(broker, "Apartamento em Olinda", PropertyType.APARTAMENTO, -8.0089, -34.8553);
+        gravata = persist(broker, "Sítio em Gravatá", PropertyType.CASA, -8.2010, -35.5650);
+        persist(broker, "Casa sem coordenadas", PropertyType.CASA, null, null);
+        entityManager.flush();
+        entityManager.clear();
+        catalog.rebuild();
+    }
+
+    @Test
+    @DisplayName("O predicado SQL deve filtrar pelo raio e pelo retângulo sem o índice")
+    void findAll_InDatabase() {
+        doReturn(false).when(geoIndex).canAnswer();
+
+        assertEquals(List.of(casaForte, olinda), ids(null, AROUND_RECIFE));
+        assertEquals(List.of(casaForte), ids(PropertyType.CASA, AROUND_RECIFE));
+        assertEquals(List.of(boaViagem, gravata), ids(null, GeoArea.box(-8.25, -36.0, -8.1, -34.8)));
+    }
+
+    @Test
+    @DisplayName("Com o índice carregado o resultado deve ser o mesmo do banco")
+    void findAll_WithIndex() {
+        geoIndex.rebuild();
+
+        assertEquals(List.of(casaForte, olinda), ids(null, AROUND_RECIFE));
+        assertEquals(List.of(casaForte), ids(PropertyType.CASA, AROUND_RECIFE));
+        assertEquals(List.of(boaViagem, gravata), ids(null, GeoArea.box(-8.25, -36.0, -8.1, -34.8)));
+    }
+
+    private List<Long> ids(PropertyType type, GeoArea area) {
+        return propertyService.findAll(null, type, null, null, null, area, PageRequest.of(0, 10, Sort.by("id")))
+                .map(PropertyDTO::id)
+                .getContent();
+    }
+
+    private Long persist(User broker, String name, PropertyType type, Double latitude, Double longitude) {
+        Property property = new Property();
+        property.setName(name);
+        property.setDescription("Descrição de " + name);
+        property.setType(type);
+        property.setValue(300000.0);
+        property.setArea(80);
+        property.setBedrooms(2);
+        property.setAddress("Rua Teste");
+        property.setCity("Recife");
+        property.setState("PE");
+        property.setLatitude(latitude);
+        property.setLongitude(longitude);
+        property.setImageUrls("https://img.com/1.jpg");
+        property.setBroker(broker);
+        return entityManager.persist(property).getId();
+    }
+
+    private static User newBroker() {
+        User user = new User();
+        user.setEmail("corretor.geo@test.com");
+        user.setName("Corretor Geo");
+        user.setPassword("hash");
+        user.setRole(UserRole.CORRETOR);
+        return user;
+    }
+}
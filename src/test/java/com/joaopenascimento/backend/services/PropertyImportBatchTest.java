@@ -0,0 +1,90 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.dto.property.PropertyImportResultDTO;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({PropertyImportService.class, CurrentUser.class, SimpleMeterRegistry.class, Config.class})
+class PropertyImportBatchTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PropertyImportService importService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("O import deve agrupar os inserts em batches JDBC, sem um insert por linha")
+    void import_BatchedInserts() {
+        User corretor = new User();
+        corretor.setName("Corretor");
+        corretor.setEmail("corretor@test.com");
+        corretor.setPassword("senha");
+        corretor.setRole(UserRole.CORRETOR);
+        entityManager.persistAndFlush(corretor);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(corretor.getEmail(), null));
+
+        String body = IntStream.range(0, 250)
+                .mapToObj(i -> """
+                        {"name":"Imóvel importado %d","description":"Importado","type":"CASA","value":%d,"area":90,\
+                        "bedrooms":2,"address":"Rua A, %d","city":"Recife","state":"PE","imageUrls":"https://img.com/%d.jpg"}"""
+                        .formatted(i, 100000 + i, i, i))
+                .collect(Collectors.joining("\n"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PropertyImportResultDTO result = importService.importProperties(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(250, result.imported());
+        assertEquals(250, statistics.getEntityInsertCount());
+        // 3 batches de até 100 inserts + as chamadas à sequência (blocos de 100 ids); sem batch seriam 250+
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "statements preparados: " + statistics.getPrepareStatementCount());
+        assertEquals(250, propertyRepository.count());
+    }
+}
@@ -0,0 +1,171 @@
+package com.joaopenascimento.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joaopenascimento.backend.dto.property.PropertyImportErrorDTO;
+import com.joaopenascimento.backend.dto.property.PropertyImportResultDTO;
+import com.joaopenascimento.backend.events.PropertiesImportedEvent;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyImportServiceTest {
+
+    private static final String VALID = """
+            {"name":"Casa com piscina","description":"Ampla","type":"CASA","value":500000,"area":120,"bedrooms":3,\
+            "address":"Rua A, 1","city":"Recife","state":"PE","imageUrls":"https://img.com/1.jpg"}""";
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private CurrentUser currentUser;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PropertyImportService importService;
+
+    private User corretor;
+
+    @BeforeEach
+    void setUp() {
+        importService = new PropertyImportService(propertyRepository, currentUser,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                transactionManager, eventPublisher, 2);
+
+        corretor = new User();
+        corretor.setId(1L);
+        corretor.setRole(UserRole.CORRETOR);
+    }
+
+    @Test
+    @DisplayName("Deve gravar as linhas válidas em lotes e reportar as inválidas com o número da linha")
+    void import_Ndjson() {
+        when(currentUser.get()).thenReturn(principal(corretor));
+        when(currentUser.reference()).thenReturn(corretor);
+
+        String body = String.join("\n",
+                VALID,
+                VALID.replace("\"value\":500000", "\"value\":-1"),
+                "",
+                "{não é json",
+                VALID,
+                VALID.replace("\"city\":\"Recife\",", "\"city\":\"Recife\",\"latitude\":-8.1,"),
+                VALID);
+
+        PropertyImportResultDTO result = importService.importProperties(stream(body), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(3, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(List.of(2L, 4L, 6L), result.errors().stream().map(PropertyImportErrorDTO::line).toList());
+        assertTrue(result.errors().get(0).message().startsWith("value: "));
+        assertTrue(result.errors().get(1).message().startsWith("Linha inválida"));
+        assertEquals("Informe latitude e longitude juntas", result.errors().get(2).message());
+
+        // Lote cheio de 2 linhas + sobra de 1
+        ArgumentCaptor<List<Property>> batches = ArgumentCaptor.captor();
+        verify(propertyRepository, times(2)).saveAll(batches.capture());
+        assertEquals(List.of(2, 1), batches.getAllValues().stream().map(List::size).toList());
+        assertSame(corretor, batches.getValue().get(0).getBroker());
+        verify(eventPublisher, times(2)).publishEvent(any(PropertiesImportedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve ler CSV com cabeçalho, campos entre aspas e colunas vazias")
+    void import_Csv() {
+        when(currentUser.get()).thenReturn(principal(corretor));
+        when(currentUser.reference()).thenReturn(corretor);
+
+        String body = """
+                name,description,type,value,area,bedrooms,address,city,state,latitude,longitude,imageUrls
+                Apartamento no centro,"Sala, cozinha e ""varanda""\",APARTAMENTO,350000.5,70,2,"Rua B, 20",Recife,PE,-8.06,-34.87,https://img.com/2.jpg
+                Terreno na praia sem nada,Plano,TERRENO,120000,300,1,Rua C,Ipojuca,PE,,,https://img.com/3.jpg
+                Terreno sem tipo válido,Plano,CHACARA,120000,300,1,Rua C,Ipojuca,PE,,,https://img.com/3.jpg
+                Linha curta,Plano
+                """;
+
+        PropertyImportResultDTO result = importService.importProperties(stream(body), MediaType.parseMediaType("text/csv"));
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(4L, 5L), result.errors().stream().map(PropertyImportErrorDTO::line).toList());
+
+        ArgumentCaptor<List<Property>> batch = ArgumentCaptor.captor();
+        verify(propertyRepository).saveAll(batch.capture());
+        Property apartment = batch.getValue().get(0);
+        assertEquals("Sala, cozinha e \"varanda\"", apartment.getDescription());
+        assertEquals(350000.5, apartment.getValue());
+        assertEquals(-8.06, apartment.getLatitude());
+        assertNull(batch.getValue().get(1).getLatitude());
+    }
+
+    @Test
+    @DisplayName("Quando o lote falha no banco, deve regravar linha a linha e reportar só a culpada")
+    void import_BatchFailure() {
+        when(currentUser.get()).thenReturn(principal(corretor));
+        when(currentUser.reference()).thenReturn(corretor);
+        when(propertyRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Property> properties = invocation.getArgument(0);
+            if (properties.stream().anyMatch(p -> p.getName().startsWith("Duplicado"))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return properties;
+        });
+
+        String body = VALID + "\n" + VALID.replace("Casa com piscina", "Duplicado da casa");
+
+        PropertyImportResultDTO result = importService.importProperties(stream(body), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(2L, result.errors().get(0).line());
+        verify(eventPublisher, times(1)).publishEvent(any(PropertiesImportedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve impedir que um cliente importe imóveis")
+    void import_ClienteForbidden() {
+        User cliente = new User();
+        cliente.setRole(UserRole.CLIENTE);
+        when(currentUser.get()).thenReturn(principal(cliente));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> importService.importProperties(stream(VALID), MediaType.APPLICATION_NDJSON));
+
+        assertEquals("Você não tem permissão para importar imóveis", e.getMessage());
+        verifyNoInteractions(propertyRepository);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static AuthenticatedUser principal(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+    }
+}
@@ -0,0 +1,172 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@Import({PropertyService.class, UserService.class, CurrentUser.class, RefreshTokenService.class, TokenService.class,
+        TokenRevocationService.class, PropertyTextIndex.class, PropertyGeoIndex.class,
+        PropertyCatalogSnapshot.class, PropertyQueryCache.class, SimpleMeterRegistry.class, Config.class})
+class PropertyListingQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PropertyCatalogSnapshot catalog;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest(name = "{0} imóveis")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("findAll pelo snapshot deve executar um único select, sem count")
+    void findAll_ConstantStatements(int listings) {
+        seed(listings);
+        catalog.rebuild();
+
+        long statements = countStatements(() -> propertyService
+                .findAll(null, PropertyType.CASA, null, null, null, null, PageRequest.of(0, listings / 2, Sort.by(Sort.Direction.DESC, "id")))
+                .forEach(dto -> assertNotNull(dto.brokerName())));
+
+        assertEquals(1, statements);
+    }
+
+    @ParameterizedTest(name = "{0} imóveis")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("findAll pelo JPA deve executar no máximo select + count, independente do número de linhas")
+    void findAll_FallbackConstantStatements(int listings) {
+        seed(listings);
+
+        long statements = countStatements(() -> propertyService
+                .findAll(null, PropertyType.CASA, null, null, null, null, PageRequest.of(0, listings / 2, Sort.by("name")))
+                .forEach(dto -> assertNotNull(dto.brokerName())));
+
+        assertEquals(2, statements);
+    }
+
+    @ParameterizedTest(name = "{0} imóveis")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("A paginação por cursor deve executar um único select")
+    void findAllByCursor_ConstantStatements(int listings) {
+        seed(listings);
+
+        long statements = countStatements(() -> propertyService
+                .findAllByCursor(null, null, null, null, null, null, null, listings, Sort.by(Sort.Direction.DESC, "id"))
+                .content()
+                .forEach(dto -> assertNotNull(dto.brokerName())));
+
+        assertEquals(1, statements);
+    }
+
+    @ParameterizedTest(name = "{0} favoritos")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("getFavorites deve carregar os favoritos com broker num único select, sem buscar o usuário")
+    void getFavorites_ConstantStatements(int listings) {
+        List<Property> properties = seed(listings);
+
+        User client = newUser("cliente@test.com", UserRole.CLIENTE);
+        client.getFavorites().addAll(properties);
+        entityManager.persist(client);
+        entityManager.flush();
+        entityManager.clear();
+        // Mesmo principal que o SecurityFilter monta a partir do JWT
+        AuthenticatedUser principal = new AuthenticatedUser(client.getId(), client.getEmail(), UserRole.CLIENTE);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(principal, null));
+
+        long statements = countStatements(() -> assertEquals(listings, userService.getFavorites().size()));
+
+        assertEquals(1, statements);
+    }
+
+    private List<Property> seed(int listings) {
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < listings; i++) {
+            // Um corretor por imóvel: o pior caso para o N+1
+            User broker = entityManager.persist(newUser("corretor" + i + "@test.com", UserRole.CORRETOR));
+
+            Property property = new Property();
+            property.setName("Casa número " + i + " no centro");
+            property.setDescription("Descrição " + i);
+            property.setType(PropertyType.CASA);
+            property.setValue(100000.0 + i);
+            property.setArea(100);
+            property.setBedrooms(2);
+            property.setAddress("Rua " + i);
+            property.setCity("Recife");
+            property.setState("PE");
+            property.setImageUrls("https://img.com/" + i + ".jpg");
+            property.setBroker(broker);
+            properties.add(entityManager.persist(property));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return properties;
+    }
+
+    private static User newUser(String email, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Usuário " + email);
+        user.setPassword("hash");
+        user.setRole(role);
+        return user;
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
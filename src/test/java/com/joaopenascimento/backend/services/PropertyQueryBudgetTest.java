@@ -0,0 +1,151 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.config.MetricsConfig;
+import com.joaopenascimento.backend.config.SlowQueryLog;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.joaopenascimento.backend.config.QueryBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Orçamento de SQL dos métodos de leitura, contado no DataSource: cada um deve caber no máximo declarado
+ * qualquer que seja o número de linhas. Um corretor por imóvel é o pior caso para o N+1 do broker.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@Import({PropertyService.class, UserService.class, CurrentUser.class, RefreshTokenService.class, TokenService.class,
+        TokenRevocationService.class, PropertyTextIndex.class, PropertyGeoIndex.class,
+        PropertyCatalogSnapshot.class, PropertyQueryCache.class, SimpleMeterRegistry.class, Config.class,
+        MetricsConfig.class, SlowQueryLog.class})
+class PropertyQueryBudgetTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private UserService userService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest(name = "{0} imóveis")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("findAll deve caber em 2 comandos independente do tamanho da página")
+    void findAll_Budget(int listings) {
+        seed(listings);
+
+        Page<PropertyDTO> page = assertAtMost(2, () -> propertyService
+                .findAll(null, PropertyType.CASA, null, null, null, null, PageRequest.of(0, listings, Sort.by("name"))));
+
+        assertEquals(listings, page.getNumberOfElements());
+        page.forEach(dto -> assertNotNull(dto.brokerName()));
+    }
+
+    @ParameterizedTest(name = "{0} imóveis")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("findAllByBrokerId deve caber em 1 comando")
+    void findAllByBrokerId_Budget(int listings) {
+        User broker = entityManager.persist(newUser("corretor@test.com", UserRole.CORRETOR));
+        seed(listings, broker);
+        authenticate(broker);
+
+        List<PropertyDTO> properties = assertAtMost(1, () -> propertyService.findAllByBrokerId());
+
+        assertEquals(listings, properties.size());
+    }
+
+    @ParameterizedTest(name = "{0} favoritos")
+    @ValueSource(ints = {3, 30})
+    @DisplayName("getFavorites deve caber em 1 comando")
+    void getFavorites_Budget(int listings) {
+        List<Property> properties = seed(listings);
+        User client = newUser("cliente@test.com", UserRole.CLIENTE);
+        client.getFavorites().addAll(properties);
+        entityManager.persist(client);
+        entityManager.flush();
+        entityManager.clear();
+        authenticate(client);
+
+        List<PropertyDTO> favorites = assertAtMost(1, () -> userService.getFavorites());
+
+        assertEquals(listings, favorites.size());
+        favorites.forEach(dto -> assertNotNull(dto.brokerName()));
+    }
+
+    private List<Property> seed(int listings) {
+        return seed(listings, null);
+    }
+
+    // broker null cria um corretor por imóvel
+    private List<Property> seed(int listings, User broker) {
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < listings; i++) {
+            Property property = new Property();
+            property.setName("Casa número " + i + " no centro");
+            property.setDescription("Descrição " + i);
+            property.setType(PropertyType.CASA);
+            property.setValue(100000.0 + i);
+            property.setArea(100);
+            property.setBedrooms(2);
+            property.setAddress("Rua " + i);
+            property.setCity("Recife");
+            property.setState("PE");
+            property.setImageUrls("https://img.com/" + i + ".jpg");
+            property.setBroker(broker != null ? broker
+                    : entityManager.persist(newUser("corretor" + i + "@test.com", UserRole.CORRETOR)));
+            properties.add(entityManager.persist(property));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return properties;
+    }
+
+    // Mesmo principal que o SecurityFilter monta a partir do JWT
+    private static void authenticate(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(principal, null));
+    }
+
+    private static User newUser(String email, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Usuário " + email);
+        user.setPassword("hash");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -1,31 +1,50 @@
 package com.joaopenascimento.backend.services;
 
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.joaopenascimento.backend.dto.property.GeoArea;
 import com.joaopenascimento.backend.dto.property.PropertyCreateDTO;
 import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertySliceDTO;
 import com.joaopenascimento.backend.dto.property.PropertyUpdateDTO;
 import com.joaopenascimento.backend.model.Property;
 import com.joaopenascimento.backend.model.User;
 import com.joaopenascimento.backend.model.enums.PropertyType;
 import com.joaopenascimento.backend.model.enums.UserRole;
 import com.joaopenascimento.backend.repositories.PropertyRepository;
+import com.joaopenascimento.backend.search.CatalogPage;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,7 +57,22 @@ class PropertyServiceTest {
     private PropertyRepository propertyRepository;
 
     @Mock
-    private UserService userService;
+    private CurrentUser currentUser;
+
+    @Mock
+    private PropertyTextIndex textIndex;
+
+    @Mock
+    private PropertyGeoIndex geoIndex;
+
+    @Mock
+    private PropertyCatalogSnapshot catalog;
+
+    @Spy
+    private PropertyQueryCache queryCache = new PropertyQueryCache(false, 0, Duration.ZERO, Duration.ZERO, new SimpleMeterRegistry(), Ticker.systemTicker());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Test
     @DisplayName("Deve criar um imóvel se o usuário for corretor")
@@ -48,7 +82,8 @@ class PropertyServiceTest {
         corretor.setRole(UserRole.CORRETOR);
         corretor.setName("corretor");
 
-        when(userService.getAuthenticatedUser()).thenReturn(corretor);
+        when(currentUser.get()).thenReturn(principal(corretor));
+        when(currentUser.reference()).thenReturn(corretor);
         when(propertyRepository.save(any(Property.class))).thenAnswer(i -> {
             Property p = i.getArgument(0);
             p.setId(100L);
@@ -56,7 +91,7 @@ class PropertyServiceTest {
         });
 
         PropertyCreateDTO dto = new PropertyCreateDTO(
-            "Casa", "Descrição", PropertyType.CASA, 500.0, 50, 2, "rua 1", "Recife", "PE", null
+            "Casa", "Descrição", PropertyType.CASA, 500.0, 50, 2, "rua 1", "Recife", "PE", null, null, null
         );
 
         PropertyDTO result = propertyService.create(dto);
@@ -72,10 +107,10 @@ class PropertyServiceTest {
         User cliente = new User();
         cliente.setRole(UserRole.CLIENTE);
 
-        when(userService.getAuthenticatedUser()).thenReturn(cliente);
+        when(currentUser.get()).thenReturn(principal(cliente));
 
         PropertyCreateDTO dto = new PropertyCreateDTO(
-            "Casa", "Descrição", PropertyType.CASA, 500.0, 50, 2, "rua 1", "Recife", "PE", null
+            "Casa", "Descrição", PropertyType.CASA, 500.0, 50, 2, "rua 1", "Recife", "PE", null, null, null
         );
 
         assertThrows(RuntimeException.class, () -> propertyService.create(dto));
@@ -95,12 +130,12 @@ class PropertyServiceTest {
         property.setBroker(owner);
         property.setActive(true);
 
-        when(userService.getAuthenticatedUser()).thenReturn(owner);
+        when(currentUser.get()).thenReturn(principal(owner));
         when(propertyRepository.findById(10L)).thenReturn(Optional.of(property));
         when(propertyRepository.save(any(Property.class))).thenReturn(property);
 
         PropertyUpdateDTO dto = new PropertyUpdateDTO(
-            "Casa nova", null, null, 900.0, null, null, null, null, null, null
+            "Casa nova", null, null, 900.0, null, null, null, null, null, null, null, null
         );
 
         PropertyDTO result = propertyService.update(10L, dto);
@@ -123,10 +158,10 @@ class PropertyServiceTest {
         property.setId(10L);
         property.setBroker(owner);
 
-        when(userService.getAuthenticatedUser()).thenReturn(intruder);
+        when(currentUser.get()).thenReturn(principal(intruder));
         when(propertyRepository.findById(10L)).thenReturn(Optional.of(property));
 
-        PropertyUpdateDTO dto = new PropertyUpdateDTO("Casa", null, null, null, null, null, null, null, null, null);
+        PropertyUpdateDTO dto = new PropertyUpdateDTO("Casa", null, null, null, null, null, null, null, null, null, null, null);
 
         assertThrows(RuntimeException.class, () -> propertyService.update(10L, dto));
         verify(propertyRepository, never()).save(any());
@@ -147,7 +182,7 @@ class PropertyServiceTest {
         property.setBroker(corretor);
 
         when(propertyRepository.findById(10L)).thenReturn(Optional.of(property));
-        when(userService.getAuthenticatedUser()).thenReturn(admin);
+        when(currentUser.get()).thenReturn(principal(admin));
 
         propertyService.delete(10L);
 
@@ -168,7 +203,7 @@ class PropertyServiceTest {
         property.setActive(true);
         
         when(propertyRepository.findById(10L)).thenReturn(Optional.of(property));
-        when(userService.getAuthenticatedUser()).thenReturn(owner);
+        when(currentUser.get()).thenReturn(principal(owner));
         
         PropertyDTO result = propertyService.toggleStatus(10L);
         
@@ -185,9 +220,125 @@ class PropertyServiceTest {
         when(propertyRepository.findAll(ArgumentMatchers.<Specification<Property>>any(), eq(pageable)))
         .thenReturn(page);
 
-        var result = propertyService.findAll("test", null, null, null, null, pageable);
+        var result = propertyService.findAll("test", null, null, null, null, null, pageable);
 
         assertFalse(result.isEmpty());
         verify(propertyRepository).findAll(ArgumentMatchers.<Specification<Property>>any(), eq(pageable));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve usar o índice de texto e ordenar por relevância quando solicitado")
+    void findAll_RelevanceFromTextIndex() {
+        User broker = new User();
+        Property first = new Property(); first.setId(1L); first.setBroker(broker);
+        Property second = new Property(); second.setId(2L); second.setBroker(broker);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("relevance"));
+
+        when(textIndex.canAnswer("praia")).thenReturn(true);
+        when(textIndex.search("praia")).thenReturn(List.of(2L, 1L));
+        when(propertyRepository.findAll(ArgumentMatchers.<Specification<Property>>any()))
+                .thenReturn(List.of(first, second));
+
+        var result = propertyService.findAll("praia", null, null, null, null, null, pageable);
+
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(PropertyDTO::id).toList());
+        assertEquals(2, result.getTotalElements());
+        verify(propertyRepository, never()).findAll(ArgumentMatchers.<Specification<Property>>any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar página vazia sem consultar o banco quando o índice não encontra nada")
+    void findAll_NoTextMatches() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(textIndex.canAnswer("castelo")).thenReturn(true);
+        when(textIndex.search("castelo")).thenReturn(List.of());
+
+        var result = propertyService.findAll("castelo", null, null, null, null, null, pageable);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(propertyRepository);
+    }
+
+    @Test
+    @DisplayName("Deve montar a página na ordem do snapshot carregando só as linhas da página")
+    void findAll_FromCatalogSnapshot() {
+        User broker = new User();
+        Property first = new Property(); first.setId(1L); first.setBroker(broker);
+        Property second = new Property(); second.setId(2L); second.setBroker(broker);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "value"));
+
+        when(catalog.query(any(), isNull(), eq(pageable))).thenReturn(new CatalogPage(List.of(2L, 1L), 7));
+        when(propertyRepository.findWithBrokerByIdIn(List.of(2L, 1L))).thenReturn(List.of(first, second));
+
+        var result = propertyService.findAll(null, PropertyType.CASA, 100.0, null, 2, null, pageable);
+
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(PropertyDTO::id).toList());
+        assertEquals(7, result.getTotalElements());
+        verify(propertyRepository, never()).findAll(ArgumentMatchers.<Specification<Property>>any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Imóveis do snapshot que a réplica ainda não tem devem ser buscados no primário")
+    void findAll_SnapshotAheadOfReplica() {
+        User broker = new User();
+        Property first = new Property(); first.setId(1L); first.setBroker(broker);
+        Property second = new Property(); second.setId(2L); second.setBroker(broker);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"));
+
+        when(catalog.query(any(), isNull(), eq(pageable))).thenReturn(new CatalogPage(List.of(2L, 1L), 2));
+        when(propertyRepository.findWithBrokerByIdIn(List.of(2L, 1L))).thenReturn(List.of(first));
+        when(propertyRepository.findWithBrokerByIdIn(List.of(2L))).thenReturn(List.of(second));
+
+        var result = propertyService.findAll(null, null, null, null, null, null, pageable);
+
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(PropertyDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Deve retornar página vazia sem consultar o banco quando não há imóveis na área")
+    void findAll_NoGeoMatches() {
+        Pageable pageable = PageRequest.of(0, 10);
+        GeoArea area = GeoArea.radius(-8.0631, -34.8711, 5);
+
+        when(geoIndex.canAnswer()).thenReturn(true);
+        when(geoIndex.search(area)).thenReturn(List.of());
+
+        var result = propertyService.findAll(null, null, null, null, null, area, pageable);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(propertyRepository);
+    }
+
+    @Test
+    @DisplayName("Deve paginar por cursor e devolver o token da próxima página")
+    void findAllByCursor_ReturnsNextCursor() {
+        Property p1 = new Property(); p1.setId(20L); p1.setBroker(new User());
+        Property p2 = new Property(); p2.setId(19L); p2.setBroker(new User());
+        Window<Property> window = Window.from(List.of(p1, p2),
+                i -> ScrollPosition.forward(Map.of("id", i == 0 ? 20L : 19L)), true);
+
+        when(propertyRepository.findBy(ArgumentMatchers.<Specification<Property>>any(), any())).thenReturn(window);
+
+        PropertySliceDTO slice = propertyService.findAllByCursor(
+                null, null, null, null, null, null, null, 2, Sort.by(Sort.Direction.DESC, "id"));
+
+        assertEquals(2, slice.content().size());
+        assertTrue(slice.hasNext());
+
+        KeysetScrollPosition next = (KeysetScrollPosition) PropertyCursor.decode(
+                slice.nextCursor(), Sort.by(Sort.Direction.DESC, "id"));
+        assertEquals(19L, next.getKeys().get("id"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ordenação por relevância na paginação por cursor")
+    void findAllByCursor_RelevanceNotSupported() {
+        assertThrows(RuntimeException.class, () -> propertyService.findAllByCursor(
+                "casa", null, null, null, null, null, null, 10, Sort.by("relevance")));
+    }
+
+    private static AuthenticatedUser principal(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+    }
+}
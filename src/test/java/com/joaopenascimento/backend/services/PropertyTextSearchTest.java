@@ -0,0 +1,180 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.dto.property.PropertyDTO;
+import com.joaopenascimento.backend.dto.property.PropertySliceDTO;
+import com.joaopenascimento.backend.model.Property;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.PropertyType;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.PropertyRepository;
+import com.joaopenascimento.backend.search.PropertyCatalogSnapshot;
+import com.joaopenascimento.backend.search.PropertyGeoIndex;
+import com.joaopenascimento.backend.search.PropertyQueryCache;
+import com.joaopenascimento.backend.search.PropertyTextIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Com {@code max-candidates} pequeno, uma busca popular estoura o índice de texto: os outros filtros ainda
+ * precisam enxergar todos os imóveis que casam, não só os mais relevantes.
+ */
+@DataJpaTest(properties = {"api.cache.property-query.enabled=false", "api.search.text.max-candidates=3"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@Import({PropertyService.class, UserService.class, CurrentUser.class, RefreshTokenService.class, TokenService.class,
+        TokenRevocationService.class, PropertyTextIndex.class, PropertyGeoIndex.class,
+        PropertyCatalogSnapshot.class, PropertyQueryCache.class, SimpleMeterRegistry.class, Config.class})
+class PropertyTextSearchTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyTextIndex textIndex;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private PropertyGeoIndex geoIndex;
+
+    @Autowired
+    private PropertyCatalogSnapshot catalog;
+
+    @Autowired
+    private PropertyQueryCache queryCache;
+
+    private final List<Long> apartments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User broker = entityManager.persist(newBroker());
+        for (int i = 1; i <= 4; i++) {
+            apartments.add(persist(broker, "Apartamento na Casa Amarela " + i, PropertyType.APARTAMENTO));
+            persist(broker, "Casa térrea " + i, PropertyType.CASA);
+        }
+        persist(broker, "Sala comercial", PropertyType.APARTAMENTO);
+        persist(broker, "Cobertura duplex", "Espaçosa, a duas quadras da praia", PropertyType.APARTAMENTO);
+        entityManager.flush();
+        entityManager.clear();
+        textIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Acima do limite de candidatos o filtro de tipo deve ver todos os imóveis que casam com o texto")
+    void findAll_TextOverflowWithTypeFilter() {
+        Page<PropertyDTO> page = propertyService.findAll("casa", PropertyType.APARTAMENTO, null, null, null, null,
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(apartments, page.map(PropertyDTO::id).getContent());
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Abaixo do limite o índice continua respondendo")
+    void findAll_TextWithinLimit() {
+        Page<PropertyDTO> page = propertyService.findAll("amarela 2", PropertyType.APARTAMENTO, null, null, null, null,
+                PageRequest.of(0, 10, Sort.by("relevance")));
+
+        assertEquals(List.of(apartments.get(1)), page.map(PropertyDTO::id).getContent());
+    }
+
+    @Test
+    @DisplayName("A mesma busca deve trazer os mesmos imóveis acima e abaixo do limite e com o índice carregando")
+    void findAll_SameResultsWhateverTheIndexAnswers() {
+        PropertyTextIndex uncapped = new PropertyTextIndex(propertyRepository, 1000);
+        uncapped.rebuild();
+        PropertyTextIndex loading = new PropertyTextIndex(propertyRepository, 1000);
+
+        PropertyService withinLimit = new PropertyService(propertyRepository, currentUser, uncapped, geoIndex, catalog,
+                queryCache, event -> { });
+        PropertyService withoutIndex = new PropertyService(propertyRepository, currentUser, loading, geoIndex, catalog,
+                queryCache, event -> { });
+
+        for (String query : List.of("casa", "CASA térrea", "ter", "espacosa praia", "descricao", "de", "a", "castelo")) {
+            List<Long> expected = ids(withinLimit, query, Sort.by("id"));
+            assertEquals(expected, ids(propertyService, query, Sort.by("id")), query);
+            assertEquals(expected, ids(withoutIndex, query, Sort.by("id")), query);
+        }
+
+        // Acima do limite a relevância ainda vem do ranking completo do índice
+        assertEquals(ids(withinLimit, "casa", Sort.by("relevance")), ids(propertyService, "casa", Sort.by("relevance")));
+        List<Long> ranked = ids(withinLimit, "casa", Sort.by("relevance"));
+        Page<PropertyDTO> secondPage = propertyService.findAll("casa", null, null, null, null, null,
+                PageRequest.of(1, 3, Sort.by("relevance")));
+        assertEquals(ranked.subList(3, 6), secondPage.map(PropertyDTO::id).getContent());
+        assertEquals(8, secondPage.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("A paginação por cursor sobre uma busca popular deve chegar ao último imóvel")
+    void findAllByCursor_TextOverflow() {
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        do {
+            PropertySliceDTO slice = propertyService.findAllByCursor("casa", PropertyType.APARTAMENTO, null, null, null,
+                    null, after, 3, Sort.by(Sort.Direction.ASC, "id"));
+            slice.content().forEach(property -> seen.add(property.id()));
+            after = slice.nextCursor();
+        } while (after != null);
+
+        assertEquals(apartments, seen);
+    }
+
+    private static List<Long> ids(PropertyService service, String query, Sort sort) {
+        return service.findAll(query, null, null, null, null, null, PageRequest.of(0, 20, sort))
+                .map(PropertyDTO::id).getContent();
+    }
+
+    private Long persist(User broker, String name, PropertyType type) {
+        return persist(broker, name, "Descrição de " + name, type);
+    }
+
+    private Long persist(User broker, String name, String description, PropertyType type) {
+        Property property = new Property();
+        property.setName(name);
+        property.setDescription(description);
+        property.setType(type);
+        property.setValue(300000.0);
+        property.setArea(80);
+        property.setBedrooms(2);
+        property.setAddress("Rua Teste");
+        property.setCity("Recife");
+        property.setState("PE");
+        property.setImageUrls("https://img.com/1.jpg");
+        property.setBroker(broker);
+        return entityManager.persist(property).getId();
+    }
+
+    private static User newBroker() {
+        User user = new User();
+        user.setEmail("corretor.texto@test.com");
+        user.setName("Corretor Texto");
+        user.setPassword("hash");
+        user.setRole(UserRole.CORRETOR);
+        return user;
+    }
+}
@@ -0,0 +1,137 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.dto.auth.TokenDTO;
+import com.joaopenascimento.backend.model.RefreshToken;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.RefreshTokenRepository;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private TokenService tokenService;
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        tokenService = new TokenService("segredo-de-teste", Duration.ofMinutes(15), 100, clock, Ticker.systemTicker());
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenService, Duration.ofDays(14), clock);
+
+        user = new User();
+        user.setName("Corretor");
+        user.setEmail("corretor@test.com");
+        user.setPassword("hash");
+        user.setRole(UserRole.CORRETOR);
+        entityManager.persistAndFlush(user);
+    }
+
+    @Test
+    @DisplayName("Deve trocar o refresh token por um novo par, sem reaproveitar o token usado")
+    void rotate_Success() {
+        String refreshToken = refreshTokenService.issue(user);
+
+        TokenDTO tokens = refreshTokenService.rotate(refreshToken).orElseThrow();
+
+        assertNotEquals(refreshToken, tokens.refreshToken());
+        assertEquals(user.getId(), tokenService.validateToken(tokens.token()).id());
+        assertTrue(refreshTokenService.rotate(tokens.refreshToken()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Reusar um refresh token já trocado deve revogar a família inteira")
+    void rotate_ReuseRevokesFamily() {
+        String stolen = refreshTokenService.issue(user);
+        TokenDTO legitimate = refreshTokenService.rotate(stolen).orElseThrow();
+
+        assertTrue(refreshTokenService.rotate(stolen).isEmpty());
+        entityManager.clear();
+
+        assertTrue(refreshTokenService.rotate(legitimate.refreshToken()).isEmpty());
+        List<RefreshToken> family = refreshTokenRepository.findAll();
+        assertEquals(2, family.size());
+        assertTrue(family.stream().allMatch(token -> token.getRevokedAt() != null));
+    }
+
+    @Test
+    @DisplayName("Token desconhecido, vencido ou revogado não deve renovar")
+    void rotate_Rejected() {
+        String revoked = refreshTokenService.issue(user);
+        refreshTokenService.revokeAll(user.getId());
+        entityManager.clear();
+        String expiring = refreshTokenService.issue(user);
+
+        Clock later = Clock.offset(Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofDays(15));
+        RefreshTokenService afterTtl = new RefreshTokenService(refreshTokenRepository, tokenService, Duration.ofDays(14), later);
+
+        assertEquals(Optional.empty(), refreshTokenService.rotate("nao-existe"));
+        assertTrue(refreshTokenService.rotate(revoked).isEmpty());
+        assertTrue(afterTtl.rotate(expiring).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A limpeza deve apagar os revogados e manter os usados ainda válidos, que detectam o reuso")
+    void deleteExpired_KeepsUsedUntilExpiry() {
+        String rotated = refreshTokenService.issue(user);
+        refreshTokenService.rotate(rotated).orElseThrow();
+        String revoked = refreshTokenService.issue(user);
+        refreshTokenService.revoke(revoked);
+        entityManager.clear();
+
+        refreshTokenService.deleteExpired();
+        entityManager.clear();
+
+        assertEquals(2, refreshTokenRepository.count());
+        assertTrue(refreshTokenService.rotate(rotated).isEmpty());
+        entityManager.clear();
+        assertTrue(refreshTokenRepository.findAll().stream().allMatch(token -> token.getRevokedAt() != null));
+    }
+
+    @Test
+    @DisplayName("A limpeza deve apagar os tokens vencidos, usados ou não, e manter os válidos")
+    void deleteExpired_RemovesExpired() {
+        String rotated = refreshTokenService.issue(user);
+        refreshTokenService.rotate(rotated).orElseThrow();
+        Clock afterWeek = Clock.offset(Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofDays(7));
+        String valid = new RefreshTokenService(refreshTokenRepository, tokenService, Duration.ofDays(14), afterWeek)
+                .issue(user);
+        entityManager.clear();
+
+        Clock afterTtl = Clock.offset(Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofDays(15));
+        RefreshTokenService later = new RefreshTokenService(refreshTokenRepository, tokenService, Duration.ofDays(14), afterTtl);
+        later.deleteExpired();
+        entityManager.clear();
+
+        assertEquals(1, refreshTokenRepository.count());
+        assertTrue(later.rotate(valid).isPresent());
+    }
+}
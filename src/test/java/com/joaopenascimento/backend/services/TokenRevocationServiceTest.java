@@ -0,0 +1,147 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.config.PrimaryReads;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Sem a transação do teste: a chave só entra no filtro depois do commit, como com o proxy do Spring
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationService revocations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revocations = service(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        revokedTokenRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Token não revogado deve passar só pelo filtro, sem consulta ao banco")
+    void isRevoked_MissWithoutQuery() {
+        commit(() -> revocations.revokeToken(token(1L, NOW.minusSeconds(60))));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (long id = 2; id < 50; id++) {
+            assertFalse(revocations.isRevoked(token(id, NOW.minusSeconds(60))));
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Logout deve revogar só o token apresentado")
+    void revokeToken_OnlyThatToken() {
+        AuthenticatedUser loggedOut = token(1L, NOW.minusSeconds(60));
+        AuthenticatedUser otherSession = token(1L, NOW.minusSeconds(30));
+
+        commit(() -> revocations.revokeToken(loggedOut));
+
+        assertTrue(revocations.isRevoked(loggedOut));
+        assertFalse(revocations.isRevoked(otherSession));
+    }
+
+    @Test
+    @DisplayName("Revogar o usuário derruba os tokens já emitidos, não os emitidos depois")
+    void revokeUser_IssuedBefore() {
+        commit(() -> revocations.revokeUser(1L));
+
+        assertTrue(revocations.isRevoked(token(1L, NOW.minusSeconds(60))));
+        assertTrue(revocations.isRevoked(token(1L, NOW)));
+        assertFalse(revocations.isRevoked(token(1L, NOW.plusSeconds(1))));
+        assertFalse(revocations.isRevoked(token(2L, NOW.minusSeconds(60))));
+    }
+
+    @Test
+    @DisplayName("Depois do exp a revogação sai do banco e do filtro, e a reconstrução traz o que outra instância gravou")
+    void rebuild_PurgesExpiredAndLoadsStore() {
+        AuthenticatedUser expiring = token(1L, NOW.minusSeconds(60));
+        commit(() -> revocations.revokeToken(expiring));
+        // Outra instância, com filtro próprio, grava uma revogação que esta ainda não viu
+        AuthenticatedUser elsewhere = token(2L, NOW.minusSeconds(60));
+        commit(() -> service(Clock.fixed(NOW, ZoneOffset.UTC)).revokeToken(elsewhere));
+        assertFalse(revocations.isRevoked(elsewhere));
+
+        commit(revocations::rebuild);
+        assertTrue(revocations.isRevoked(elsewhere));
+
+        TokenRevocationService later = service(Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+        commit(later::rebuild);
+        assertEquals(0, revokedTokenRepository.count());
+        assertFalse(later.isRevoked(expiring));
+    }
+
+    @Test
+    @DisplayName("A confirmação no banco deve ir ao primário: a réplica pode ainda não ter a revogação")
+    void isRevoked_ConfirmsOnPrimary() {
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        when(repository.existsByTokenIdAndExpiresAtAfter(any(), any())).thenAnswer(invocation -> PrimaryReads.pinned());
+        TokenRevocationService service = new TokenRevocationService(repository, Duration.ofMinutes(15), 0.01,
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+        AuthenticatedUser user = token(1L, NOW.minusSeconds(60));
+
+        service.revokeToken(user);
+
+        assertTrue(service.isRevoked(user));
+    }
+
+    private void commit(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private TokenRevocationService service(Clock clock) {
+        return new TokenRevocationService(revokedTokenRepository, Duration.ofMinutes(15), 0.01, meterRegistry, clock);
+    }
+
+    private static AuthenticatedUser token(Long userId, Instant issuedAt) {
+        return new AuthenticatedUser(userId, "user" + userId + "@test.com", UserRole.CLIENTE,
+                UUID.randomUUID().toString(), issuedAt, issuedAt.plus(Duration.ofMinutes(15)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private MutableClock clock;
+    private TokenService tokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T12:00:00Z"));
+        tokenService = new TokenService("segredo-de-teste", Duration.ofMinutes(15), 100, clock, () -> clock.millis() * 1_000_000);
+
+        user = new User();
+        user.setId(7L);
+        user.setEmail("corretor@test.com");
+        user.setRole(UserRole.CORRETOR);
+    }
+
+    @Test
+    @DisplayName("Deve montar o principal com as claims do token")
+    void validate_Principal() {
+        String token = tokenService.generateToken(user);
+
+        AuthenticatedUser principal = tokenService.validateToken(token);
+
+        assertEquals(7L, principal.id());
+        assertEquals("corretor@test.com", principal.email());
+        assertEquals(UserRole.CORRETOR, principal.role());
+        assertNotNull(principal.tokenId());
+        assertEquals(clock.instant(), principal.issuedAt());
+        assertEquals(clock.instant().plus(Duration.ofMinutes(15)), principal.expiresAt());
+        assertSame(principal, tokenService.validateToken(token));
+        assertNotEquals(principal.tokenId(), tokenService.validateToken(tokenService.generateToken(user)).tokenId());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token adulterado ou assinado com outro segredo")
+    void validate_Invalid() {
+        String token = tokenService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String foreign = new TokenService("outro-segredo", Duration.ofMinutes(15), 100).generateToken(user);
+
+        assertNull(tokenService.validateToken(tampered));
+        assertNull(tokenService.validateToken(foreign));
+        assertNull(tokenService.validateToken("não é um jwt"));
+    }
+
+    @Test
+    @DisplayName("Um token verificado não deve continuar valendo pelo cache depois do exp")
+    void validate_CachedUntilExpiry() {
+        String token = tokenService.generateToken(user);
+        assertNotNull(tokenService.validateToken(token));
+
+        clock.advance(Duration.ofMinutes(16));
+
+        assertNull(tokenService.validateToken(token));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
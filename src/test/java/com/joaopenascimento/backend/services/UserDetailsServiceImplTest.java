@@ -0,0 +1,92 @@
+package com.joaopenascimento.backend.services;
+
+import com.joaopenascimento.backend.config.Config;
+import com.joaopenascimento.backend.model.User;
+import com.joaopenascimento.backend.model.enums.UserRole;
+import com.joaopenascimento.backend.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Custo fixo e baixo: a calibração não roda e os hashes do teste são rápidos
+@DataJpaTest(properties = "api.security.password.bcrypt.strength=5")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("embedded")
+@Import({UserDetailsServiceImpl.class, Config.class, SimpleMeterRegistry.class})
+class UserDetailsServiceImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private DaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        // Mesma ligação que o AuthenticationConfiguration faz com os beans da aplicação
+        provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Login certo com hash antigo, sem prefixo e de custo menor, deve refazer o hash no custo atual")
+    void login_UpgradesLegacyHash() {
+        persist("legado@test.com", new BCryptPasswordEncoder(4).encode("123456"));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("legado@test.com", "123456"));
+
+        entityManager.clear();
+        String stored = userRepository.findByEmail("legado@test.com").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}$2a$05$"), stored);
+        assertTrue(passwordEncoder.matches("123456", stored));
+    }
+
+    @Test
+    @DisplayName("Hash já no custo atual não deve ser regravado, e senha errada nunca regrava")
+    void login_KeepsCurrentHash() {
+        String current = passwordEncoder.encode("123456");
+        persist("atual@test.com", current);
+        String legacy = new BCryptPasswordEncoder(4).encode("123456");
+        persist("errada@test.com", legacy);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("atual@test.com", "123456"));
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("errada@test.com", "654321")));
+
+        entityManager.clear();
+        assertEquals(current, userRepository.findByEmail("atual@test.com").orElseThrow().getPassword());
+        assertEquals(legacy, userRepository.findByEmail("errada@test.com").orElseThrow().getPassword());
+    }
+
+    private void persist(String email, String password) {
+        User user = new User();
+        user.setName("Usuário");
+        user.setEmail(email);
+        user.setPassword(password);
+        user.setRole(UserRole.CLIENTE);
+        entityManager.persistAndFlush(user);
+    }
+}
@@ -5,23 +5,26 @@ import com.joaopenascimento.backend.dto.property.PropertyDTO;
 import com.joaopenascimento.backend.dto.user.UserCreateDTO;
 import com.joaopenascimento.backend.dto.user.UserDTO;
 import com.joaopenascimento.backend.dto.user.UserUpdateDTO;
+import com.joaopenascimento.backend.events.BrokerRenamedEvent;
 import com.joaopenascimento.backend.model.Property;
 import com.joaopenascimento.backend.model.User;
 import com.joaopenascimento.backend.model.enums.UserRole;
 import com.joaopenascimento.backend.repositories.PropertyRepository;
 import com.joaopenascimento.backend.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -34,7 +37,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
 
-    @InjectMocks
     private UserService userService;
 
     @Mock
@@ -46,6 +48,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -55,12 +66,16 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         SecurityContextHolder.setContext(securityContext);
+        CurrentUser currentUser = new CurrentUser(userRepository, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        userService = new UserService(userRepository, propertyRepository, passwordEncoder, currentUser, refreshTokenService,
+                tokenRevocationService, eventPublisher);
     }
 
     private void mockAuthenticatedUser(User user) {
         lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
         lenient().when(authentication.getName()).thenReturn(user.getEmail());
         lenient().when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        lenient().when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
     }
 
     @Test
@@ -109,6 +124,33 @@ class UserServiceTest {
 
         assertEquals("New Name", result.name());
         assertEquals("encodedNewPass", user.getPassword());
+        verify(refreshTokenService).revokeAll(1L);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("A troca de nome de um corretor deve avisar as listagens")
+    void update_BrokerRenamed() {
+        User broker = new User(3L, "corretor@test.com", "pass", "Nome Antigo", UserRole.CORRETOR, new HashSet<>());
+        mockAuthenticatedUser(broker);
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+
+        userService.update(new UserUpdateDTO("Nome Novo", null));
+
+        verify(eventPublisher).publishEvent(new BrokerRenamedEvent(3L));
+    }
+
+    @Test
+    @DisplayName("Admin deve revogar os access e refresh tokens do usuário")
+    void revokeSessions_Success() {
+        User admin = new User(1L, "admin@test.com", "pass", "Admin", UserRole.ADMIN, new HashSet<>());
+        mockAuthenticatedUser(admin);
+        when(userRepository.existsById(9L)).thenReturn(true);
+
+        userService.revokeSessions(9L);
+
+        verify(tokenRevocationService).revokeUser(9L);
+        verify(refreshTokenService).revokeAll(9L);
     }
 
     @Test
@@ -161,15 +203,47 @@ class UserServiceTest {
     @DisplayName("Deve retornar a lista de favoritos")
     void getFavorites_Success() {
         User user = new User();
+        user.setId(1L);
         user.setEmail("test@test.com");
         Property p1 = new Property(); p1.setId(1L); p1.setName("Prop1"); p1.setBroker(new User());
         user.setFavorites(Set.of(p1));
         
         mockAuthenticatedUser(user);
+        when(propertyRepository.findFavoritesByUserId(1L)).thenReturn(List.of(p1));
         
         List<PropertyDTO> favorites = userService.getFavorites();
         
         assertFalse(favorites.isEmpty());
         assertEquals(1, favorites.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Com o principal do JWT, não deve consultar o usuário no banco")
+    void getFavorites_PrincipalFromToken() {
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "user@test.com", UserRole.CLIENTE);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(principal);
+        when(propertyRepository.findFavoritesByUserId(1L)).thenReturn(List.of());
+
+        userService.getFavorites();
+
+        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("O perfil em cache deve ser invalidado quando o usuário é atualizado")
+    void update_EvictsCachedProfile() {
+        User user = new User(1L, "user@test.com", "pass", "Old Name", UserRole.CLIENTE, new HashSet<>());
+        mockAuthenticatedUser(user);
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+
+        assertEquals("Old Name", userService.getMe().name());
+        assertEquals("Old Name", userService.getMe().name());
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+
+        userService.update(new UserUpdateDTO("New Name", null));
+
+        assertEquals("New Name", userService.getMe().name());
+    }
+}